@@ -0,0 +1,62 @@
+package com.building.temperaturecontrol.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON serialization of the building list response, one page up to a whole portfolio
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuildingListSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int buildingCount;
+
+    @Param({"20"})
+    private int zonesPerBuilding;
+
+    private ObjectMapper objectMapper;
+    private List<BuildingDTO> buildings;
+
+    @Setup
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures for the controllers
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        buildings = new ArrayList<>(buildingCount);
+        long zoneId = 1;
+        for (long buildingId = 1; buildingId <= buildingCount; buildingId++) {
+            List<ZoneDTO> zones = new ArrayList<>(zonesPerBuilding);
+            for (int i = 0; i < zonesPerBuilding; i++) {
+                zones.add(new ZoneDTO(zoneId++, "Zone " + i, "Floor " + (i / 5) + " open office",
+                    buildingId, new BigDecimal("21.50"), new BigDecimal("20.75")));
+            }
+            buildings.add(new BuildingDTO(buildingId, "Building " + buildingId, 1L, "Stockholm",
+                "Main Street " + buildingId, "11122", zones));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(buildings);
+    }
+}
@@ -0,0 +1,80 @@
+package com.building.temperaturecontrol.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encoding and decoding of the zone list and zone update payloads as JSON and as CBOR
+// The payload sizes are printed once per trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadEncodingBenchmark {
+
+    private static final TypeReference<List<ZoneDTO>> ZONE_LIST = new TypeReference<>() {};
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"20"})
+    private int zoneCount;
+
+    private ObjectMapper objectMapper;
+    private List<ZoneDTO> zones;
+    private ZoneTemperatureUpdateDTO update;
+    private byte[] encodedZones;
+    private byte[] encodedUpdate;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same defaults as the converters Spring Boot configures for the controllers
+        objectMapper = "cbor".equals(format)
+            ? Jackson2ObjectMapperBuilder.cbor().build()
+            : Jackson2ObjectMapperBuilder.json().build();
+        zones = new ArrayList<>(zoneCount);
+        for (long i = 1; i <= zoneCount; i++) {
+            zones.add(new ZoneDTO(i, "Zone " + i, "Floor " + (i / 5) + " open office",
+                1L, new BigDecimal("21.50"), new BigDecimal("20.75")));
+        }
+        update = new ZoneTemperatureUpdateDTO(new BigDecimal("22.5"));
+        encodedZones = objectMapper.writeValueAsBytes(zones);
+        encodedUpdate = objectMapper.writeValueAsBytes(update);
+        System.out.printf("%n%s: %d zones %d bytes, update %d bytes%n",
+            format, zoneCount, encodedZones.length, encodedUpdate.length);
+    }
+
+    @Benchmark
+    public byte[] encodeZones() throws IOException {
+        return objectMapper.writeValueAsBytes(zones);
+    }
+
+    @Benchmark
+    public List<ZoneDTO> decodeZones() throws IOException {
+        return objectMapper.readValue(encodedZones, ZONE_LIST);
+    }
+
+    @Benchmark
+    public ZoneTemperatureUpdateDTO decodeUpdate() throws IOException {
+        return objectMapper.readValue(encodedUpdate, ZoneTemperatureUpdateDTO.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.building.temperaturecontrol.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.building.temperaturecontrol.dto.ZoneDTO;
+import com.building.temperaturecontrol.model.Building;
+import com.building.temperaturecontrol.model.User;
+import com.building.temperaturecontrol.model.Zone;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity to DTO conversion of one building and its zones
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoConversionBenchmark {
+
+    @Param({"10", "100"})
+    private int zoneCount;
+
+    private BuildingService buildingService;
+    private ZoneService zoneService;
+    private Building building;
+    private List<Zone> zones;
+    private List<ZoneDTO> zoneDTOs;
+
+    @Setup
+    public void setUp() {
+        // Conversion does not touch the repositories
+        buildingService = new BuildingService(null, null, null, null, null, null, null, null, null);
+        zoneService = new ZoneService(null, null, null, null, null, null, null, null, null, null);
+
+        User owner = new User(1L, "testuser", "password", "John", "Doe");
+        building = new Building(1L, "Head Office", "Stockholm", "Main Street 1", "11122", owner);
+        zones = new ArrayList<>(zoneCount);
+        for (long i = 1; i <= zoneCount; i++) {
+            Zone zone = new Zone(i, "Zone " + i, "Floor " + (i / 10), building);
+            zone.setTargetTemperature(new BigDecimal("21.50"));
+            zones.add(zone);
+        }
+        zoneDTOs = zones.stream().map(zoneService::convertToDTO).toList();
+    }
+
+    @Benchmark
+    public void convertZones(Blackhole blackhole) {
+        for (Zone zone : zones) {
+            blackhole.consume(zoneService.convertToDTO(zone));
+        }
+    }
+
+    @Benchmark
+    public Object convertBuilding() {
+        return buildingService.convertToDTO(building, zoneDTOs);
+    }
+}
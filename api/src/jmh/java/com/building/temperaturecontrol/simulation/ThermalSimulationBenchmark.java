@@ -0,0 +1,67 @@
+package com.building.temperaturecontrol.simulation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.building.temperaturecontrol.service.TelemetryService;
+import com.building.temperaturecontrol.state.ZoneStateStore;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// One simulation tick over a zone state store of zoneCount zones
+// Noise is on so every zone changes on every tick, the worst case for the telemetry hand-off.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ThermalSimulationBenchmark {
+
+    @Param({"1000000"})
+    private int zoneCount;
+
+    private ZoneStateStore store;
+    private ThermalSimulation simulation;
+    private ZoneStateStore.Columns snapshot;
+
+    @Setup
+    public void setUp() {
+        // Stepping does not touch the repositories
+        store = new ZoneStateStore(null, true, zoneCount);
+        SplittableRandom random = new SplittableRandom(42);
+        for (long zoneId = 1; zoneId <= zoneCount; zoneId++) {
+            store.putZone(zoneId, zoneId / 100 + 1, "Zone " + zoneId, null,
+                    BigDecimal.valueOf(random.nextInt(1500, 2500), 2), BigDecimal.valueOf(random.nextInt(1500, 2500), 2));
+        }
+        TelemetryService telemetryService = new TelemetryService(null, null, null, null, null, 1, 7, 30);
+        simulation = new ThermalSimulation(store, telemetryService, new SimpleMeterRegistry(), true,
+                new ThermalModel(1.0, 300, 1800, 0.05), new BigDecimal("20.0"), ForkJoinPool.commonPool());
+        snapshot = store.snapshot(null);
+    }
+
+    // Parallel step of a snapshot of all zones
+    @Benchmark
+    public ThermalSimulation.Changes stepColumns() {
+        return simulation.stepColumns(snapshot);
+    }
+
+    // Full tick: snapshot, step, publish to the store plus hand-off of every changed zone to the telemetry service
+    @Benchmark
+    public void tick() {
+        simulation.step();
+    }
+}
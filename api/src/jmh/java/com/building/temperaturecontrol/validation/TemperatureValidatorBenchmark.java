@@ -0,0 +1,45 @@
+package com.building.temperaturecontrol.validation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// Temperature range check run for every setpoint and telemetry reading
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemperatureValidatorBenchmark {
+
+    private TemperatureValidator validator;
+    private BigDecimal[] values;
+
+    @Setup
+    public void setUp() {
+        validator = new TemperatureValidator();
+        values = new BigDecimal[] {
+            new BigDecimal("21.5"), new BigDecimal("-3.0"), new BigDecimal("0.0"),
+            new BigDecimal("49.99"), new BigDecimal("50.01"), new BigDecimal("18")
+        };
+    }
+
+    @Benchmark
+    public void isValid(Blackhole blackhole) {
+        for (BigDecimal value : values) {
+            blackhole.consume(validator.isValid(value, null));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.building.temperaturecontrol.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Cache Config
+// Hibernate second-level cache for the Building, Zone and User entities and the building and zone list
+// queries, held in local Caffeine caches behind JCache. Every region is created here with a size bound
+// and a time to live, and a region Hibernate asks for that is not listed fails the startup.
+// Hibernate invalidates the regions on entity writes; JDBC and native writes go through SecondLevelCacheInvalidator.
+@Configuration
+public class CacheConfig {
+    public static final String BUILDING_REGION = "building";
+    public static final String ZONE_REGION = "zone";
+    public static final String USER_REGION = "user";
+    public static final String BUILDING_QUERY_REGION = "building-queries";
+    public static final String ZONE_QUERY_REGION = "zone-queries";
+
+    // Regions Hibernate creates for queries without a region and for table change timestamps
+    private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${cache.entities.max-size:100000}") long entityMaxSize,
+                                              @Value("${cache.entities.ttl-seconds:600}") long entityTtlSeconds,
+                                              @Value("${cache.queries.max-size:10000}") long queryMaxSize,
+                                              @Value("${cache.queries.ttl-seconds:60}") long queryTtlSeconds) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A cache manager of its own, the default one is shared by every application context in the JVM
+        URI uri = URI.create("temperaturecontrol-hibernate-" + UUID.randomUUID());
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+        for (String region : List.of(BUILDING_REGION, ZONE_REGION, USER_REGION)) {
+            createCache(cacheManager, region, OptionalLong.of(entityMaxSize), OptionalLong.of(entityTtlSeconds));
+        }
+        for (String region : List.of(BUILDING_QUERY_REGION, ZONE_QUERY_REGION, DEFAULT_QUERY_REGION)) {
+            createCache(cacheManager, region, OptionalLong.of(queryMaxSize), OptionalLong.of(queryTtlSeconds));
+        }
+        // Timestamps must outlive every cached query result, so they are neither bounded nor expired
+        createCache(cacheManager, TIMESTAMPS_REGION, OptionalLong.empty(), OptionalLong.empty());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    // Hits, misses, puts and evictions per region
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name));
+            }
+        };
+    }
+
+    private static void createCache(CacheManager cacheManager, String name, OptionalLong maxSize, OptionalLong ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maxSize);
+        ttlSeconds.ifPresent(ttl -> configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttl).toNanos())));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
@@ -0,0 +1,33 @@
+package com.building.temperaturecontrol.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Binary variant of the API media type
+// Requests and responses in application/vnd.temperaturecontrol.v1+cbor carry the same DTOs as the JSON type,
+// encoded as CBOR by an ObjectMapper with the same settings as the JSON one.
+@Configuration
+public class CborConfig implements WebMvcConfigurer {
+    public static final MediaType API_CBOR = MediaType.valueOf("application/vnd.temperaturecontrol.v1+cbor");
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public CborConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MappingJackson2CborHttpMessageConverter converter = new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build());
+        converter.setSupportedMediaTypes(List.of(API_CBOR, MediaType.APPLICATION_CBOR));
+        converters.add(converter);
+    }
+}
@@ -0,0 +1,121 @@
+package com.building.temperaturecontrol.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import com.building.temperaturecontrol.datasource.ReadYourWritesFilter;
+import com.building.temperaturecontrol.datasource.ReplicaCacheModeJpaDialect;
+import com.building.temperaturecontrol.datasource.ReplicaRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Data Source Config
+// The data source used by JPA and JDBC hands out lazy connections: the pool is only touched when the first
+// statement runs, so a transaction that is served from memory never takes a connection. By then the transaction
+// has marked the connection read-only, and with replicas enabled read-only transactions are routed to them
+// and do not fill the second-level cache.
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ObjectProvider<ReplicaRoutingDataSource> replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        replicaDataSource.ifAvailable(dataSource::setReadOnlyDataSource);
+        return dataSource;
+    }
+
+    // One pool per replica, with the credentials and size of the primary pool
+    // A replica that is down at startup does not fail it, it is used once the lag check reaches it.
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+    public ReplicaRoutingDataSource replicaDataSource(DataSourceProperties properties, HikariDataSource primaryDataSource,
+                                                      MeterRegistry meterRegistry,
+                                                      @Value("${datasource.replicas.urls:}") List<String> urls,
+                                                      @Value("${datasource.replicas.max-lag-ms:1000}") long maxLagMillis,
+                                                      @Value("${datasource.replicas.connection-timeout-ms:1000}") long connectionTimeoutMillis) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(primaryDataSource.getPoolName() + "-" + name);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(properties.determineUsername());
+            config.setPassword(properties.determinePassword());
+            config.setDriverClassName(properties.determineDriverClassName());
+            // Unset until the primary pool has started, the Hikari default then applies to both
+            if (primaryDataSource.getMaximumPoolSize() > 0) {
+                config.setMaximumPoolSize(primaryDataSource.getMaximumPoolSize());
+            }
+            config.setConnectionTimeout(connectionTimeoutMillis);
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(name, new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagMillis);
+    }
+
+    // Keeps replica reads out of the second-level cache, the entity manager factory takes its dialect
+    // from the vendor adapter only when none is set
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+    public static BeanPostProcessor replicaCacheModeJpaDialect() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReplicaCacheModeJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${datasource.replicas.read-your-writes-ms:5000}") long windowMillis) {
+        // Default order, after the security filters that authenticate the user
+        return new FilterRegistrationBean<>(new ReadYourWritesFilter(Duration.ofMillis(windowMillis)));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+    public MeterBinder replicaLagMetrics(ReplicaRoutingDataSource replicaDataSource) {
+        return registry -> {
+            for (String name : replicaDataSource.getReplicaNames()) {
+                Gauge.builder("temperaturecontrol.datasource.replica.lag", replicaDataSource, replicas -> replicas.getLagSeconds(name))
+                        .description("Replay lag of a read replica, NaN when it cannot be reached")
+                        .baseUnit("seconds")
+                        .tag("replica", name)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.building.temperaturecontrol.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import com.building.temperaturecontrol.logging.AccessLogFilter;
+
+import java.util.Iterator;
+
+// Logging Config
+// The appenders are set up in logback-spring.xml. This adds the sampled access log and meters for the
+// asynchronous appender queues.
+@Configuration
+public class LoggingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "logging.access.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<AccessLogFilter> accessLogFilter(
+            @Value("${logging.access.sample-rate:0.01}") double sampleRate,
+            @Value("${logging.access.sample-rates:}") String sampleRates,
+            @Value("${logging.access.slow-threshold-ms:1000}") long slowThresholdMillis) {
+        FilterRegistrationBean<AccessLogFilter> registration = new FilterRegistrationBean<>(
+                new AccessLogFilter(sampleRate, AccessLogFilter.parseSampleRates(sampleRates), slowThresholdMillis));
+        // First, so the duration covers authentication and the rest of the filters
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder logQueueMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+                return;
+            }
+            for (Logger logger : context.getLoggerList()) {
+                for (Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders(); appenders.hasNext(); ) {
+                    if (appenders.next() instanceof AsyncAppenderBase<ILoggingEvent> appender) {
+                        Gauge.builder("temperaturecontrol.logging.queue.size", appender, AsyncAppenderBase::getNumberOfElementsInQueue)
+                                .description("Log events waiting to be written")
+                                .tag("appender", appender.getName())
+                                .register(registry);
+                    }
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.building.temperaturecontrol.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import com.building.temperaturecontrol.metrics.QueryCountFilter;
+import com.building.temperaturecontrol.metrics.QueryCountInspector;
+import com.building.temperaturecontrol.security.RevokedTokens;
+import com.building.temperaturecontrol.security.VerifiedTokenCache;
+import com.building.temperaturecontrol.service.TelemetryService;
+import com.building.temperaturecontrol.service.ZoneStreamService;
+import com.building.temperaturecontrol.state.ZoneStateStore;
+
+// Metrics Config
+// Request, service and repository timers come from Spring Boot and @Timed.
+// This adds the SQL statement count per request and meters for the in-memory caches and buffers.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspector() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder tokenCacheMetrics(VerifiedTokenCache verifiedTokenCache) {
+        return registry -> {
+            FunctionCounter.builder("temperaturecontrol.token.cache.requests", verifiedTokenCache, VerifiedTokenCache::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("temperaturecontrol.token.cache.requests", verifiedTokenCache, VerifiedTokenCache::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("temperaturecontrol.token.cache.size", verifiedTokenCache, VerifiedTokenCache::size)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenRevocationMetrics(RevokedTokens revokedTokens) {
+        return registry -> {
+            Gauge.builder("temperaturecontrol.token.revoked", revokedTokens, RevokedTokens::size)
+                    .description("Revoked tokens that have not expired yet")
+                    .register(registry);
+            FunctionCounter.builder("temperaturecontrol.token.revocation.false.positives", revokedTokens, RevokedTokens::getFalsePositiveCount)
+                    .description("Tokens the Bloom filter could not rule out that were not revoked")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder telemetryMetrics(TelemetryService telemetryService, ZoneStreamService zoneStreamService) {
+        return registry -> {
+            Gauge.builder("temperaturecontrol.telemetry.pending", telemetryService, TelemetryService::getPendingCount)
+                    .description("Readings waiting for the next flush")
+                    .register(registry);
+            Gauge.builder("temperaturecontrol.zone.stream.subscribers", zoneStreamService, ZoneStreamService::getSubscriberCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder zoneStateMetrics(ZoneStateStore zoneStateStore) {
+        return registry -> Gauge.builder("temperaturecontrol.zone.state.zones", zoneStateStore, ZoneStateStore::size)
+                .description("Zones held in the in-memory zone state store")
+                .register(registry);
+    }
+}
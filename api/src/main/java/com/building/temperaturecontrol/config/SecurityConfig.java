@@ -1,4 +1,5 @@
 package com.building.temperaturecontrol.config;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -28,6 +29,9 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/v1/users/register", "/api/v1/users/authenticate").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                // Async dispatches of already authorized requests, e.g. when a zone stream completes
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
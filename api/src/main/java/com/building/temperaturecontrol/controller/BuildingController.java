@@ -5,10 +5,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 
 import com.building.temperaturecontrol.dto.BuildingDTO;
+import com.building.temperaturecontrol.dto.CursorPageDTO;
 import com.building.temperaturecontrol.service.BuildingService;
 
 @RestController
@@ -16,36 +19,50 @@ import com.building.temperaturecontrol.service.BuildingService;
 public class BuildingController {
     private static final Logger logger = LoggerFactory.getLogger(BuildingController.class);
     private final String apiContentType = "application/vnd.temperaturecontrol.v1+json";
+    private final String apiCborContentType = "application/vnd.temperaturecontrol.v1+cbor";
     private final BuildingService buildingService;
 
     public BuildingController(BuildingService buildingService) {
         this.buildingService = buildingService;
     }
 
-    @PostMapping(produces = apiContentType)
+    @PostMapping(produces = {apiContentType, apiCborContentType})
     public ResponseEntity<BuildingDTO> createBuilding(@RequestBody @Valid BuildingDTO buildingDTO) {
-        logger.info("Received request to create building: {}", buildingDTO.getName());
+        logger.debug("Received request to create building: {}", buildingDTO.getName());
         BuildingDTO created = buildingService.createBuilding(buildingDTO);
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
-    @GetMapping(produces = apiContentType)
-    public ResponseEntity<List<BuildingDTO>> getMyBuildings() {
-        logger.info("Fetching buildings for current user");
-        List<BuildingDTO> buildings = buildingService.getCurrentUserBuildings();
-        return ResponseEntity.ok(buildings);
+    @GetMapping(produces = {apiContentType, apiCborContentType})
+    public ResponseEntity<List<BuildingDTO>> getMyBuildings(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        logger.debug("Fetching buildings for current user after: {} limit: {}", after, limit);
+        Integer pageLimit = CursorPageDTO.limitOf(after, limit);
+        CursorPageDTO<BuildingDTO> page = buildingService.getCurrentUserBuildings(after, pageLimit);
+        return ResponseEntity.ok().headers(CursorPageHeaders.of(page, pageLimit)).body(page.getItems());
     }
 
-    @GetMapping(value = "/{buildingId}", produces = apiContentType)
+    // With stream=true all buildings after the cursor are written as they are read, without paging
+    @GetMapping(produces = apiContentType, params = "stream=true")
+    public void streamMyBuildings(
+            @RequestParam(required = false) Long after,
+            HttpServletResponse response) throws IOException {
+        logger.debug("Streaming buildings for current user after: {}", after);
+        response.setContentType(apiContentType);
+        buildingService.writeCurrentUserBuildings(after, response.getOutputStream());
+    }
+
+    @GetMapping(value = "/{buildingId}", produces = {apiContentType, apiCborContentType})
     public ResponseEntity<BuildingDTO> getBuilding(@PathVariable Long buildingId) {
-        logger.info("Fetching building: {}", buildingId);
+        logger.debug("Fetching building: {}", buildingId);
         BuildingDTO building = buildingService.getBuilding(buildingId);
         return ResponseEntity.ok(building);
     }
 
-    @DeleteMapping(value = "/{buildingId}", produces = apiContentType)
+    @DeleteMapping(value = "/{buildingId}", produces = {apiContentType, apiCborContentType})
     public ResponseEntity<Void> deleteBuilding(@PathVariable Long buildingId) {
-        logger.info("Received request to delete building: {}", buildingId);
+        logger.debug("Received request to delete building: {}", buildingId);
         buildingService.deleteBuilding(buildingId);
         return ResponseEntity.noContent().build(); // Return 204 No Content
     }
@@ -0,0 +1,28 @@
+package com.building.temperaturecontrol.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.building.temperaturecontrol.dto.CursorPageDTO;
+
+// Cursor Page Headers
+// List endpoints keep returning a plain JSON array, the cursor of the next page
+// is sent in a Link header (RFC 8288) and in X-Next-Cursor.
+final class CursorPageHeaders {
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    private CursorPageHeaders() {}
+
+    static HttpHeaders of(CursorPageDTO<?> page, Integer limit) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getNextCursor() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("limit", limit)
+                    .replaceQueryParam("after", page.getNextCursor())
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            headers.add(NEXT_CURSOR, page.getNextCursor().toString());
+        }
+        return headers;
+    }
+}
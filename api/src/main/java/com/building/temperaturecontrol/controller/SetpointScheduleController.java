@@ -0,0 +1,49 @@
+package com.building.temperaturecontrol.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+import java.util.List;
+
+import com.building.temperaturecontrol.dto.SetpointScheduleDTO;
+import com.building.temperaturecontrol.service.SetpointScheduleService;
+
+
+@RestController
+@RequestMapping("/api/v1/buildings/{buildingId}/schedules")
+public class SetpointScheduleController {
+    private static final Logger logger = LoggerFactory.getLogger(SetpointScheduleController.class);
+    private final String apiContentType = "application/vnd.temperaturecontrol.v1+json";
+    private final SetpointScheduleService setpointScheduleService;
+
+    public SetpointScheduleController(SetpointScheduleService setpointScheduleService) {
+        this.setpointScheduleService = setpointScheduleService;
+    }
+
+    @PostMapping(produces = apiContentType)
+    public ResponseEntity<SetpointScheduleDTO> createSchedule(
+            @PathVariable Long buildingId,
+            @RequestBody @Valid SetpointScheduleDTO scheduleDTO) {
+        logger.debug("Received request to create setpoint schedule in building: {}", buildingId);
+        SetpointScheduleDTO created = setpointScheduleService.createSchedule(buildingId, scheduleDTO);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @GetMapping(produces = apiContentType)
+    public ResponseEntity<List<SetpointScheduleDTO>> getSchedules(@PathVariable Long buildingId) {
+        logger.debug("Fetching setpoint schedules for building: {}", buildingId);
+        return ResponseEntity.ok(setpointScheduleService.getSchedules(buildingId));
+    }
+
+    @DeleteMapping(value = "/{scheduleId}", produces = apiContentType)
+    public ResponseEntity<Void> deleteSchedule(
+            @PathVariable Long buildingId,
+            @PathVariable Long scheduleId) {
+        logger.debug("Received request to delete setpoint schedule {} in building {}", scheduleId, buildingId);
+        setpointScheduleService.deleteSchedule(buildingId, scheduleId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.building.temperaturecontrol.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+
+import com.building.temperaturecontrol.dto.TelemetryBatchDTO;
+import com.building.temperaturecontrol.dto.TelemetryIngestResultDTO;
+import com.building.temperaturecontrol.service.TelemetryService;
+
+@RestController
+@RequestMapping("/api/v1/telemetry")
+public class TelemetryController {
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryController.class);
+    private final String apiContentType = "application/vnd.temperaturecontrol.v1+json";
+    private final TelemetryService telemetryService;
+
+    public TelemetryController(TelemetryService telemetryService) {
+        this.telemetryService = telemetryService;
+    }
+
+    @PostMapping(produces = apiContentType)
+    public ResponseEntity<TelemetryIngestResultDTO> ingest(@RequestBody @Valid TelemetryBatchDTO batch) {
+        logger.debug("Received telemetry batch with {} readings", batch.getReadings().size());
+        TelemetryIngestResultDTO result = telemetryService.ingest(batch.getReadings());
+        return new ResponseEntity<>(result, HttpStatus.ACCEPTED);
+    }
+}
@@ -2,6 +2,7 @@ package com.building.temperaturecontrol.controller;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -26,7 +27,7 @@ public class UserController {
 
     @PostMapping(value = "/register", produces = apiContentType)
     public ResponseEntity<UserDTO> register(@RequestBody @Valid UserRegistrationDTO userRegistrationDTO) {
-        logger.info("Received registration request for username: {}", userRegistrationDTO.getUsername());
+        logger.debug("Received registration request for username: {}", userRegistrationDTO.getUsername());
         UserDTO createdUser = userService.createUser(
                 userRegistrationDTO.getUsername(),
                 userRegistrationDTO.getPassword(),
@@ -46,6 +47,13 @@ public class UserController {
         return ResponseEntity.ok(Map.of("token", token));
     }
 
+    // Revokes the token the request was authenticated with
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        userService.logout(authorization.substring("Bearer ".length()));
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping(value = "/{userId}", produces = apiContentType)
     public ResponseEntity<UserDTO> updateUser(@PathVariable Long userId, @RequestBody @Valid UserDTO userDTO) {
         UserDTO updated = userService.updateUser(userDTO);
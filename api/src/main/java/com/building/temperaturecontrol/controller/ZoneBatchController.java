@@ -0,0 +1,32 @@
+package com.building.temperaturecontrol.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureBatchDTO;
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureBatchResultDTO;
+import com.building.temperaturecontrol.service.ZoneService;
+
+// Operations on zones of several buildings at once
+@RestController
+@RequestMapping("/api/v1/zones")
+public class ZoneBatchController {
+    private static final Logger logger = LoggerFactory.getLogger(ZoneBatchController.class);
+    private final String apiContentType = "application/vnd.temperaturecontrol.v1+json";
+    private final String apiCborContentType = "application/vnd.temperaturecontrol.v1+cbor";
+    private final ZoneService zoneService;
+
+    public ZoneBatchController(ZoneService zoneService) {
+        this.zoneService = zoneService;
+    }
+
+    @PatchMapping(value = "/target-temp", produces = {apiContentType, apiCborContentType})
+    public ResponseEntity<ZoneTargetTemperatureBatchResultDTO> updateTargetTemperatures(
+            @RequestBody @Valid ZoneTargetTemperatureBatchDTO batch) {
+        logger.debug("Updating target temperature for {} zones", batch.getItems().size());
+        return ResponseEntity.ok(zoneService.updateTargetTemperatures(batch.getItems()));
+    }
+}
@@ -3,12 +3,18 @@ package com.building.temperaturecontrol.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import jakarta.validation.Valid;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
+import com.building.temperaturecontrol.dto.CursorPageDTO;
 import com.building.temperaturecontrol.dto.ZoneDTO;
+import com.building.temperaturecontrol.dto.ZoneHistoryDTO;
 import com.building.temperaturecontrol.dto.ZoneTemperatureUpdateDTO;
 import com.building.temperaturecontrol.service.ZoneService;
 
@@ -18,62 +24,87 @@ import com.building.temperaturecontrol.service.ZoneService;
 public class ZoneController {
     private static final Logger logger = LoggerFactory.getLogger(ZoneController.class);
     private final String apiContentType = "application/vnd.temperaturecontrol.v1+json";
+    private final String apiCborContentType = "application/vnd.temperaturecontrol.v1+cbor";
     private final ZoneService zoneService;
 
     public ZoneController(ZoneService zoneService) {
         this.zoneService = zoneService;
     }
 
-    @PostMapping(produces = apiContentType)
+    @PostMapping(produces = {apiContentType, apiCborContentType})
     public ResponseEntity<ZoneDTO> createZone(
             @PathVariable Long buildingId,
             @RequestBody @Valid ZoneDTO zoneDTO) {
-        logger.info("Received request to create zone in building: {}", buildingId);
+        logger.debug("Received request to create zone in building: {}", buildingId);
         zoneDTO.setBuildingId(buildingId);
         ZoneDTO created = zoneService.createZone(zoneDTO);
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
-    @GetMapping(produces = apiContentType)
-    public ResponseEntity<List<ZoneDTO>> getZones(@PathVariable Long buildingId) {
-        logger.info("Fetching zones for building: {}", buildingId);
-        List<ZoneDTO> zones = zoneService.getZonesByBuilding(buildingId);
-        return ResponseEntity.ok(zones);
+    @GetMapping(produces = {apiContentType, apiCborContentType})
+    public ResponseEntity<List<ZoneDTO>> getZones(
+            @PathVariable Long buildingId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        logger.debug("Fetching zones for building: {} after: {} limit: {}", buildingId, after, limit);
+        Integer pageLimit = CursorPageDTO.limitOf(after, limit);
+        CursorPageDTO<ZoneDTO> page = zoneService.getZonesByBuilding(buildingId, after, pageLimit);
+        return ResponseEntity.ok().headers(CursorPageHeaders.of(page, pageLimit)).body(page.getItems());
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamZoneChanges(@PathVariable Long buildingId) {
+        logger.debug("Opening zone change stream for building: {}", buildingId);
+        return zoneService.streamZoneChanges(buildingId);
     }
 
-    @PutMapping(value = "/target-temp", produces = apiContentType)
+    @PutMapping(value = "/target-temp", produces = {apiContentType, apiCborContentType})
     public ResponseEntity<List<ZoneDTO>> updateTargetTemperatureAll(
             @PathVariable Long buildingId,
             @RequestBody @Valid ZoneTemperatureUpdateDTO updateDTO) {
-        logger.info("Updating target temperature for all zones in building: {}", buildingId);
+        logger.debug("Updating target temperature for all zones in building: {}", buildingId);
         List<ZoneDTO> updatedZones = zoneService.updateTargetTemperatureAll(buildingId, updateDTO.getTargetTemperature());
         return ResponseEntity.ok(updatedZones);
     }
 
-    @PatchMapping(value = "/{zoneId}/target-temp", produces = apiContentType)
+    @PatchMapping(value = "/{zoneId}/target-temp", produces = {apiContentType, apiCborContentType})
     public ResponseEntity<ZoneDTO> updateTargetTemperature(
             @PathVariable Long buildingId,
             @PathVariable Long zoneId,
             @RequestBody @Valid ZoneTemperatureUpdateDTO updateDTO) {
-        logger.info("Updating target temperature for zone: {} to: {}", zoneId, updateDTO.getTargetTemperature());
+        logger.debug("Updating target temperature for zone: {} to: {}", zoneId, updateDTO.getTargetTemperature());
         ZoneDTO updated = zoneService.updateTemperature(buildingId, zoneId, updateDTO);
         return ResponseEntity.ok(updated);
     }
 
-    @GetMapping(value = "/{zoneId}", produces = apiContentType)
+    @GetMapping(value = "/{zoneId}", produces = {apiContentType, apiCborContentType})
     public ResponseEntity<ZoneDTO> getZone(
             @PathVariable Long buildingId,
             @PathVariable Long zoneId) {
-        logger.info("Fetching zone: {} in building: {}", zoneId, buildingId);
+        logger.debug("Fetching zone: {} in building: {}", zoneId, buildingId);
         ZoneDTO zone = zoneService.getZone(buildingId, zoneId);
         return ResponseEntity.ok(zone);
     }
 
-    @DeleteMapping(value = "/{zoneId}", produces = apiContentType)
+    @GetMapping(value = "/{zoneId}/history", produces = {apiContentType, apiCborContentType})
+    public ResponseEntity<ZoneHistoryDTO> getZoneHistory(
+            @PathVariable Long buildingId,
+            @PathVariable Long zoneId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "auto") String resolution) {
+        Instant rangeEnd = to != null ? to : Instant.now();
+        Instant rangeStart = from != null ? from : rangeEnd.minus(Duration.ofDays(1));
+        logger.debug("Fetching history for zone: {} in building: {} from: {} to: {}", zoneId, buildingId, rangeStart, rangeEnd);
+        ZoneHistoryDTO history = zoneService.getZoneHistory(buildingId, zoneId, rangeStart, rangeEnd, resolution);
+        return ResponseEntity.ok(history);
+    }
+
+    @DeleteMapping(value = "/{zoneId}", produces = {apiContentType, apiCborContentType})
     public ResponseEntity<Void> deleteZone(
             @PathVariable Long buildingId,
             @PathVariable Long zoneId) {
-        logger.info("Received request to delete zone {} in building {}", zoneId, buildingId);
+        logger.debug("Received request to delete zone {} in building {}", zoneId, buildingId);
         zoneService.deleteZone(buildingId, zoneId);
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,75 @@
+package com.building.temperaturecontrol.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Read Your Writes Filter
+// After a user has changed something their reads go to the primary for a while, so replica lag never hides
+// their own update. Must run after the security filters. Writes are remembered by this instance only.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    // Expired writes are dropped once this many users are remembered
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<Long, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!isRead(request.getMethod())) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                recordWrite(user.id());
+            }
+            return;
+        }
+        if (!hasRecentWrite(user.id())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingDataSource.usePrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clearPrimary();
+        }
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    private boolean hasRecentWrite(Long userId) {
+        Long writtenAt = lastWriteNanos.get(userId);
+        return writtenAt != null && System.nanoTime() - writtenAt < windowNanos;
+    }
+
+    private void recordWrite(Long userId) {
+        long now = System.nanoTime();
+        if (lastWriteNanos.size() >= PURGE_THRESHOLD) {
+            lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+        lastWriteNanos.put(userId, now);
+    }
+}
@@ -0,0 +1,34 @@
+package com.building.temperaturecontrol.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+// Replica Cache Mode JPA Dialect
+// Read-only transactions may read from a lagging replica. Their sessions read the second-level cache but never
+// put into it, so replica data never reaches the entity and query regions shared with primary readers, which
+// would undo the read-your-writes routing. Sessions of requests pinned to the primary cache as usual.
+public class ReplicaCacheModeJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        // Session.find resolves its cache mode from the entity manager properties, so set the store mode there
+        // as well as on the session, which covers queries
+        CacheMode cacheMode = cacheMode(definition);
+        entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, cacheMode.getJpaStoreMode());
+        entityManager.unwrap(Session.class).setCacheMode(cacheMode);
+        return transactionData;
+    }
+
+    static CacheMode cacheMode(TransactionDefinition definition) {
+        return definition.isReadOnly() && !ReplicaRoutingDataSource.isPrimaryOnly() ? CacheMode.GET : CacheMode.NORMAL;
+    }
+}
@@ -0,0 +1,137 @@
+package com.building.temperaturecontrol.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Replica Routing Data Source
+// Hands out the connections of read-only transactions. Replicas are used round-robin, skipping those that
+// cannot be reached or whose replay lags more than the allowed time; when no replica is usable, or the
+// current request has to read its own writes, the connection comes from the primary.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Replay lag in milliseconds, zero when everything received from the primary has been replayed
+    // (an idle primary would otherwise show up as a growing lag)
+    static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private static final ThreadLocal<Boolean> primaryOnly = new ThreadLocal<>();
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagMillis) {
+        this.maxLagMillis = maxLagMillis;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        setDefaultTargetDataSource(primary);
+        setTargetDataSources(new HashMap<>(replicas));
+    }
+
+    // Send the read-only transactions of the current thread to the primary until clearPrimary is called
+    public static void usePrimary() {
+        primaryOnly.set(Boolean.TRUE);
+    }
+
+    public static void clearPrimary() {
+        primaryOnly.remove();
+    }
+
+    static boolean isPrimaryOnly() {
+        return Boolean.TRUE.equals(primaryOnly.get());
+    }
+
+    // The replica to use, or null for the primary
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (isPrimaryOnly() || replicas.isEmpty()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                return replica.name;
+            }
+        }
+        return null;
+    }
+
+    // Measure the lag of every replica
+    // Replicas start out unavailable and are used once a check has found them within the allowed lag.
+    @Scheduled(fixedDelayString = "${datasource.replicas.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            boolean available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagMillis = resultSet.getLong(1);
+                available = replica.lagMillis <= maxLagMillis;
+                if (!available && replica.available) {
+                    logger.warn("Replica {} lags {} ms behind the primary, reading from other replicas", replica.name, replica.lagMillis);
+                }
+            } catch (SQLException e) {
+                replica.lagMillis = -1;
+                available = false;
+                if (replica.available) {
+                    logger.warn("Replica {} is unreachable, reading from other replicas: {}", replica.name, e.getMessage());
+                }
+            }
+            if (available && !replica.available) {
+                logger.info("Replica {} is available, lag {} ms", replica.name, replica.lagMillis);
+            }
+            replica.available = available;
+        }
+    }
+
+    public List<String> getReplicaNames() {
+        return replicas.stream().map(replica -> replica.name).toList();
+    }
+
+    // Last measured lag in seconds, NaN when the replica could not be reached
+    public double getLagSeconds(String name) {
+        for (Replica replica : replicas) {
+            if (replica.name.equals(name)) {
+                return replica.lagMillis < 0 ? Double.NaN : replica.lagMillis / 1000.0;
+            }
+        }
+        return Double.NaN;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long lagMillis = -1;
+        private volatile boolean available;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
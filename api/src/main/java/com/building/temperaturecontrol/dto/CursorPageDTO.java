@@ -0,0 +1,52 @@
+package com.building.temperaturecontrol.dto;
+
+import jakarta.validation.ValidationException;
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a keyset paginated list
+// nextCursor is the id to pass as "after" for the next page, or null on the last page.
+// A null limit stands for the whole list, which is what clients that send neither limit nor after get.
+public class CursorPageDTO<T> {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private List<T> items;
+    private Long nextCursor;
+
+    public CursorPageDTO() {}
+
+    public CursorPageDTO(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Page size of a list request: the whole list without limit and after, DEFAULT_LIMIT with only after
+    public static Integer limitOf(Long after, Integer limit) {
+        if (limit != null) {
+            return limit;
+        }
+        return after != null ? DEFAULT_LIMIT : null;
+    }
+
+    // Build a page from rows fetched with limit + 1, the extra row only tells whether a next page exists
+    public static <T> CursorPageDTO<T> of(List<T> rows, Integer limit, Function<T, Long> idOf) {
+        if (limit == null || rows.size() <= limit) {
+            return new CursorPageDTO<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPageDTO<>(items, idOf.apply(items.get(limit - 1)));
+    }
+
+    public static void checkLimit(Integer limit) {
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new ValidationException("limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,69 @@
+package com.building.temperaturecontrol.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Set;
+import com.building.temperaturecontrol.validation.TemperatureConstraint;
+
+public class SetpointScheduleDTO {
+
+    private Long id;
+
+    private Long buildingId;
+
+    // Null sets every zone of the building
+    private Long zoneId;
+
+    @NotEmpty(message = "daysOfWeek is required")
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "time is required")
+    private LocalTime time;
+
+    @NotBlank(message = "timeZone is required")
+    private String timeZone = "UTC";
+
+    @NotNull(message = "targetTemperature is required")
+    @TemperatureConstraint
+    private BigDecimal targetTemperature;
+
+    // Constructors
+    public SetpointScheduleDTO() {}
+
+    public SetpointScheduleDTO(Long id, Long buildingId, Long zoneId, Set<DayOfWeek> daysOfWeek,
+                               LocalTime time, String timeZone, BigDecimal targetTemperature) {
+        this.id = id;
+        this.buildingId = buildingId;
+        this.zoneId = zoneId;
+        this.daysOfWeek = daysOfWeek;
+        this.time = time;
+        this.timeZone = timeZone;
+        this.targetTemperature = targetTemperature;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getBuildingId() { return buildingId; }
+    public void setBuildingId(Long buildingId) { this.buildingId = buildingId; }
+
+    public Long getZoneId() { return zoneId; }
+    public void setZoneId(Long zoneId) { this.zoneId = zoneId; }
+
+    public Set<DayOfWeek> getDaysOfWeek() { return daysOfWeek; }
+    public void setDaysOfWeek(Set<DayOfWeek> daysOfWeek) { this.daysOfWeek = daysOfWeek; }
+
+    public LocalTime getTime() { return time; }
+    public void setTime(LocalTime time) { this.time = time; }
+
+    public String getTimeZone() { return timeZone; }
+    public void setTimeZone(String timeZone) { this.timeZone = timeZone; }
+
+    public BigDecimal getTargetTemperature() { return targetTemperature; }
+    public void setTargetTemperature(BigDecimal targetTemperature) { this.targetTemperature = targetTemperature; }
+}
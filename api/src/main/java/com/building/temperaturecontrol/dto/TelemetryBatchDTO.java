@@ -0,0 +1,22 @@
+package com.building.temperaturecontrol.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class TelemetryBatchDTO {
+    @NotEmpty(message = "readings are required")
+    @Size(max = 10000, message = "A batch cannot contain more than 10000 readings")
+    @Valid
+    private List<ZoneReadingDTO> readings;
+
+    public TelemetryBatchDTO() {}
+
+    public TelemetryBatchDTO(List<ZoneReadingDTO> readings) {
+        this.readings = readings;
+    }
+
+    public List<ZoneReadingDTO> getReadings() { return readings; }
+    public void setReadings(List<ZoneReadingDTO> readings) { this.readings = readings; }
+}
@@ -0,0 +1,19 @@
+package com.building.temperaturecontrol.dto;
+
+public class TelemetryIngestResultDTO {
+    private int accepted;
+    private int rejected;
+
+    public TelemetryIngestResultDTO() {}
+
+    public TelemetryIngestResultDTO(int accepted, int rejected) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+    }
+
+    public int getAccepted() { return accepted; }
+    public void setAccepted(int accepted) { this.accepted = accepted; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+}
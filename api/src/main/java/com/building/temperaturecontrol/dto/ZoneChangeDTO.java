@@ -0,0 +1,45 @@
+package com.building.temperaturecontrol.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Change of a single zone pushed to stream subscribers
+// Only the fields that changed are set, the others are left out of the JSON.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ZoneChangeDTO {
+    private Long zoneId;
+    private Long buildingId;
+    private BigDecimal targetTemperature;
+    private BigDecimal currentTemperature;
+    private Instant changedAt;
+
+    public ZoneChangeDTO() {}
+
+    public ZoneChangeDTO(Long zoneId, Long buildingId, BigDecimal targetTemperature, BigDecimal currentTemperature, Instant changedAt) {
+        this.zoneId = zoneId;
+        this.buildingId = buildingId;
+        this.targetTemperature = targetTemperature;
+        this.currentTemperature = currentTemperature;
+        this.changedAt = changedAt;
+    }
+
+    public static ZoneChangeDTO currentTemperature(Long zoneId, Long buildingId, BigDecimal currentTemperature, Instant recordedAt) {
+        return new ZoneChangeDTO(zoneId, buildingId, null, currentTemperature, recordedAt);
+    }
+
+    public Long getZoneId() { return zoneId; }
+    public void setZoneId(Long zoneId) { this.zoneId = zoneId; }
+
+    public Long getBuildingId() { return buildingId; }
+    public void setBuildingId(Long buildingId) { this.buildingId = buildingId; }
+
+    public BigDecimal getTargetTemperature() { return targetTemperature; }
+    public void setTargetTemperature(BigDecimal targetTemperature) { this.targetTemperature = targetTemperature; }
+
+    public BigDecimal getCurrentTemperature() { return currentTemperature; }
+    public void setCurrentTemperature(BigDecimal currentTemperature) { this.currentTemperature = currentTemperature; }
+
+    public Instant getChangedAt() { return changedAt; }
+    public void setChangedAt(Instant changedAt) { this.changedAt = changedAt; }
+}
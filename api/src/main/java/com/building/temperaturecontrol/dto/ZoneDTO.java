@@ -36,6 +36,11 @@ public class ZoneDTO {
         this.currentTemperature = currentTemperature;
     }
 
+    // Without the current temperature, for the cached zone queries that must not hold it
+    public ZoneDTO(Long id, String name, String description, Long buildingId, BigDecimal targetTemperature) {
+        this(id, name, description, buildingId, targetTemperature, null);
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,39 @@
+package com.building.temperaturecontrol.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.building.temperaturecontrol.model.HistoryResolution;
+
+public class ZoneHistoryDTO {
+    private Long zoneId;
+    private HistoryResolution resolution;
+    private Instant from;
+    private Instant to;
+    private List<ZoneHistoryPointDTO> points;
+
+    public ZoneHistoryDTO() {}
+
+    public ZoneHistoryDTO(Long zoneId, HistoryResolution resolution, Instant from, Instant to, List<ZoneHistoryPointDTO> points) {
+        this.zoneId = zoneId;
+        this.resolution = resolution;
+        this.from = from;
+        this.to = to;
+        this.points = points;
+    }
+
+    public Long getZoneId() { return zoneId; }
+    public void setZoneId(Long zoneId) { this.zoneId = zoneId; }
+
+    public HistoryResolution getResolution() { return resolution; }
+    public void setResolution(HistoryResolution resolution) { this.resolution = resolution; }
+
+    public Instant getFrom() { return from; }
+    public void setFrom(Instant from) { this.from = from; }
+
+    public Instant getTo() { return to; }
+    public void setTo(Instant to) { this.to = to; }
+
+    public List<ZoneHistoryPointDTO> getPoints() { return points; }
+    public void setPoints(List<ZoneHistoryPointDTO> points) { this.points = points; }
+}
@@ -0,0 +1,37 @@
+package com.building.temperaturecontrol.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public class ZoneHistoryPointDTO {
+    private Instant timestamp;
+    private BigDecimal min;
+    private BigDecimal max;
+    private BigDecimal avg;
+    private long count;
+
+    public ZoneHistoryPointDTO() {}
+
+    public ZoneHistoryPointDTO(Instant timestamp, BigDecimal min, BigDecimal max, BigDecimal avg, long count) {
+        this.timestamp = timestamp;
+        this.min = min;
+        this.max = max;
+        this.avg = avg;
+        this.count = count;
+    }
+
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+
+    public BigDecimal getMin() { return min; }
+    public void setMin(BigDecimal min) { this.min = min; }
+
+    public BigDecimal getMax() { return max; }
+    public void setMax(BigDecimal max) { this.max = max; }
+
+    public BigDecimal getAvg() { return avg; }
+    public void setAvg(BigDecimal avg) { this.avg = avg; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
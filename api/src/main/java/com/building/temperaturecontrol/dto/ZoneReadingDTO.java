@@ -0,0 +1,36 @@
+package com.building.temperaturecontrol.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.building.temperaturecontrol.validation.TemperatureConstraint;
+
+public class ZoneReadingDTO {
+    @NotNull(message = "zoneId is required")
+    private Long zoneId;
+
+    @NotNull(message = "timestamp is required")
+    private Instant timestamp;
+
+    @NotNull(message = "temperature is required")
+    @TemperatureConstraint
+    private BigDecimal temperature;
+
+    public ZoneReadingDTO() {}
+
+    public ZoneReadingDTO(Long zoneId, Instant timestamp, BigDecimal temperature) {
+        this.zoneId = zoneId;
+        this.timestamp = timestamp;
+        this.temperature = temperature;
+    }
+
+    public Long getZoneId() { return zoneId; }
+    public void setZoneId(Long zoneId) { this.zoneId = zoneId; }
+
+    public Instant getTimestamp() { return timestamp; }
+    public void setTimestamp(Instant timestamp) { this.timestamp = timestamp; }
+
+    public BigDecimal getTemperature() { return temperature; }
+    public void setTemperature(BigDecimal temperature) { this.temperature = temperature; }
+}
@@ -0,0 +1,22 @@
+package com.building.temperaturecontrol.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class ZoneTargetTemperatureBatchDTO {
+    @NotEmpty(message = "items are required")
+    @Size(max = 1000, message = "A batch cannot contain more than 1000 items")
+    @Valid
+    private List<ZoneTargetTemperatureDTO> items;
+
+    public ZoneTargetTemperatureBatchDTO() {}
+
+    public ZoneTargetTemperatureBatchDTO(List<ZoneTargetTemperatureDTO> items) {
+        this.items = items;
+    }
+
+    public List<ZoneTargetTemperatureDTO> getItems() { return items; }
+    public void setItems(List<ZoneTargetTemperatureDTO> items) { this.items = items; }
+}
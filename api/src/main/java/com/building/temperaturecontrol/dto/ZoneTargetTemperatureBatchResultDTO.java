@@ -0,0 +1,26 @@
+package com.building.temperaturecontrol.dto;
+
+import java.util.List;
+
+public class ZoneTargetTemperatureBatchResultDTO {
+    private int updated;
+    private int rejected;
+    private List<ZoneTargetTemperatureResultDTO> results;
+
+    public ZoneTargetTemperatureBatchResultDTO() {}
+
+    public ZoneTargetTemperatureBatchResultDTO(int updated, int rejected, List<ZoneTargetTemperatureResultDTO> results) {
+        this.updated = updated;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    public int getUpdated() { return updated; }
+    public void setUpdated(int updated) { this.updated = updated; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<ZoneTargetTemperatureResultDTO> getResults() { return results; }
+    public void setResults(List<ZoneTargetTemperatureResultDTO> results) { this.results = results; }
+}
@@ -0,0 +1,28 @@
+package com.building.temperaturecontrol.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+
+import com.building.temperaturecontrol.validation.TemperatureConstraint;
+
+public class ZoneTargetTemperatureDTO {
+    @NotNull(message = "zoneId is required")
+    private Long zoneId;
+
+    @NotNull(message = "targetTemperature is required")
+    @TemperatureConstraint
+    private BigDecimal targetTemperature;
+
+    public ZoneTargetTemperatureDTO() {}
+
+    public ZoneTargetTemperatureDTO(Long zoneId, BigDecimal targetTemperature) {
+        this.zoneId = zoneId;
+        this.targetTemperature = targetTemperature;
+    }
+
+    public Long getZoneId() { return zoneId; }
+    public void setZoneId(Long zoneId) { this.zoneId = zoneId; }
+
+    public BigDecimal getTargetTemperature() { return targetTemperature; }
+    public void setTargetTemperature(BigDecimal targetTemperature) { this.targetTemperature = targetTemperature; }
+}
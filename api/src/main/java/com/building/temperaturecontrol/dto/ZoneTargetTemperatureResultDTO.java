@@ -0,0 +1,33 @@
+package com.building.temperaturecontrol.dto;
+
+import java.math.BigDecimal;
+
+public class ZoneTargetTemperatureResultDTO {
+    public enum Status { UPDATED, NOT_FOUND }
+
+    private Long zoneId;
+    private Long buildingId;
+    private Status status;
+    private BigDecimal targetTemperature;
+
+    public ZoneTargetTemperatureResultDTO() {}
+
+    public ZoneTargetTemperatureResultDTO(Long zoneId, Long buildingId, Status status, BigDecimal targetTemperature) {
+        this.zoneId = zoneId;
+        this.buildingId = buildingId;
+        this.status = status;
+        this.targetTemperature = targetTemperature;
+    }
+
+    public Long getZoneId() { return zoneId; }
+    public void setZoneId(Long zoneId) { this.zoneId = zoneId; }
+
+    public Long getBuildingId() { return buildingId; }
+    public void setBuildingId(Long buildingId) { this.buildingId = buildingId; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public BigDecimal getTargetTemperature() { return targetTemperature; }
+    public void setTargetTemperature(BigDecimal targetTemperature) { this.targetTemperature = targetTemperature; }
+}
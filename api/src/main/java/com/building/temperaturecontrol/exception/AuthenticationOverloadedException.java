@@ -0,0 +1,7 @@
+package com.building.temperaturecontrol.exception;
+
+public class AuthenticationOverloadedException extends RuntimeException {
+    public AuthenticationOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -3,6 +3,8 @@ package com.building.temperaturecontrol.exception;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -16,9 +18,21 @@ import com.building.temperaturecontrol.dto.ValidationErrorDTO;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Count handled errors by outcome
+    private void count(String outcome, Exception ex) {
+        meterRegistry.counter("temperaturecontrol.errors",
+            "outcome", outcome, "exception", ex.getClass().getSimpleName()).increment();
+    }
 
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponseDTO> handleAccessDenied(AccessDeniedException ex) {
+        count("access_denied", ex);
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.FORBIDDEN.value(),
             ex.getMessage(),
@@ -29,6 +43,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDTO> handleResourceNotFound(ResourceNotFoundException ex) {
+        count("not_found", ex);
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.NOT_FOUND.value(),
             ex.getMessage(),
@@ -39,6 +54,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ErrorResponseDTO> handleValidation(ValidationException ex) {
+        count("validation", ex);
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.BAD_REQUEST.value(),
             ex.getMessage(),
@@ -49,6 +65,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(UsernameAlreadyExistsException.class)
     public ResponseEntity<ErrorResponseDTO> handleUsernameExists(UsernameAlreadyExistsException ex) {
+        count("conflict", ex);
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.CONFLICT.value(),
             ex.getMessage(),
@@ -59,6 +76,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorDTO> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        count("validation", ex);
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(error -> 
             errors.put(error.getField(), error.getDefaultMessage())
@@ -70,6 +88,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<ErrorResponseDTO> handleInvalidCredentials(InvalidCredentialsException ex) {
+        count("unauthorized", ex);
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.UNAUTHORIZED.value(),
             ex.getMessage(),
@@ -78,8 +97,37 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(TelemetryBufferFullException.class)
+    public ResponseEntity<ErrorResponseDTO> handleTelemetryBufferFull(TelemetryBufferFullException ex) {
+        count("overloaded", ex);
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity
+            .status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
+    @ExceptionHandler(AuthenticationOverloadedException.class)
+    public ResponseEntity<ErrorResponseDTO> handleAuthenticationOverloaded(AuthenticationOverloadedException ex) {
+        count("overloaded", ex);
+        ErrorResponseDTO error = new ErrorResponseDTO(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            ex.getMessage(),
+            LocalDateTime.now()
+        );
+        return ResponseEntity
+            .status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponseDTO> handleExceptions(Exception ex) {
+        count("error", ex);
         ErrorResponseDTO error = new ErrorResponseDTO(
             HttpStatus.INTERNAL_SERVER_ERROR.value(),
             ex.getMessage(),
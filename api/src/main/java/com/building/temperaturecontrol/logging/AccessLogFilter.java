@@ -0,0 +1,87 @@
+package com.building.temperaturecontrol.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Access Log Filter
+// Logs a sample of the requests to the access logger, with the endpoint, status and duration as structured
+// fields. Each endpoint ("GET /api/v1/buildings/{buildingId}") has its own sample rate, falling back to the
+// default one. Server errors and slow requests are always logged. Requests that aren't sampled cost a
+// random number and a map lookup.
+public class AccessLogFilter extends OncePerRequestFilter {
+    static final String LOGGER_NAME = "com.building.temperaturecontrol.access";
+    private static final Logger accessLogger = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final double defaultSampleRate;
+    private final Map<String, Double> sampleRates;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(double defaultSampleRate, Map<String, Double> sampleRates, long slowThresholdMillis) {
+        this.defaultSampleRate = defaultSampleRate;
+        this.sampleRates = Map.copyOf(sampleRates);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    // Parses "METHOD pattern=rate" pairs separated by commas
+    public static Map<String, Double> parseSampleRates(String text) {
+        Map<String, Double> rates = new HashMap<>();
+        for (String pair : text.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int separator = pair.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected 'METHOD pattern=rate', got: " + pair);
+            }
+            rates.put(pair.substring(0, separator).trim(), Double.parseDouble(pair.substring(separator + 1).trim()));
+        }
+        return rates;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!accessLogger.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+            double sampleRate = status >= 500 || durationNanos >= slowThresholdNanos
+                    ? 1.0 : sampleRates.getOrDefault(endpoint, defaultSampleRate);
+            if (sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+                log(request, endpoint, status, durationNanos, sampleRate);
+            }
+        }
+    }
+
+    private static void log(HttpServletRequest request, String endpoint, int status, long durationNanos, double sampleRate) {
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        accessLogger.atInfo()
+                .addKeyValue("endpoint", endpoint)
+                .addKeyValue("path", request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", durationMillis)
+                .addKeyValue("sampleRate", sampleRate)
+                .log("{} {} {} ms", endpoint, status, durationMillis);
+    }
+}
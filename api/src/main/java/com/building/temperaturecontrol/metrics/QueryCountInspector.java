@@ -0,0 +1,31 @@
+package com.building.temperaturecontrol.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Query Count Inspector
+// Hibernate calls this for every SQL statement it prepares, the count is kept per thread
+// so QueryCountFilter can record how many statements a request issued.
+public class QueryCountInspector implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    // Start counting on the current thread
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    // Stop counting on the current thread and return the count
+    static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+}
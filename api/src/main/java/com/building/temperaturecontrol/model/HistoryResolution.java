@@ -0,0 +1,51 @@
+package com.building.temperaturecontrol.model;
+
+import jakarta.validation.ValidationException;
+import java.time.Duration;
+import java.util.Locale;
+
+// Resolution of a zone history query.
+// RAW reads zone_reading, MINUTE and HOUR read the maintained rollup tables.
+public enum HistoryResolution {
+    RAW(Duration.ZERO),
+    MINUTE(Duration.ofMinutes(1)),
+    HOUR(Duration.ofHours(1));
+
+    // Largest number of points a rollup resolution may produce before a coarser one is picked
+    public static final long MAX_POINTS = 1440;
+    // Raw rows are only read directly for short ranges
+    public static final Duration MAX_RAW_RANGE = Duration.ofHours(1);
+
+    private final Duration bucket;
+
+    HistoryResolution(Duration bucket) {
+        this.bucket = bucket;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+
+    // Pick the cheapest resolution that still gives a useful number of points for the range
+    public static HistoryResolution forRange(Duration range) {
+        if (range.compareTo(MAX_RAW_RANGE) <= 0) {
+            return RAW;
+        }
+        if (range.toMinutes() <= MAX_POINTS) {
+            return MINUTE;
+        }
+        return HOUR;
+    }
+
+    // Parse the resolution request parameter, where "auto" means pick by range
+    public static HistoryResolution fromParameter(String value, Duration range) {
+        if (value == null || value.isBlank() || value.equalsIgnoreCase("auto")) {
+            return forRange(range);
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("resolution must be one of auto, raw, minute or hour");
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.building.temperaturecontrol.model;
+
+import java.math.BigDecimal;
+
+// A target temperature set by a schedule, for one zone or for every zone of a building when zoneId is null.
+public record SetpointChange(Long buildingId, Long zoneId, BigDecimal targetTemperature) {
+}
@@ -0,0 +1,88 @@
+package com.building.temperaturecontrol.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+@Entity
+@Table(name = "setpoint_schedule")
+public class SetpointSchedule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "building_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Building building;
+
+    // Null when the schedule sets every zone of the building
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "zone_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Zone zone;
+
+    // Bit 0 is Monday, bit 6 is Sunday
+    @Column(name = "days_of_week", nullable = false)
+    @JdbcTypeCode(SqlTypes.SMALLINT)
+    private int daysOfWeek;
+
+    @Column(name = "time_of_day", nullable = false)
+    private LocalTime timeOfDay;
+
+    @Column(name = "time_zone", nullable = false, length = 64)
+    private String timeZone;
+
+    @Column(name = "target_temp", precision = 5, scale = 2, nullable = false)
+    private BigDecimal targetTemperature;
+
+    // Constructors
+    public SetpointSchedule() {}
+
+    public SetpointSchedule(Building building, Zone zone, int daysOfWeek, LocalTime timeOfDay,
+                            String timeZone, BigDecimal targetTemperature) {
+        this.building = building;
+        this.zone = zone;
+        this.daysOfWeek = daysOfWeek;
+        this.timeOfDay = timeOfDay;
+        this.timeZone = timeZone;
+        this.targetTemperature = targetTemperature;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Building getBuilding() {
+        return building;
+    }
+
+    public Zone getZone() {
+        return zone;
+    }
+
+    public int getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public LocalTime getTimeOfDay() {
+        return timeOfDay;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public BigDecimal getTargetTemperature() {
+        return targetTemperature;
+    }
+}
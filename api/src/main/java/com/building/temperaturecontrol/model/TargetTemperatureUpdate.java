@@ -0,0 +1,9 @@
+package com.building.temperaturecontrol.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// A target temperature change accepted in write-behind mode.
+// Updates are journaled and written with JDBC batches, so this is not a JPA entity.
+public record TargetTemperatureUpdate(Long zoneId, Long buildingId, BigDecimal targetTemperature, Instant requestedAt) {
+}
@@ -1,10 +1,14 @@
 package com.building.temperaturecontrol.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import java.math.BigDecimal;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "zone")
 @Table(name = "zone")
 public class Zone {
     @Id
@@ -84,7 +88,5 @@ public class Zone {
 
     public void setTargetTemperature(BigDecimal targetTemperature) {
         this.targetTemperature = targetTemperature;
-        // Set currentTemperature as no real data available
-        this.currentTemperature = targetTemperature;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.building.temperaturecontrol.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// A single temperature sample reported for a zone.
+// Readings are buffered in memory and written with JDBC batches, so this is not a JPA entity.
+public record ZoneReading(Long zoneId, Instant recordedAt, BigDecimal temperature) {
+
+    public boolean isNewerThan(ZoneReading other) {
+        return other == null || recordedAt.isAfter(other.recordedAt);
+    }
+}
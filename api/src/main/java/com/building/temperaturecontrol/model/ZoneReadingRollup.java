@@ -0,0 +1,32 @@
+package com.building.temperaturecontrol.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Aggregate of the readings of one zone within one bucket (a minute or an hour).
+// Rollups are merged in memory per flush and then upserted into the rollup tables.
+public record ZoneReadingRollup(Long zoneId, Instant bucket, BigDecimal min, BigDecimal max, BigDecimal sum, long count) {
+
+    public static ZoneReadingRollup of(ZoneReading reading, ChronoUnit unit) {
+        return new ZoneReadingRollup(
+            reading.zoneId(),
+            reading.recordedAt().truncatedTo(unit),
+            reading.temperature(),
+            reading.temperature(),
+            reading.temperature(),
+            1
+        );
+    }
+
+    public ZoneReadingRollup merge(ZoneReadingRollup other) {
+        return new ZoneReadingRollup(
+            zoneId,
+            bucket,
+            min.min(other.min),
+            max.max(other.max),
+            sum.add(other.sum),
+            count + other.count
+        );
+    }
+}
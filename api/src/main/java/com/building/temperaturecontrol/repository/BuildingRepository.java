@@ -1,10 +1,37 @@
 package com.building.temperaturecontrol.repository;
 
 import com.building.temperaturecontrol.model.Building;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
+// Building list and owner lookups are cached in the building-queries region of the second-level cache
 public interface BuildingRepository extends JpaRepository<Building, Long> {
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "building-queries")
+    })
     List<Building> findByOwnerId(Long ownerId);
+
+    // Keyset page of an owner's buildings, ordered by id and starting after the given id
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "building-queries")
+    })
+    List<Building> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long afterId, Limit limit);
+
+    // Owner id of a building without loading the building or user entities
+    @Query("select b.owner.id from Building b where b.id = :buildingId")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "building-queries")
+    })
+    Optional<Long> findOwnerIdById(@Param("buildingId") Long buildingId);
 } 
\ No newline at end of file
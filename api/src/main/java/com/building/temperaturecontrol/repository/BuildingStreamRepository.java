@@ -0,0 +1,62 @@
+package com.building.temperaturecontrol.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+// Building Stream Repository
+// Reads the buildings of an owner joined with their zones through a forward-only cursor,
+// so a response can be written while the rows arrive instead of after all of them are loaded.
+@Repository
+@Timed(value = "temperaturecontrol.repository", histogram = true)
+public class BuildingStreamRepository {
+    private static final int FETCH_SIZE = 1_000;
+
+    private static final String SELECT_BUILDINGS_WITH_ZONES =
+            "SELECT b.id AS building_id, b.name AS building_name, b.owner_id, b.city, b.street, b.postal_code, " +
+            "z.id AS zone_id, z.name AS zone_name, z.description, z.target_temp, z.current_temp " +
+            "FROM building b LEFT JOIN zone z ON z.building_id = b.id " +
+            "WHERE b.owner_id = ? AND b.id > ? ORDER BY b.id, z.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BuildingStreamRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // One row per zone ordered by building and zone id, buildings without zones have one row with a null zone_id
+    public void forEachBuildingZone(Long ownerId, long afterBuildingId, RowCallbackHandler handler) {
+        // PostgreSQL only streams with a fetch size inside a transaction, otherwise the whole result is buffered.
+        // A transaction that is already open is left to its owner.
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            if (autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_BUILDINGS_WITH_ZONES,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setLong(1, ownerId);
+                statement.setLong(2, afterBuildingId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        handler.processRow(resultSet);
+                    }
+                }
+                if (autoCommit) {
+                    connection.commit();
+                }
+            } finally {
+                if (autoCommit) {
+                    connection.setAutoCommit(true);
+                }
+            }
+            return null;
+        });
+    }
+}
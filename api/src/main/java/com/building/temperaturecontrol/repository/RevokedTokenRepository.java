@@ -0,0 +1,54 @@
+package com.building.temperaturecontrol.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+// Revoked Token Repository
+// Stores the ids of revoked tokens until the tokens expire.
+@Repository
+@Timed(value = "temperaturecontrol.repository", histogram = true)
+public class RevokedTokenRepository {
+
+    public record RevokedToken(UUID tokenId, Instant expiresAt, Instant revokedAt) {}
+
+    private static final String INSERT =
+            "INSERT INTO revoked_token (token_id, user_id, expires_at) VALUES (?, ?, ?) ON CONFLICT (token_id) DO NOTHING";
+
+    private static final String SELECT_REVOKED_SINCE =
+            "SELECT token_id, expires_at, revoked_at FROM revoked_token WHERE revoked_at >= ? AND expires_at > now()";
+
+    private static final String DELETE_EXPIRED = "DELETE FROM revoked_token WHERE expires_at <= ?";
+
+    private static final RowMapper<RevokedToken> ROW_MAPPER = (rs, rowNum) -> new RevokedToken(
+        rs.getObject("token_id", UUID.class),
+        rs.getObject("expires_at", OffsetDateTime.class).toInstant(),
+        rs.getObject("revoked_at", OffsetDateTime.class).toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RevokedTokenRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(UUID tokenId, Long userId, Instant expiresAt) {
+        jdbcTemplate.update(INSERT, tokenId, userId, expiresAt.atOffset(ZoneOffset.UTC));
+    }
+
+    // Unexpired tokens revoked at or after the given time, by the database clock
+    public List<RevokedToken> findRevokedSince(Instant since) {
+        return jdbcTemplate.query(SELECT_REVOKED_SINCE, ROW_MAPPER, since.atOffset(ZoneOffset.UTC));
+    }
+
+    public int deleteExpired(Instant now) {
+        return jdbcTemplate.update(DELETE_EXPIRED, now.atOffset(ZoneOffset.UTC));
+    }
+}
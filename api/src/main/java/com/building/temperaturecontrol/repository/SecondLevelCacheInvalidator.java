@@ -0,0 +1,73 @@
+package com.building.temperaturecontrol.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.building.temperaturecontrol.config.CacheConfig;
+import com.building.temperaturecontrol.model.Zone;
+
+import java.util.Collection;
+import java.util.List;
+
+// Second-Level Cache Invalidator
+// Hibernate keeps its cache in sync with changes made through entities only. Zones are also written by
+// JDBC batches, by native bulk updates and by the database when a building is deleted, so those paths
+// evict the changed zones and the cached zone queries here.
+// Eviction happens right away and again after the surrounding transaction completes, so a reader that
+// cached the old row before the commit does not keep it.
+@Component
+public class SecondLevelCacheInvalidator {
+    // Above this many zones the whole zone region is cleared instead of one entry at a time
+    private static final int MAX_SINGLE_EVICTIONS = 1_000;
+
+    private final Cache cache;
+
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    public void evictZones(Collection<Long> zoneIds) {
+        if (zoneIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(zoneIds);
+        runNowAndAfterCompletion(() -> {
+            if (ids.size() > MAX_SINGLE_EVICTIONS) {
+                cache.evictEntityData(Zone.class);
+            } else {
+                ids.forEach(id -> cache.evictEntityData(Zone.class, id));
+            }
+            cache.evictQueryRegion(CacheConfig.ZONE_QUERY_REGION);
+        });
+    }
+
+    // Evict only the given zone entries, for writes that change no column the cached zone queries return
+    public void evictZoneEntities(Collection<Long> zoneIds) {
+        if (zoneIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(zoneIds);
+        runNowAndAfterCompletion(() -> ids.forEach(id -> cache.evictEntityData(Zone.class, id)));
+    }
+
+    public void evictAllZones() {
+        runNowAndAfterCompletion(() -> {
+            cache.evictEntityData(Zone.class);
+            cache.evictQueryRegion(CacheConfig.ZONE_QUERY_REGION);
+        });
+    }
+
+    private void runNowAndAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.building.temperaturecontrol.repository;
+
+import com.building.temperaturecontrol.model.SetpointSchedule;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SetpointScheduleRepository extends JpaRepository<SetpointSchedule, Long> {
+    List<SetpointSchedule> findByBuildingIdOrderByIdAsc(Long buildingId);
+
+    // Keyset page over all schedules, ordered by id and starting after the given id
+    List<SetpointSchedule> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+}
@@ -0,0 +1,195 @@
+package com.building.temperaturecontrol.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.building.temperaturecontrol.dto.ZoneHistoryPointDTO;
+import com.building.temperaturecontrol.model.HistoryResolution;
+import com.building.temperaturecontrol.model.ZoneReading;
+import com.building.temperaturecontrol.model.ZoneReadingRollup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+
+// Zone Reading Repository
+// Stores the reading history in the day-partitioned zone_reading table and
+// maintains the 1-minute and 1-hour rollups used for long range queries.
+@Repository
+@Timed(value = "temperaturecontrol.repository", histogram = true)
+public class ZoneReadingRepository {
+    private static final String PARTITION_PREFIX = "zone_reading_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String INSERT_READING =
+            "INSERT INTO zone_reading (zone_id, recorded_at, temperature) VALUES (?, ?, ?)";
+
+    private static final String UPSERT_ROLLUP =
+            "INSERT INTO %1$s (zone_id, bucket, min_temp, max_temp, sum_temp, sample_count) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (zone_id, bucket) DO UPDATE SET " +
+            "min_temp = LEAST(%1$s.min_temp, EXCLUDED.min_temp), " +
+            "max_temp = GREATEST(%1$s.max_temp, EXCLUDED.max_temp), " +
+            "sum_temp = %1$s.sum_temp + EXCLUDED.sum_temp, " +
+            "sample_count = %1$s.sample_count + EXCLUDED.sample_count";
+
+    private static final String SELECT_RAW =
+            "SELECT recorded_at, temperature FROM zone_reading " +
+            "WHERE zone_id = ? AND recorded_at >= ? AND recorded_at < ? ORDER BY recorded_at LIMIT ?";
+
+    private static final String SELECT_ROLLUP =
+            "SELECT bucket, min_temp, max_temp, sum_temp, sample_count FROM %s " +
+            "WHERE zone_id = ? AND bucket >= ? AND bucket < ? ORDER BY bucket LIMIT ?";
+
+    private static final String SELECT_PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'zone_reading' AND c.relname LIKE 'zone_reading_p%'";
+
+    private static final String DELETE_DEFAULT_READINGS =
+            "DELETE FROM zone_reading_default WHERE recorded_at >= ? AND recorded_at < ? " +
+            "RETURNING zone_id, recorded_at, temperature";
+
+    private static final String DELETE_EXPIRED_DEFAULT_READINGS =
+            "DELETE FROM zone_reading_default WHERE recorded_at < ?";
+
+    private static final RowMapper<ZoneReading> READING_MAPPER = (rs, rowNum) -> new ZoneReading(
+        rs.getLong("zone_id"),
+        rs.getObject("recorded_at", OffsetDateTime.class).toInstant(),
+        rs.getBigDecimal("temperature")
+    );
+
+    private static final RowMapper<ZoneHistoryPointDTO> RAW_POINT_MAPPER = (rs, rowNum) -> {
+        BigDecimal temperature = rs.getBigDecimal("temperature");
+        return new ZoneHistoryPointDTO(
+            rs.getObject("recorded_at", OffsetDateTime.class).toInstant(),
+            temperature, temperature, temperature, 1
+        );
+    };
+
+    private static final RowMapper<ZoneHistoryPointDTO> ROLLUP_POINT_MAPPER = (rs, rowNum) -> {
+        long count = rs.getLong("sample_count");
+        return new ZoneHistoryPointDTO(
+            rs.getObject("bucket", OffsetDateTime.class).toInstant(),
+            rs.getBigDecimal("min_temp"),
+            rs.getBigDecimal("max_temp"),
+            rs.getBigDecimal("sum_temp").divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP),
+            count
+        );
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public ZoneReadingRepository(JdbcTemplate jdbcTemplate,
+                                 @Value("${telemetry.jdbc-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // Append raw readings and merge them into both rollups, all or nothing
+    @Transactional
+    public void appendHistory(Collection<ZoneReading> readings, Collection<ZoneReadingRollup> minuteRollups,
+                              Collection<ZoneReadingRollup> hourRollups) {
+        insertReadings(readings);
+        upsertRollups(HistoryResolution.MINUTE, minuteRollups);
+        upsertRollups(HistoryResolution.HOUR, hourRollups);
+    }
+
+    // Append raw readings
+    public void insertReadings(Collection<ZoneReading> readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_READING, readings, batchSize, (ps, reading) -> {
+            ps.setLong(1, reading.zoneId());
+            ps.setObject(2, toTimestamp(reading.recordedAt()));
+            ps.setBigDecimal(3, reading.temperature());
+        });
+    }
+
+    // Merge rollups into the table for the given resolution
+    public void upsertRollups(HistoryResolution resolution, Collection<ZoneReadingRollup> rollups) {
+        if (rollups.isEmpty()) {
+            return;
+        }
+        String sql = String.format(UPSERT_ROLLUP, rollupTable(resolution));
+        jdbcTemplate.batchUpdate(sql, rollups, batchSize, (ps, rollup) -> {
+            ps.setLong(1, rollup.zoneId());
+            ps.setObject(2, toTimestamp(rollup.bucket()));
+            ps.setBigDecimal(3, rollup.min());
+            ps.setBigDecimal(4, rollup.max());
+            ps.setBigDecimal(5, rollup.sum());
+            ps.setLong(6, rollup.count());
+        });
+    }
+
+    // Read history points for a zone in [from, to)
+    public List<ZoneHistoryPointDTO> findHistory(Long zoneId, Instant from, Instant to,
+                                                 HistoryResolution resolution, int maxPoints) {
+        if (resolution == HistoryResolution.RAW) {
+            return jdbcTemplate.query(SELECT_RAW, RAW_POINT_MAPPER,
+                    zoneId, toTimestamp(from), toTimestamp(to), maxPoints);
+        }
+        String sql = String.format(SELECT_ROLLUP, rollupTable(resolution));
+        return jdbcTemplate.query(sql, ROLLUP_POINT_MAPPER,
+                zoneId, toTimestamp(from), toTimestamp(to), maxPoints);
+    }
+
+    // Create the daily partition for the given day if it does not exist yet
+    // Readings of that day that went to zone_reading_default are moved into the new partition, as
+    // PostgreSQL refuses to create a partition whose rows are in the default one. Returns the moved count.
+    @Transactional
+    public int createPartition(LocalDate day) {
+        OffsetDateTime from = day.atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime to = day.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        List<ZoneReading> stranded = jdbcTemplate.query(DELETE_DEFAULT_READINGS, READING_MAPPER, from, to);
+        jdbcTemplate.execute(String.format(
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF zone_reading FOR VALUES FROM ('%s') TO ('%s')",
+            partitionName(day), from, to
+        ));
+        insertReadings(stranded);
+        return stranded.size();
+    }
+
+    // Drop daily partitions for days before the given day, returns the number of dropped partitions
+    // Readings before that day in zone_reading_default are deleted as well.
+    public int dropPartitionsBefore(LocalDate day) {
+        List<String> partitions = jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class);
+        int dropped = 0;
+        for (String partition : partitions) {
+            LocalDate partitionDay = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (partitionDay.isBefore(day)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                dropped++;
+            }
+        }
+        jdbcTemplate.update(DELETE_EXPIRED_DEFAULT_READINGS, day.atStartOfDay().atOffset(ZoneOffset.UTC));
+        return dropped;
+    }
+
+    private static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+
+    private static String rollupTable(HistoryResolution resolution) {
+        return switch (resolution) {
+            case MINUTE -> "zone_reading_1m";
+            case HOUR -> "zone_reading_1h";
+            case RAW -> throw new IllegalArgumentException("RAW resolution has no rollup table");
+        };
+    }
+
+    private static OffsetDateTime toTimestamp(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
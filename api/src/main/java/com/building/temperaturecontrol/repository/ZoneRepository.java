@@ -1,9 +1,85 @@
 package com.building.temperaturecontrol.repository;
 
+import com.building.temperaturecontrol.dto.ZoneDTO;
 import com.building.temperaturecontrol.model.Zone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+// Zone list queries are cached in the zone-queries region of the second-level cache,
+// writes that bypass Hibernate evict it through SecondLevelCacheInvalidator.
+// The cached DTO queries leave out the current temperature, which telemetry changes every few seconds;
+// callers add it from the zone state store or findCurrentTemperatures.
 public interface ZoneRepository extends JpaRepository<Zone, Long> {
-    List<Zone> findByBuildingId(Long buildingId);
-} 
\ No newline at end of file
+
+    // Zone with its building fetched in the same query, for the owner check on the building
+    @EntityGraph(attributePaths = "building")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "zone-queries")
+    })
+    Optional<Zone> findWithBuildingById(Long id);
+
+    // Zones of one building projected straight into DTOs
+    @Query("select new com.building.temperaturecontrol.dto.ZoneDTO(z.id, z.name, z.description, z.building.id, z.targetTemperature) " +
+           "from Zone z where z.building.id = :buildingId order by z.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "zone-queries")
+    })
+    List<ZoneDTO> findDTOsByBuildingId(@Param("buildingId") Long buildingId);
+
+    // Keyset page of the zones of one building projected straight into DTOs
+    @Query("select new com.building.temperaturecontrol.dto.ZoneDTO(z.id, z.name, z.description, z.building.id, z.targetTemperature) " +
+           "from Zone z where z.building.id = :buildingId and z.id > :afterId order by z.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "zone-queries")
+    })
+    List<ZoneDTO> findDTOsByBuildingIdAfter(@Param("buildingId") Long buildingId, @Param("afterId") Long afterId, Limit limit);
+
+    // Zones of several buildings projected straight into DTOs, in one query
+    @Query("select new com.building.temperaturecontrol.dto.ZoneDTO(z.id, z.name, z.description, z.building.id, z.targetTemperature) " +
+           "from Zone z where z.building.id in :buildingIds order by z.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "zone-queries")
+    })
+    List<ZoneDTO> findDTOsByBuildingIdIn(@Param("buildingIds") Collection<Long> buildingIds);
+
+    // Current temperatures of the given zones, not cached
+    @Query("select z.id as zoneId, z.currentTemperature as currentTemperature from Zone z where z.id in :zoneIds")
+    List<ZoneCurrentTemperature> findCurrentTemperatures(@Param("zoneIds") Collection<Long> zoneIds);
+
+    interface ZoneCurrentTemperature {
+        Long getZoneId();
+        BigDecimal getCurrentTemperature();
+    }
+
+    // Ids and building ids of the given zones that belong to the owner
+    @Query("select z.id as zoneId, z.building.id as buildingId from Zone z where z.id in :zoneIds and z.building.owner.id = :ownerId")
+    List<ZoneBuildingId> findBuildingIdsOwnedBy(@Param("zoneIds") Collection<Long> zoneIds, @Param("ownerId") Long ownerId);
+
+    interface ZoneBuildingId {
+        Long getZoneId();
+        Long getBuildingId();
+    }
+
+    // Set the target temperature of every zone in a building with one statement and return the updated rows
+    @Transactional
+    @Query(value = "UPDATE zone SET target_temp = :targetTemperature, " +
+                   "updated_at = CURRENT_TIMESTAMP WHERE building_id = :buildingId RETURNING *",
+           nativeQuery = true)
+    List<Zone> updateTargetTemperatureByBuildingId(@Param("buildingId") Long buildingId,
+                                                   @Param("targetTemperature") BigDecimal targetTemperature);
+}
@@ -0,0 +1,68 @@
+package com.building.temperaturecontrol.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.List;
+
+// Zone State Repository
+// Streams all buildings and zones row by row to warm the in-memory zone state store,
+// and reads again the zones that were updated while it was loading.
+@Repository
+@Timed(value = "temperaturecontrol.repository", histogram = true)
+public class ZoneStateRepository {
+    private static final int FETCH_SIZE = 10_000;
+    private static final int IN_LIST_SIZE = 1_000;
+    private static final String ZONE_COLUMNS = "SELECT id, building_id, name, description, target_temp, current_temp FROM zone";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ZoneStateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Rows of (id, owner_id)
+    public void forEachBuilding(RowCallbackHandler handler) {
+        stream("SELECT id, owner_id FROM building", handler);
+    }
+
+    // Rows of (id, building_id, name, description, target_temp, current_temp) ordered by id
+    public void forEachZone(RowCallbackHandler handler) {
+        stream(ZONE_COLUMNS + " ORDER BY id", handler);
+    }
+
+    // Rows of (id, building_id, name, description, target_temp, current_temp) of the given zones
+    public void forEachZoneIn(List<Long> zoneIds, RowCallbackHandler handler) {
+        for (int from = 0; from < zoneIds.size(); from += IN_LIST_SIZE) {
+            List<Long> chunk = zoneIds.subList(from, Math.min(from + IN_LIST_SIZE, zoneIds.size()));
+            jdbcTemplate.query(ZONE_COLUMNS + " WHERE id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")",
+                    handler, chunk.toArray());
+        }
+    }
+
+    // PostgreSQL only streams with a fetch size inside a transaction, otherwise the whole result is buffered
+    private void stream(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setFetchSize(FETCH_SIZE);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        handler.processRow(resultSet);
+                    }
+                }
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package com.building.temperaturecontrol.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import com.building.temperaturecontrol.model.TargetTemperatureUpdate;
+import com.building.temperaturecontrol.model.ZoneReading;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+
+// Zone Telemetry Repository
+// Writes buffered zone readings and write-behind target temperatures with JDBC batches
+// instead of one entity save per change. The written zones are evicted from the second-level cache.
+// Current temperatures evict only the zone entries: the cached zone queries do not return them.
+@Repository
+@Timed(value = "temperaturecontrol.repository", histogram = true)
+public class ZoneTelemetryRepository {
+    private static final String UPDATE_CURRENT_TEMPERATURE =
+            "UPDATE zone SET current_temp = ?, updated_at = ? WHERE id = ?";
+    private static final String UPDATE_TARGET_TEMPERATURE =
+            "UPDATE zone SET target_temp = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SecondLevelCacheInvalidator cacheInvalidator;
+    private final int batchSize;
+
+    public ZoneTelemetryRepository(JdbcTemplate jdbcTemplate,
+                                   SecondLevelCacheInvalidator cacheInvalidator,
+                                   @Value("${telemetry.jdbc-batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheInvalidator = cacheInvalidator;
+        this.batchSize = batchSize;
+    }
+
+    // Update current temperature for every zone in the collection
+    public void updateCurrentTemperatures(Collection<ZoneReading> readings) {
+        if (readings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_CURRENT_TEMPERATURE, readings, batchSize, (ps, reading) -> {
+            ps.setBigDecimal(1, reading.temperature());
+            ps.setTimestamp(2, Timestamp.from(reading.recordedAt()));
+            ps.setLong(3, reading.zoneId());
+        });
+        cacheInvalidator.evictZoneEntities(readings.stream().map(ZoneReading::zoneId).toList());
+    }
+
+    // Update target temperature for every zone in the collection
+    public void updateTargetTemperatures(Collection<TargetTemperatureUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_TARGET_TEMPERATURE, updates, batchSize, (ps, update) -> {
+            ps.setBigDecimal(1, update.targetTemperature());
+            ps.setTimestamp(2, Timestamp.from(update.requestedAt()));
+            ps.setLong(3, update.zoneId());
+        });
+        cacheInvalidator.evictZones(updates.stream().map(TargetTemperatureUpdate::zoneId).toList());
+    }
+}
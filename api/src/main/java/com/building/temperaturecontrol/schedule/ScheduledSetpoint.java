@@ -0,0 +1,74 @@
+package com.building.temperaturecontrol.schedule;
+
+import com.building.temperaturecontrol.model.SetpointChange;
+import com.building.temperaturecontrol.model.SetpointSchedule;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+// Immutable copy of a setpoint schedule held by the scheduler
+public record ScheduledSetpoint(Long scheduleId, Long buildingId, Long zoneId, int daysOfWeek,
+                                LocalTime timeOfDay, ZoneId timeZone, BigDecimal targetTemperature) {
+
+    public static ScheduledSetpoint from(SetpointSchedule schedule) {
+        return new ScheduledSetpoint(
+            schedule.getId(),
+            schedule.getBuilding().getId(),
+            schedule.getZone() != null ? schedule.getZone().getId() : null,
+            schedule.getDaysOfWeek(),
+            schedule.getTimeOfDay(),
+            ZoneId.of(schedule.getTimeZone()),
+            schedule.getTargetTemperature()
+        );
+    }
+
+    // First time the schedule fires after the given instant, or null when it has no days
+    // Local times skipped by a daylight saving change fire at the first valid time after the gap.
+    public Instant nextFireAfter(Instant after) {
+        LocalDate today = after.atZone(timeZone).toLocalDate();
+        for (int days = 0; days <= 7; days++) {
+            LocalDate date = today.plusDays(days);
+            if ((daysOfWeek & bitOf(date.getDayOfWeek())) != 0) {
+                Instant candidate = ZonedDateTime.of(date, timeOfDay, timeZone).toInstant();
+                if (candidate.isAfter(after)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    public SetpointChange toChange() {
+        return new SetpointChange(buildingId, zoneId, targetTemperature);
+    }
+
+    public static int toMask(Collection<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= bitOf(day);
+        }
+        return mask;
+    }
+
+    public static Set<DayOfWeek> fromMask(int mask) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & bitOf(day)) != 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    private static int bitOf(DayOfWeek day) {
+        return 1 << (day.getValue() - 1);
+    }
+}
@@ -0,0 +1,18 @@
+package com.building.temperaturecontrol.schedule;
+
+// Published when deleting a zone or building removes its setpoint schedules through the database cascade
+// The zone id is null when the whole building was deleted.
+public record SchedulesDeletedEvent(Long buildingId, Long zoneId) {
+
+    public static SchedulesDeletedEvent forBuilding(Long buildingId) {
+        return new SchedulesDeletedEvent(buildingId, null);
+    }
+
+    public static SchedulesDeletedEvent forZone(Long buildingId, Long zoneId) {
+        return new SchedulesDeletedEvent(buildingId, zoneId);
+    }
+
+    boolean covers(ScheduledSetpoint schedule) {
+        return schedule.buildingId().equals(buildingId) && (zoneId == null || zoneId.equals(schedule.zoneId()));
+    }
+}
@@ -0,0 +1,190 @@
+package com.building.temperaturecontrol.schedule;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.building.temperaturecontrol.model.SetpointChange;
+import com.building.temperaturecontrol.model.SetpointSchedule;
+import com.building.temperaturecontrol.repository.SetpointScheduleRepository;
+import com.building.temperaturecontrol.service.ZoneService;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Setpoint Scheduler
+// Keeps the next firing of every setpoint schedule in a hierarchical timing wheel, so hundreds of
+// thousands of schedules need no thread or timer of their own. A scheduled tick advances the wheel,
+// places the next firing of each due schedule and applies the due setpoints through ZoneService in batches.
+// Schedules are loaded once the application is ready. Firings missed while the node was down are not replayed.
+// Schedules removed by the cascade of a zone or building delete are dropped once that delete has committed.
+@Component
+public class SetpointScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(SetpointScheduler.class);
+
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final SetpointScheduleRepository setpointScheduleRepository;
+    private final ZoneService zoneService;
+    private final Clock clock;
+    private final int batchSize;
+    private final TimingWheel<ScheduledSetpoint> wheel;
+    private final Map<Long, TimingWheel.Entry<ScheduledSetpoint>> entriesByScheduleId = new HashMap<>();
+    private final Counter fired;
+
+    // Deletions seen while loading, so the load does not bring them back
+    private final Set<Long> removedDuringLoad = new HashSet<>();
+    private final List<SchedulesDeletedEvent> cascadesDuringLoad = new ArrayList<>();
+    private boolean loaded;
+
+    @Autowired
+    public SetpointScheduler(SetpointScheduleRepository setpointScheduleRepository,
+                             ZoneService zoneService,
+                             MeterRegistry meterRegistry,
+                             @Value("${schedules.tick-ms:1000}") long tickMs,
+                             @Value("${schedules.batch-size:1000}") int batchSize) {
+        this(setpointScheduleRepository, zoneService, meterRegistry, Clock.systemUTC(), tickMs, batchSize);
+    }
+
+    SetpointScheduler(SetpointScheduleRepository setpointScheduleRepository, ZoneService zoneService,
+                      MeterRegistry meterRegistry, Clock clock, long tickMs, int batchSize) {
+        this.setpointScheduleRepository = setpointScheduleRepository;
+        this.zoneService = zoneService;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tickMs, clock.millis());
+        this.fired = Counter.builder("temperaturecontrol.schedules.fired")
+                .description("Setpoint schedule firings")
+                .register(meterRegistry);
+        Gauge.builder("temperaturecontrol.schedules.active", this, SetpointScheduler::size)
+                .description("Setpoint schedules waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    // Load all schedules in keyset pages
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long afterId = 0L;
+        int count = 0;
+        List<SetpointSchedule> page;
+        do {
+            page = setpointScheduleRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(LOAD_PAGE_SIZE));
+            synchronized (this) {
+                for (SetpointSchedule schedule : page) {
+                    if (removedDuringLoad.contains(schedule.getId())
+                            || entriesByScheduleId.containsKey(schedule.getId())) {
+                        continue;
+                    }
+                    ScheduledSetpoint scheduled = ScheduledSetpoint.from(schedule);
+                    if (cascadesDuringLoad.stream().noneMatch(event -> event.covers(scheduled))) {
+                        add(scheduled);
+                    }
+                }
+            }
+            count += page.size();
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        synchronized (this) {
+            loaded = true;
+            removedDuringLoad.clear();
+            cascadesDuringLoad.clear();
+        }
+        logger.info("Loaded {} setpoint schedules", count);
+    }
+
+    // Add or replace a schedule
+    public synchronized void register(ScheduledSetpoint schedule) {
+        remove(schedule.scheduleId());
+        add(schedule);
+    }
+
+    public synchronized void unregister(Long scheduleId) {
+        remove(scheduleId);
+        if (!loaded) {
+            removedDuringLoad.add(scheduleId);
+        }
+    }
+
+    // Drop the schedules of a deleted zone or building once the delete has committed
+    // Without a transaction the event is handled at once.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onSchedulesDeleted(SchedulesDeletedEvent event) {
+        List<Long> scheduleIds = entriesByScheduleId.values().stream()
+                .map(TimingWheel.Entry::payload)
+                .filter(event::covers)
+                .map(ScheduledSetpoint::scheduleId)
+                .toList();
+        scheduleIds.forEach(this::remove);
+        if (!loaded) {
+            cascadesDuringLoad.add(event);
+        }
+        logger.debug("Unregistered {} setpoint schedules of deleted {}", scheduleIds.size(), event);
+    }
+
+    public synchronized int size() {
+        return wheel.size();
+    }
+
+    // Fire the schedules that are due and apply their setpoints
+    @Scheduled(fixedRateString = "${schedules.tick-ms:1000}")
+    public void tick() {
+        List<SetpointChange> changes = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(clock.millis(), entry -> {
+                ScheduledSetpoint schedule = entry.payload();
+                changes.add(schedule.toChange());
+                entriesByScheduleId.remove(schedule.scheduleId());
+                schedule(schedule, Instant.ofEpochMilli(entry.deadlineMillis()));
+            });
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        fired.increment(changes.size());
+        for (int from = 0; from < changes.size(); from += batchSize) {
+            List<SetpointChange> batch = changes.subList(from, Math.min(from + batchSize, changes.size()));
+            try {
+                int zones = zoneService.applySetpointChanges(batch);
+                logger.debug("Applied {} scheduled setpoints to {} zones", batch.size(), zones);
+            } catch (RuntimeException e) {
+                logger.error("Could not apply {} scheduled setpoints", batch.size(), e);
+            }
+        }
+    }
+
+    private void add(ScheduledSetpoint schedule) {
+        schedule(schedule, clock.instant());
+    }
+
+    private void schedule(ScheduledSetpoint schedule, Instant after) {
+        Instant next = schedule.nextFireAfter(after);
+        if (next != null) {
+            entriesByScheduleId.put(schedule.scheduleId(), wheel.schedule(schedule, next.toEpochMilli()));
+        }
+    }
+
+    private void remove(Long scheduleId) {
+        TimingWheel.Entry<ScheduledSetpoint> entry = entriesByScheduleId.remove(scheduleId);
+        if (entry != null) {
+            wheel.cancel(entry);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.building.temperaturecontrol.schedule;
+
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel
+// Four levels of 64 slots: level 0 slots are one tick wide and every level up is 64 times wider,
+// so the wheel spans 64^4 ticks, about 194 days at one second per tick. Entries further out wait
+// in the top level and are placed again when it turns.
+// Each slot is a doubly linked list, so scheduling and cancelling are O(1). When a level turns over,
+// the entries of the next slot of the level above are moved down; an entry moves at most once per level.
+// Not thread safe.
+final class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY_TICKS = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    private final long tickMillis;
+    private final long originMillis;
+    private final Entry<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.originMillis = startMillis;
+        this.slots = new Entry[LEVELS][SLOTS];
+    }
+
+    // Schedule a payload, deadlines that already passed fire on the next tick
+    Entry<T> schedule(T payload, long deadlineMillis) {
+        long deadlineTick = Math.max(-Math.floorDiv(originMillis - deadlineMillis, tickMillis), currentTick + 1);
+        Entry<T> entry = new Entry<>(payload, deadlineTick, originMillis + deadlineTick * tickMillis);
+        place(entry);
+        size++;
+        return entry;
+    }
+
+    void cancel(Entry<T> entry) {
+        if (entry.level >= 0) {
+            unlink(entry);
+            size--;
+        }
+    }
+
+    // Advance to the given time and hand every entry that is due to the consumer
+    void advance(long nowMillis, Consumer<Entry<T>> due) {
+        long targetTick = Math.floorDiv(nowMillis - originMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Entry<T> entry = detach(0, (int) (currentTick & SLOT_MASK));
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                entry.next = null;
+                if (entry.deadlineTick > currentTick) {
+                    place(entry);
+                } else {
+                    size--;
+                    due.accept(entry);
+                }
+                entry = next;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Move the entries of the next slot of each level that turned over one level down
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            Entry<T> entry = detach(level, (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK));
+            while (entry != null) {
+                Entry<T> next = entry.next;
+                entry.next = null;
+                place(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delay = entry.deadlineTick - currentTick;
+        long tick = entry.deadlineTick;
+        int level = 0;
+        if (delay > MAX_DELAY_TICKS) {
+            tick = currentTick + MAX_DELAY_TICKS;
+            level = LEVELS - 1;
+        } else {
+            while (level < LEVELS - 1 && delay >= (1L << (SLOT_BITS * (level + 1)))) {
+                level++;
+            }
+        }
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        Entry<T> head = slots[level][slot];
+        entry.level = level;
+        entry.slot = slot;
+        entry.previous = null;
+        entry.next = head;
+        if (head != null) {
+            head.previous = entry;
+        }
+        slots[level][slot] = entry;
+    }
+
+    private void unlink(Entry<T> entry) {
+        if (entry.previous != null) {
+            entry.previous.next = entry.next;
+        } else {
+            slots[entry.level][entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+        entry.level = -1;
+    }
+
+    // Take the whole list of a slot, entries stay chained through next
+    private Entry<T> detach(int level, int slot) {
+        Entry<T> head = slots[level][slot];
+        slots[level][slot] = null;
+        for (Entry<T> entry = head; entry != null; entry = entry.next) {
+            entry.previous = null;
+            entry.level = -1;
+        }
+        return head;
+    }
+
+    static final class Entry<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private final long deadlineMillis;
+        private Entry<T> previous;
+        private Entry<T> next;
+        private int level = -1;
+        private int slot;
+
+        private Entry(T payload, long deadlineTick, long deadlineMillis) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        T payload() {
+            return payload;
+        }
+
+        long deadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+}
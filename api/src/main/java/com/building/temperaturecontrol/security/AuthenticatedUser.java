@@ -0,0 +1,27 @@
+package com.building.temperaturecontrol.security;
+
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Principal;
+
+// Authenticated User
+// Principal put into the security context by JwtAuthenticationFilter.
+// It carries the user id from the token so services can authorize by owner id without loading the user.
+public record AuthenticatedUser(Long id, String username) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    // Get the user of the current request
+    public static AuthenticatedUser current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        throw new AccessDeniedException("No authenticated user");
+    }
+}
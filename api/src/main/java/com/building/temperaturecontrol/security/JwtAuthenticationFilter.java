@@ -1,5 +1,6 @@
 package com.building.temperaturecontrol.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.UUID;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -20,6 +22,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private RevokedTokens revokedTokens;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -27,15 +35,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            String username = jwtService.extractUsername(token);
+            VerifiedTokenCache.VerifiedToken verified = verifiedTokenCache.getOrVerify(token, this::verify);
             
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Revocation is checked on every request, a cached verification may predate it
+            if (verified.userId() != null && verified.username() != null
+                    && !revokedTokens.isRevoked(verified.tokenId())
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                AuthenticatedUser user = new AuthenticatedUser(verified.userId(), verified.username());
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    username, null, Collections.emptyList());
+                    user, null, Collections.emptyList());
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
         
         filterChain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+
+    // Verify the token signature and expiration
+    private VerifiedTokenCache.VerifiedToken verify(String token) {
+        Claims claims = jwtService.parseClaims(token);
+        return new VerifiedTokenCache.VerifiedToken(
+            claims.get("userId", Long.class), claims.getSubject(),
+            claims.getId() != null ? UUID.fromString(claims.getId()) : null, claims.getExpiration().getTime());
+    }
+}
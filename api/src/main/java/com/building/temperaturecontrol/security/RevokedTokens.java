@@ -0,0 +1,126 @@
+package com.building.temperaturecontrol.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.building.temperaturecontrol.repository.RevokedTokenRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Revoked Tokens
+// Node-local copy of the revoked_token table, checked on every authenticated request. A Bloom filter answers
+// for the tokens that were never revoked, nearly all of them, with a few memory reads; only its positives
+// are looked up in the exact set. Revocations made on other nodes are read incrementally every refresh
+// interval, so they take effect there within that interval.
+@Component
+public class RevokedTokens {
+    private static final Logger logger = LoggerFactory.getLogger(RevokedTokens.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    private final long refreshOverlapMillis;
+
+    // Token id to the expiry of the token in epoch milliseconds
+    private final Map<UUID, Long> revoked = new ConcurrentHashMap<>();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile TokenBloomFilter filter;
+    // Latest revocation read from the table, by the database clock; only used by the scheduled refresh
+    private Instant lastRevokedAt = Instant.EPOCH;
+
+    public RevokedTokens(RevokedTokenRepository revokedTokenRepository,
+                         @Value("${security.revocation.expected-tokens:100000}") int expectedTokens,
+                         @Value("${security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                         @Value("${security.revocation.refresh-overlap-ms:10000}") long refreshOverlapMillis) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshOverlapMillis = refreshOverlapMillis;
+        this.filter = new TokenBloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    public boolean isRevoked(UUID tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    // Revoke a token until it expires, on this node at once and on the others at their next refresh
+    public void revoke(UUID tokenId, Long userId, Instant expiresAt) {
+        revokedTokenRepository.insert(tokenId, userId, expiresAt);
+        add(tokenId, expiresAt.toEpochMilli());
+    }
+
+    // Read the tokens revoked since the last refresh
+    // revoked_at is the start of the revoking transaction, so a row can commit after rows with a later
+    // revoked_at have been read; every refresh reads back the overlap to catch those.
+    @Scheduled(initialDelay = 0, fixedDelayString = "${security.revocation.refresh-interval-ms:5000}")
+    public void refresh() {
+        Instant since = lastRevokedAt.minusMillis(refreshOverlapMillis);
+        List<RevokedTokenRepository.RevokedToken> tokens;
+        try {
+            tokens = revokedTokenRepository.findRevokedSince(since);
+        } catch (DataAccessException e) {
+            logger.warn("Could not refresh the revoked tokens, using the ones known so far: {}", e.getMessage());
+            return;
+        }
+        for (RevokedTokenRepository.RevokedToken token : tokens) {
+            add(token.tokenId(), token.expiresAt().toEpochMilli());
+            if (token.revokedAt().isAfter(lastRevokedAt)) {
+                lastRevokedAt = token.revokedAt();
+            }
+        }
+    }
+
+    // Forget expired tokens, which fail verification anyway, and rebuild the filter without them
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        try {
+            revokedTokenRepository.deleteExpired(Instant.ofEpochMilli(now));
+        } catch (DataAccessException e) {
+            logger.warn("Could not delete expired revoked tokens: {}", e.getMessage());
+        }
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        rebuild(Math.max(expectedTokens, revoked.size() * 2));
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    public long getFalsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    // The id goes into the exact set before the filter, so a filter hit always finds it there
+    private synchronized void add(UUID tokenId, long expiresAtMillis) {
+        if (revoked.put(tokenId, expiresAtMillis) != null) {
+            return;
+        }
+        if (revoked.size() > filter.capacity()) {
+            rebuild(filter.capacity() * 2);
+        } else {
+            filter.add(tokenId);
+        }
+    }
+
+    private synchronized void rebuild(int capacity) {
+        TokenBloomFilter rebuilt = new TokenBloomFilter(capacity, falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+    }
+}
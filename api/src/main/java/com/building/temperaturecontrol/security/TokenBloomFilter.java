@@ -0,0 +1,69 @@
+package com.building.temperaturecontrol.security;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter of token ids
+// Each id sets hashCount bits, derived from two 64-bit hashes of its halves (h1 + i * h2). Bits are only
+// ever set, so lookups need no lock; an id that was added is always found, an id that wasn't is found
+// with about the false positive rate the filter was sized for, as long as it holds at most its capacity.
+final class TokenBloomFilter {
+    private static final double LN_2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long mask;
+    private final int hashCount;
+    private final int capacity;
+
+    TokenBloomFilter(int capacity, double falsePositiveRate) {
+        long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN_2 * LN_2));
+        // A power of two, so a bit index is a mask instead of a division
+        bits = Math.max(64, Long.highestOneBit(Math.max(1, bits - 1)) << 1);
+        if (bits > (long) Integer.MAX_VALUE * Long.SIZE) {
+            throw new IllegalArgumentException("Bloom filter too large for " + capacity + " ids");
+        }
+        this.words = new AtomicLongArray((int) (bits / Long.SIZE));
+        this.mask = bits - 1;
+        this.hashCount = Math.max(1, (int) Math.round((double) bits / Math.max(1, capacity) * LN_2));
+        this.capacity = capacity;
+    }
+
+    void add(UUID id) {
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * h2) & mask;
+            int word = (int) (bit >>> 6);
+            long flag = 1L << bit;
+            if ((words.get(word) & flag) == 0) {
+                words.getAndAccumulate(word, flag, (current, set) -> current | set);
+            }
+        }
+    }
+
+    boolean mightContain(UUID id) {
+        long h1 = mix(id.getMostSignificantBits());
+        long h2 = mix(id.getLeastSignificantBits()) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * h2) & mask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    // Finalizer of MurmurHash3, spreads the fixed version and variant bits of a UUID
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,113 @@
+package com.building.temperaturecontrol.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Verified Token Cache
+// Remembers tokens whose signature has already been verified so repeated requests with the
+// same token skip parsing and HMAC verification. Entries are keyed by a SHA-256 digest of the
+// token, never by the token itself, and expire at the token's own expiry.
+// The cache is a size-bounded Caffeine cache: when it is full, new tokens are still cached and
+// the least valuable entries are evicted in constant time.
+@Component
+public class VerifiedTokenCache {
+
+    public record VerifiedToken(Long userId, String username, UUID tokenId, long expiresAtMillis) {
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Cache<String, VerifiedToken> tokens;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${security.token-cache.max-size:100000}") int maxSize) {
+        this(maxSize, ForkJoinPool.commonPool());
+    }
+
+    VerifiedTokenCache(int maxSize, Executor maintenanceExecutor) {
+        this.tokens = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new TokenExpiry())
+            .executor(maintenanceExecutor)
+            .build();
+    }
+
+    // Return the cached verification result or verify the token and cache the result
+    public VerifiedToken getOrVerify(String token, Function<String, VerifiedToken> verifier) {
+        String key = digest(token);
+
+        VerifiedToken cached = tokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        VerifiedToken verified = verifier.apply(token);
+        tokens.put(key, verified);
+        return verified;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long size() {
+        tokens.cleanUp();
+        return tokens.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    // Each entry lives until its token expires; a later put of the same token keeps that expiry
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            long remainingMillis = Math.max(0, token.expiresAtMillis() - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,19 +1,37 @@
 package com.building.temperaturecontrol.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.building.temperaturecontrol.model.Building;
 import com.building.temperaturecontrol.model.User;
 import com.building.temperaturecontrol.repository.BuildingRepository;
+import com.building.temperaturecontrol.repository.BuildingStreamRepository;
+import com.building.temperaturecontrol.repository.SecondLevelCacheInvalidator;
 import com.building.temperaturecontrol.repository.UserRepository;
+import com.building.temperaturecontrol.exception.ResourceNotFoundException;
 import com.building.temperaturecontrol.dto.BuildingDTO;
+import com.building.temperaturecontrol.dto.CursorPageDTO;
 import com.building.temperaturecontrol.dto.ZoneDTO;
 import com.building.temperaturecontrol.repository.ZoneRepository;
+import com.building.temperaturecontrol.schedule.SchedulesDeletedEvent;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+import com.building.temperaturecontrol.state.ZoneStateStore;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 // Building Service
@@ -21,24 +39,43 @@ import java.util.stream.Collectors;
 // It provides methods to create, update, delete, and retrieve buildings.
 // It also verifies that the user has access to the building.
 @Service
+@Timed(value = "temperaturecontrol.service", histogram = true)
 public class BuildingService {
     private static final Logger logger = LoggerFactory.getLogger(BuildingService.class);
 
     private final BuildingRepository buildingRepository;
     private final UserRepository userRepository;
     private final ZoneRepository zoneRepository;
+    private final ZoneStateStore zoneStateStore;
+    private final BuildingStreamRepository buildingStreamRepository;
+    private final ObjectMapper objectMapper;
+    private final SecondLevelCacheInvalidator cacheInvalidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZoneCurrentTemperatureReader currentTemperatureReader;
 
-    public BuildingService(BuildingRepository buildingRepository, UserRepository userRepository, ZoneRepository zoneRepository) {
+    public BuildingService(BuildingRepository buildingRepository, UserRepository userRepository,
+                           ZoneRepository zoneRepository, ZoneStateStore zoneStateStore,
+                           BuildingStreamRepository buildingStreamRepository, ObjectMapper objectMapper,
+                           SecondLevelCacheInvalidator cacheInvalidator,
+                           ApplicationEventPublisher eventPublisher,
+                           ZoneCurrentTemperatureReader currentTemperatureReader) {
         this.buildingRepository = buildingRepository;
         this.userRepository = userRepository;
         this.zoneRepository = zoneRepository;
+        this.zoneStateStore = zoneStateStore;
+        this.buildingStreamRepository = buildingStreamRepository;
+        this.objectMapper = objectMapper;
+        this.cacheInvalidator = cacheInvalidator;
+        this.eventPublisher = eventPublisher;
+        this.currentTemperatureReader = currentTemperatureReader;
     }
 
     // Create building
+    @Transactional
     public BuildingDTO createBuilding(BuildingDTO buildingDTO) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User owner = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = AuthenticatedUser.current();
+        // Reference to the owner row from the token's user id, the user is not loaded
+        User owner = userRepository.getReferenceById(user.id());
 
         Building building = new Building(
             buildingDTO.getName(),
@@ -48,8 +85,10 @@ public class BuildingService {
             owner
         );
         building = buildingRepository.save(building);
+        Long buildingId = building.getId();
+        TransactionCallbacks.afterCommit(() -> zoneStateStore.putBuilding(buildingId, user.id()));
         
-        logger.info("Created new building: {} for owner: {}", building.getName(), owner.getUsername());
+        logger.info("Created new building: {} for owner: {}", building.getName(), user.username());
         
         // Return the BuildingDTO without zones
         return new BuildingDTO(
@@ -63,61 +102,149 @@ public class BuildingService {
         );
     }
 
-    // Get Current User Buildings
-    public List<BuildingDTO> getCurrentUserBuildings() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User owner = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-                
-        List<Building> buildings = buildingRepository.findByOwnerId(owner.getId());
-        return buildings.stream()
-                .map(this::convertToDTO)
+    // Get a page of the current user's buildings, ordered by id and starting after the given id
+    // A null limit returns all of them.
+    @Transactional(readOnly = true)
+    public CursorPageDTO<BuildingDTO> getCurrentUserBuildings(Long after, Integer limit) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        CursorPageDTO.checkLimit(limit);
+        // One row more than the page size tells whether a next page exists
+        List<Building> rows = buildingRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(
+                user.id(), after != null ? after : 0L, limit != null ? Limit.of(limit + 1) : Limit.unlimited());
+        CursorPageDTO<Building> page = CursorPageDTO.of(rows, limit, Building::getId);
+        List<Building> buildings = page.getItems();
+        if (buildings.isEmpty()) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+
+        // Load the zones of all buildings in one query instead of one query per building
+        List<Long> buildingIds = buildings.stream().map(Building::getId).collect(Collectors.toList());
+        Map<Long, List<ZoneDTO>> zonesByBuilding = currentTemperatureReader.fill(zoneRepository.findDTOsByBuildingIdIn(buildingIds)).stream()
+                .collect(Collectors.groupingBy(ZoneDTO::getBuildingId));
+
+        List<BuildingDTO> items = buildings.stream()
+                .map(building -> convertToDTO(building, zonesByBuilding.getOrDefault(building.getId(), List.of())))
                 .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, page.getNextCursor());
+    }
+
+    // Write all of the current user's buildings after the given id as a JSON array, in the same shape as the paged list
+    // Rows are read from a database cursor and written as they arrive, so memory use does not grow with the number
+    // of buildings. The first building is flushed as soon as it is complete; after that the output is flushed whenever
+    // the buffers fill, and at the end when the generator is closed.
+    // Not transactional: the cursor runs in its own transaction, which holds a connection until the last row is read.
+    public void writeCurrentUserBuildings(Long after, OutputStream outputStream) throws IOException {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            // A failed stream must end in invalid JSON, not in an array that looks complete
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+            generator.writeStartArray();
+            long[] currentBuildingId = {-1L};
+            boolean[] firstBuildingFlushed = {false};
+            try {
+                buildingStreamRepository.forEachBuildingZone(user.id(), after != null ? after : 0L, resultSet -> {
+                    try {
+                        long buildingId = resultSet.getLong("building_id");
+                        if (buildingId != currentBuildingId[0]) {
+                            if (currentBuildingId[0] != -1L) {
+                                generator.writeEndArray();
+                                generator.writeEndObject();
+                                if (!firstBuildingFlushed[0]) {
+                                    generator.flush();
+                                    firstBuildingFlushed[0] = true;
+                                }
+                            }
+                            currentBuildingId[0] = buildingId;
+                            writeBuildingStart(generator, resultSet);
+                        }
+                        long zoneId = resultSet.getLong("zone_id");
+                        if (!resultSet.wasNull()) {
+                            writeZone(generator, resultSet, zoneId, buildingId);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (currentBuildingId[0] != -1L) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    // Opens the building object and its zones array
+    private void writeBuildingStart(JsonGenerator generator, ResultSet resultSet) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", resultSet.getLong("building_id"));
+        generator.writeStringField("name", resultSet.getString("building_name"));
+        generator.writeNumberField("ownerId", resultSet.getLong("owner_id"));
+        generator.writeStringField("city", resultSet.getString("city"));
+        generator.writeStringField("street", resultSet.getString("street"));
+        generator.writeStringField("postalCode", resultSet.getString("postal_code"));
+        generator.writeArrayFieldStart("zones");
+    }
+
+    private void writeZone(JsonGenerator generator, ResultSet resultSet, long zoneId, long buildingId) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", zoneId);
+        generator.writeStringField("name", resultSet.getString("zone_name"));
+        generator.writeStringField("description", resultSet.getString("description"));
+        generator.writeNumberField("buildingId", buildingId);
+        generator.writeNumberField("targetTemperature", resultSet.getBigDecimal("target_temp"));
+        generator.writeNumberField("currentTemperature", resultSet.getBigDecimal("current_temp"));
+        generator.writeEndObject();
     }
 
     // Get Building
+    @Transactional(readOnly = true)
     public BuildingDTO getBuilding(Long buildingId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        AuthenticatedUser user = AuthenticatedUser.current();
         Building building = buildingRepository.findById(buildingId)
-                .orElseThrow(() -> new RuntimeException("Building not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Building not found"));
 
-        verifyUserHasAccessToBuilding(building, username);
+        verifyUserHasAccessToBuilding(building, user);
 
         return convertToDTO(building);
     }
 
     // Delete Building
+    @Transactional
     public void deleteBuilding(Long buildingId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        AuthenticatedUser user = AuthenticatedUser.current();
         Building building = buildingRepository.findById(buildingId)
-                .orElseThrow(() -> new RuntimeException("Building not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Building not found"));
 
-        verifyUserHasAccessToBuilding(building, username);
+        verifyUserHasAccessToBuilding(building, user);
 
         buildingRepository.delete(building);
+        // The zones are deleted by the database cascade, which the second-level cache does not see
+        cacheInvalidator.evictAllZones();
+        TransactionCallbacks.afterCommit(() -> zoneStateStore.removeBuilding(buildingId));
+        // The scheduler drops the setpoint schedules removed by the same cascade after commit
+        eventPublisher.publishEvent(SchedulesDeletedEvent.forBuilding(buildingId));
         logger.info("Deleted building: {} and its associated zones", building.getName());
     }
 
     // Verify user has access to building
-    private void verifyUserHasAccessToBuilding(Building building, String username) {
-        if (!building.getOwner().getUsername().equals(username)) {
+    // Only the owner id is compared, so the owner entity is never loaded
+    private void verifyUserHasAccessToBuilding(Building building, AuthenticatedUser user) {
+        if (!building.getOwner().getId().equals(user.id())) {
             throw new AccessDeniedException("You don't have permission to access this building");
         }
     }
 
     // Convert Building to BuildingDTO
     private BuildingDTO convertToDTO(Building building) {
-        List<ZoneDTO> zones = zoneRepository.findByBuildingId(building.getId()).stream()
-                .map(zone -> new ZoneDTO(
-                        zone.getId(),
-                        zone.getName(),
-                        zone.getDescription(),
-                        zone.getBuilding().getId(),
-                        zone.getTargetTemperature(),
-                        zone.getCurrentTemperature()
-                ))
-                .collect(Collectors.toList());
+        return convertToDTO(building, currentTemperatureReader.fill(zoneRepository.findDTOsByBuildingId(building.getId())));
+    }
 
+    // Convert Building to BuildingDTO with already loaded zones
+    // Package-private so the JMH benchmarks can measure it
+    BuildingDTO convertToDTO(Building building, List<ZoneDTO> zones) {
         return new BuildingDTO(
             building.getId(),
             building.getName(),
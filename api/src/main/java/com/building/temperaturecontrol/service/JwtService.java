@@ -1,5 +1,7 @@
 package com.building.temperaturecontrol.service;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -17,20 +19,26 @@ import java.util.UUID;
 public class JwtService {
     private static final Key SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
     private static final long EXPIRATION_TIME = 864_000_000; // 10 days
+    // Parsers are immutable and thread-safe, so one instance is shared by all requests
+    private static final JwtParser PARSER = Jwts.parserBuilder()
+            .setSigningKey(SECRET_KEY)
+            .build();
 
-    public String generateToken(String username) {
+    public String generateToken(Long userId, String username) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("nonce", UUID.randomUUID().toString());  // Add a random nonce
+        claims.put("userId", userId);
         return createToken(claims, username);
     }
 
     // Create JWT token
     // This method creates a JWT token with the given claims and subject.
-    // It sets the expiration time to 10 days from the current time.
+    // It sets a random token id (jti), by which the token can be revoked,
+    // and the expiration time to 10 days from the current time.
     // It signs the token with the secret key.
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
@@ -38,24 +46,20 @@ public class JwtService {
                 .compact();
     }
 
+    // Parse and verify JWT token
+    // This method verifies the signature and expiration of the token and returns its claims.
+    public Claims parseClaims(String token) {
+        return PARSER.parseClaimsJws(token).getBody();
+    }
+
     // Extract username from JWT token
     // This method extracts the username from a JWT token.
     // It uses the secret key to verify the token and extract the username.
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public Long extractUserId(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("userId", Long.class);
+        return parseClaims(token).get("userId", Long.class);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
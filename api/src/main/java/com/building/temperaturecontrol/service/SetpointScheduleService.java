@@ -0,0 +1,138 @@
+package com.building.temperaturecontrol.service;
+
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.building.temperaturecontrol.model.Building;
+import com.building.temperaturecontrol.model.SetpointSchedule;
+import com.building.temperaturecontrol.model.Zone;
+import com.building.temperaturecontrol.repository.BuildingRepository;
+import com.building.temperaturecontrol.repository.SetpointScheduleRepository;
+import com.building.temperaturecontrol.repository.ZoneRepository;
+import com.building.temperaturecontrol.exception.ResourceNotFoundException;
+import com.building.temperaturecontrol.dto.SetpointScheduleDTO;
+import com.building.temperaturecontrol.schedule.ScheduledSetpoint;
+import com.building.temperaturecontrol.schedule.SetpointScheduler;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+
+import jakarta.validation.ValidationException;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Setpoint Schedule Service
+// This service is responsible for managing the setpoint schedules of a building and its zones.
+// Saved schedules are registered with the setpoint scheduler, which fires them, once their transaction has committed.
+@Service
+@Timed(value = "temperaturecontrol.service", histogram = true)
+public class SetpointScheduleService {
+    private static final Logger logger = LoggerFactory.getLogger(SetpointScheduleService.class);
+
+    private final SetpointScheduleRepository setpointScheduleRepository;
+    private final BuildingRepository buildingRepository;
+    private final ZoneRepository zoneRepository;
+    private final SetpointScheduler setpointScheduler;
+
+    public SetpointScheduleService(SetpointScheduleRepository setpointScheduleRepository,
+                                   BuildingRepository buildingRepository,
+                                   ZoneRepository zoneRepository,
+                                   SetpointScheduler setpointScheduler) {
+        this.setpointScheduleRepository = setpointScheduleRepository;
+        this.buildingRepository = buildingRepository;
+        this.zoneRepository = zoneRepository;
+        this.setpointScheduler = setpointScheduler;
+    }
+
+    // Create Schedule
+    @Transactional
+    public SetpointScheduleDTO createSchedule(Long buildingId, SetpointScheduleDTO scheduleDTO) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        verifyTimeZone(scheduleDTO.getTimeZone());
+        verifyUserIsOwner(buildingId, user);
+
+        Zone zone = null;
+        if (scheduleDTO.getZoneId() != null) {
+            zone = zoneRepository.findById(scheduleDTO.getZoneId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Zone not found"));
+            if (!zone.getBuilding().getId().equals(buildingId)) {
+                throw new ResourceNotFoundException("Zone not found in this building");
+            }
+        }
+        Building building = buildingRepository.getReferenceById(buildingId);
+
+        SetpointSchedule schedule = setpointScheduleRepository.save(new SetpointSchedule(
+            building,
+            zone,
+            ScheduledSetpoint.toMask(scheduleDTO.getDaysOfWeek()),
+            scheduleDTO.getTime(),
+            scheduleDTO.getTimeZone(),
+            scheduleDTO.getTargetTemperature()
+        ));
+        ScheduledSetpoint scheduled = ScheduledSetpoint.from(schedule);
+        TransactionCallbacks.afterCommit(() -> setpointScheduler.register(scheduled));
+
+        logger.info("Created setpoint schedule: {} for building: {}", schedule.getId(), buildingId);
+        return convertToDTO(schedule);
+    }
+
+    // Get the schedules of a building
+    @Transactional(readOnly = true)
+    public List<SetpointScheduleDTO> getSchedules(Long buildingId) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        verifyUserIsOwner(buildingId, user);
+
+        return setpointScheduleRepository.findByBuildingIdOrderByIdAsc(buildingId).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Delete Schedule
+    @Transactional
+    public void deleteSchedule(Long buildingId, Long scheduleId) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        SetpointSchedule schedule = setpointScheduleRepository.findById(scheduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Schedule not found"));
+        if (!schedule.getBuilding().getId().equals(buildingId)) {
+            throw new ResourceNotFoundException("Schedule not found in this building");
+        }
+        verifyUserIsOwner(buildingId, user);
+
+        setpointScheduleRepository.delete(schedule);
+        TransactionCallbacks.afterCommit(() -> setpointScheduler.unregister(scheduleId));
+        logger.info("Deleted setpoint schedule: {}", scheduleId);
+    }
+
+    // Convert SetpointSchedule to SetpointScheduleDTO
+    private SetpointScheduleDTO convertToDTO(SetpointSchedule schedule) {
+        return new SetpointScheduleDTO(
+            schedule.getId(),
+            schedule.getBuilding().getId(),
+            schedule.getZone() != null ? schedule.getZone().getId() : null,
+            ScheduledSetpoint.fromMask(schedule.getDaysOfWeek()),
+            schedule.getTimeOfDay(),
+            schedule.getTimeZone(),
+            schedule.getTargetTemperature()
+        );
+    }
+
+    private void verifyTimeZone(String timeZone) {
+        try {
+            ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            throw new ValidationException("Unknown time zone: " + timeZone);
+        }
+    }
+
+    // Verify user is the owner of the building
+    private void verifyUserIsOwner(Long buildingId, AuthenticatedUser user) {
+        Long ownerId = buildingRepository.findOwnerIdById(buildingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Building not found"));
+        if (!ownerId.equals(user.id())) {
+            throw new AccessDeniedException("You don't have permission to manage schedules for this building");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.building.temperaturecontrol.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.building.temperaturecontrol.model.TargetTemperatureUpdate;
+import com.building.temperaturecontrol.repository.ZoneTelemetryRepository;
+import com.building.temperaturecontrol.state.TargetTemperatureJournal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Target Temperature Write-Behind
+// In write-behind mode a target temperature update is acknowledged once it is in the journal.
+// Updates are kept per zone until the next flush, so a burst of updates to one zone is written once,
+// with its last value. Each flush writes all pending zones with one JDBC batch.
+// Pending updates are bounded by zones.write-behind.max-pending, beyond that callers write directly.
+// Updates left in the journal by a stop before the flush are written on the next start.
+// A flush commits in its own transaction: services flush inside theirs, and a caller that rolls back
+// must not take the acknowledged updates of other zones with it.
+@Service
+public class TargetTemperatureWriteBehind {
+    private static final Logger logger = LoggerFactory.getLogger(TargetTemperatureWriteBehind.class);
+
+    private final ZoneTelemetryRepository zoneTelemetryRepository;
+    private final boolean enabled;
+    private final Path journalDirectory;
+    private final int maxPending;
+    private final Timer flushLag;
+    private final TransactionTemplate flushTransaction;
+
+    // Enqueues hold the read lock, a flush takes the write lock to swap the pending map and roll the journal
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private ConcurrentHashMap<Long, Journaled> pending = new ConcurrentHashMap<>();
+    // Enqueue time of the oldest pending update in epoch millis, 0 when nothing is pending
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+    private TargetTemperatureJournal journal;
+
+    public TargetTemperatureWriteBehind(ZoneTelemetryRepository zoneTelemetryRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${zones.write-behind.enabled:false}") boolean enabled,
+                                        @Value("${zones.write-behind.journal-dir:data/journal}") String journalDirectory,
+                                        @Value("${zones.write-behind.max-pending:100000}") int maxPending) {
+        this.zoneTelemetryRepository = zoneTelemetryRepository;
+        this.enabled = enabled;
+        this.journalDirectory = Path.of(journalDirectory);
+        this.maxPending = maxPending;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushLag = Timer.builder("temperaturecontrol.zone.write_behind.flush_lag")
+                .description("Time from the oldest update of a flush being acknowledged to it being written")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("temperaturecontrol.zone.write_behind.pending", this, TargetTemperatureWriteBehind::getPendingCount)
+                .description("Zones with a target temperature waiting for the next flush")
+                .register(meterRegistry);
+        TimeGauge.builder("temperaturecontrol.zone.write_behind.lag", this, TimeUnit.MILLISECONDS,
+                        TargetTemperatureWriteBehind::getLagMillis)
+                .description("Age of the oldest update waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    // Open the journal and write updates left from the previous run
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        journal = new TargetTemperatureJournal(journalDirectory);
+        List<TargetTemperatureUpdate> recovered = journal.recover();
+        if (!recovered.isEmpty()) {
+            long now = System.currentTimeMillis();
+            recovered.forEach(update -> pending.put(update.zoneId(), new Journaled(update, 0)));
+            oldestPendingAt.set(now);
+            logger.info("Recovered {} target temperature updates for {} zones from the journal",
+                    recovered.size(), pending.size());
+        }
+        flush();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Journal an update and keep it for the next flush
+    // Returns false when too many zones are pending, the caller then writes the update itself.
+    // The record is appended under the read lock, so it lands in the segment of the batch that holds it,
+    // and fsynced after the lock is released: a slow disk never blocks a flush or other zones' updates.
+    public boolean enqueue(TargetTemperatureUpdate update) {
+        long position;
+        swapLock.readLock().lock();
+        try {
+            if (pending.size() >= maxPending && !pending.containsKey(update.zoneId())) {
+                return false;
+            }
+            position = journal.append(update);
+            // Two updates of a zone may reach the map in another order than the journal, the later record wins
+            pending.merge(update.zoneId(), new Journaled(update, position),
+                    (previous, next) -> next.position() > previous.position() ? next : previous);
+            oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+        } finally {
+            swapLock.readLock().unlock();
+        }
+        journal.sync(position);
+        return true;
+    }
+
+    // Write all pending updates with one batch
+    // Journal segments are only deleted after the batch committed, a failed batch is retried on the next flush.
+    @Scheduled(fixedDelayString = "${zones.write-behind.window-ms:200}")
+    public synchronized void flush() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Journaled> batch;
+        long oldest;
+        List<Path> segments;
+        swapLock.writeLock().lock();
+        try {
+            batch = pending;
+            oldest = oldestPendingAt.getAndSet(0);
+            pending = new ConcurrentHashMap<>();
+            segments = journal.roll();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        if (!batch.isEmpty()) {
+            try {
+                flushTransaction.executeWithoutResult(status -> zoneTelemetryRepository.updateTargetTemperatures(
+                        batch.values().stream().map(Journaled::update).toList()));
+            } catch (RuntimeException e) {
+                logger.error("Could not write {} target temperature updates, retrying on the next flush", batch.size(), e);
+                requeue(batch, oldest);
+                return;
+            }
+            flushLag.record(Duration.ofMillis(System.currentTimeMillis() - oldest));
+            logger.debug("Wrote target temperatures of {} zones", batch.size());
+        }
+        journal.delete(segments);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getLagMillis() {
+        long oldest = oldestPendingAt.get();
+        return oldest == 0 ? 0 : System.currentTimeMillis() - oldest;
+    }
+
+    @PreDestroy
+    void flushOnShutdown() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        journal.close();
+    }
+
+    // Put a failed batch back, updates enqueued since the swap are newer and win
+    private void requeue(Map<Long, Journaled> batch, long oldest) {
+        swapLock.readLock().lock();
+        try {
+            batch.forEach(pending::putIfAbsent);
+            oldestPendingAt.accumulateAndGet(oldest, (current, failed) -> current == 0 ? failed : Math.min(current, failed));
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // A pending update and its position in the journal
+    private record Journaled(TargetTemperatureUpdate update, long position) {
+    }
+}
@@ -0,0 +1,270 @@
+package com.building.temperaturecontrol.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.building.temperaturecontrol.dto.TelemetryIngestResultDTO;
+import com.building.temperaturecontrol.dto.ZoneChangeDTO;
+import com.building.temperaturecontrol.dto.ZoneReadingDTO;
+import com.building.temperaturecontrol.exception.TelemetryBufferFullException;
+import com.building.temperaturecontrol.model.ZoneReading;
+import com.building.temperaturecontrol.model.ZoneReadingRollup;
+import com.building.temperaturecontrol.repository.ZoneReadingRepository;
+import com.building.temperaturecontrol.repository.ZoneRepository;
+import com.building.temperaturecontrol.repository.ZoneTelemetryRepository;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+import com.building.temperaturecontrol.state.ZoneStateStore;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+// Telemetry Service
+// This service is responsible for ingesting temperature readings reported by sensor gateways.
+// Readings are validated, checked for ownership in a single query and buffered in memory.
+// Readings must be dated within the raw retention and the pre-created daily partitions.
+// Each flush appends the raw readings to the history and merges them into the minute and hour
+// rollups in one transaction, all in JDBC batches. It then writes the newest reading per zone to the
+// zone table and, once written, to the zone state store and the zone stream subscribers.
+// A flush that fails keeps its readings for the next one.
+// The history buffer is bounded by a semaphore: a batch reserves room for all of its readings at once,
+// and the room is given back only once the readings are written.
+@Service
+public class TelemetryService {
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryService.class);
+
+    private final ZoneRepository zoneRepository;
+    private final ZoneTelemetryRepository zoneTelemetryRepository;
+    private final ZoneReadingRepository zoneReadingRepository;
+    private final ZoneStreamService zoneStreamService;
+    private final ZoneStateStore zoneStateStore;
+    private final Clock clock;
+    private final int partitionDaysAhead;
+    private final int retentionDays;
+
+    private final ConcurrentHashMap<Long, LatestReading> latestReadings = new ConcurrentHashMap<>();
+    private final BlockingQueue<ZoneReading> pendingHistory;
+    private final int bufferCapacity;
+    private final Semaphore historyCapacity;
+    // Readings of a failed flush, written first by the next one; guarded by the flush lock
+    private List<ZoneReading> retryHistory = List.of();
+
+    @Autowired
+    public TelemetryService(ZoneRepository zoneRepository,
+                            ZoneTelemetryRepository zoneTelemetryRepository,
+                            ZoneReadingRepository zoneReadingRepository,
+                            ZoneStreamService zoneStreamService,
+                            ZoneStateStore zoneStateStore,
+                            @Value("${telemetry.history.buffer-capacity:500000}") int bufferCapacity,
+                            @Value("${telemetry.history.partition-days-ahead:7}") int partitionDaysAhead,
+                            @Value("${telemetry.history.raw-retention-days:30}") int retentionDays) {
+        this(zoneRepository, zoneTelemetryRepository, zoneReadingRepository, zoneStreamService, zoneStateStore,
+                Clock.systemUTC(), bufferCapacity, partitionDaysAhead, retentionDays);
+    }
+
+    TelemetryService(ZoneRepository zoneRepository, ZoneTelemetryRepository zoneTelemetryRepository,
+                     ZoneReadingRepository zoneReadingRepository, ZoneStreamService zoneStreamService,
+                     ZoneStateStore zoneStateStore, Clock clock, int bufferCapacity, int partitionDaysAhead,
+                     int retentionDays) {
+        this.zoneRepository = zoneRepository;
+        this.zoneTelemetryRepository = zoneTelemetryRepository;
+        this.zoneReadingRepository = zoneReadingRepository;
+        this.zoneStreamService = zoneStreamService;
+        this.zoneStateStore = zoneStateStore;
+        this.clock = clock;
+        this.pendingHistory = new ArrayBlockingQueue<>(bufferCapacity);
+        this.bufferCapacity = bufferCapacity;
+        this.historyCapacity = new Semaphore(bufferCapacity);
+        this.partitionDaysAhead = partitionDaysAhead;
+        this.retentionDays = retentionDays;
+    }
+
+    // Ingest a batch of readings
+    public TelemetryIngestResultDTO ingest(List<ZoneReadingDTO> readings) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+
+        Set<Long> zoneIds = new HashSet<>();
+        for (ZoneReadingDTO reading : readings) {
+            zoneIds.add(reading.getZoneId());
+        }
+        Map<Long, Long> buildingIdsByZone = new HashMap<>();
+        for (ZoneRepository.ZoneBuildingId owned : zoneRepository.findBuildingIdsOwnedBy(zoneIds, user.id())) {
+            buildingIdsByZone.put(owned.getZoneId(), owned.getBuildingId());
+        }
+
+        // A reading past the pre-created partitions would go to the default partition; one before the
+        // retention would soon be dropped. Partitions exist one day beyond the accepted range, so a
+        // reading is never ahead of them while the first maintenance run of a new day is still due.
+        Instant now = clock.instant();
+        Instant oldest = now.minus(retentionDays, ChronoUnit.DAYS);
+        Instant newest = LocalDate.now(clock).plusDays(partitionDaysAhead + 1L).atStartOfDay(ZoneOffset.UTC).toInstant();
+        List<ZoneReading> accepted = new ArrayList<>(readings.size());
+        int outOfRange = 0;
+        for (ZoneReadingDTO reading : readings) {
+            if (!buildingIdsByZone.containsKey(reading.getZoneId())) {
+                continue;
+            }
+            if (reading.getTimestamp().isBefore(oldest) || !reading.getTimestamp().isBefore(newest)) {
+                outOfRange++;
+                continue;
+            }
+            accepted.add(new ZoneReading(reading.getZoneId(), reading.getTimestamp(), reading.getTemperature()));
+        }
+
+        // Reject the whole batch rather than storing part of it when the flush falls behind
+        if (!historyCapacity.tryAcquire(accepted.size())) {
+            throw new TelemetryBufferFullException("Telemetry buffer is full, retry later");
+        }
+        for (ZoneReading reading : accepted) {
+            buffer(reading, buildingIdsByZone.get(reading.zoneId()));
+        }
+
+        int rejected = readings.size() - accepted.size();
+        if (rejected > outOfRange) {
+            logger.warn("Rejected {} readings for unknown or foreign zones from user: {}", rejected - outOfRange, user.username());
+        }
+        if (outOfRange > 0) {
+            logger.warn("Rejected {} readings dated outside the last {} days and the next {} days from user: {}",
+                    outOfRange, retentionDays, partitionDaysAhead, user.username());
+        }
+        return new TelemetryIngestResultDTO(accepted.size(), rejected);
+    }
+
+    // Buffer a reading produced inside the application, such as by the thermal simulation
+    // The zone is known to exist, so no ownership check is needed. When the history buffer is full the
+    // reading still updates the current temperature and false is returned.
+    public boolean bufferInternal(ZoneReading reading, Long buildingId) {
+        boolean inHistory = historyCapacity.tryAcquire();
+        if (inHistory) {
+            pendingHistory.add(reading);
+        }
+        keepLatest(reading, buildingId);
+        return inHistory;
+    }
+
+    // Queue the reading for the history and keep the newest reading per zone until the next flush
+    // The caller has reserved its room in the history buffer, so the queue cannot be full.
+    private void buffer(ZoneReading reading, Long buildingId) {
+        pendingHistory.add(reading);
+        keepLatest(reading, buildingId);
+    }
+
+    private void keepLatest(ZoneReading reading, Long buildingId) {
+        latestReadings.merge(reading.zoneId(), new LatestReading(reading, buildingId),
+                (current, candidate) -> candidate.reading().isNewerThan(current.reading()) ? candidate : current);
+    }
+
+    // Flush buffered readings to the database
+    @Scheduled(fixedDelayString = "${telemetry.flush-interval-ms:500}")
+    public synchronized void flush() {
+        List<ZoneReading> history = new ArrayList<>(retryHistory.size() + pendingHistory.size());
+        history.addAll(retryHistory);
+        pendingHistory.drainTo(history);
+        if (!history.isEmpty()) {
+            try {
+                zoneReadingRepository.appendHistory(history,
+                        rollup(history, ChronoUnit.MINUTES), rollup(history, ChronoUnit.HOURS));
+                retryHistory = List.of();
+                historyCapacity.release(history.size());
+            } catch (RuntimeException e) {
+                // Still holding their room in the buffer, so ingest backs off while the database is down
+                retryHistory = history;
+                logger.error("Could not write {} readings to the history, retrying with the next flush", history.size(), e);
+            }
+        }
+
+        if (latestReadings.isEmpty()) {
+            return;
+        }
+        List<ZoneReading> latest = new ArrayList<>(latestReadings.size());
+        List<ZoneChangeDTO> changes = new ArrayList<>(latestReadings.size());
+        for (Long zoneId : latestReadings.keySet()) {
+            LatestReading pending = latestReadings.remove(zoneId);
+            if (pending != null) {
+                ZoneReading reading = pending.reading();
+                latest.add(reading);
+                changes.add(ZoneChangeDTO.currentTemperature(
+                        reading.zoneId(), pending.buildingId(), reading.temperature(), reading.recordedAt()));
+            }
+        }
+        try {
+            zoneTelemetryRepository.updateCurrentTemperatures(latest);
+        } catch (RuntimeException e) {
+            // Put them back unless a newer reading has arrived meanwhile
+            for (int i = 0; i < latest.size(); i++) {
+                keepLatest(latest.get(i), changes.get(i).getBuildingId());
+            }
+            logger.error("Could not write the current temperature of {} zones, retrying with the next flush",
+                    latest.size(), e);
+            return;
+        }
+        zoneStateStore.updateCurrentTemperatures(latest);
+        zoneStreamService.publish(changes);
+        logger.debug("Flushed {} readings for {} zones", history.size(), latest.size());
+    }
+
+    // Create upcoming daily partitions and drop the ones past retention
+    // Partitions are created one day beyond the accepted range, see ingest. Readings found in the default
+    // partition are moved into their day's partition and logged, as they mean a day was missing.
+    // A day that fails is logged and retried on the next run without holding up the other days or the drops.
+    @Scheduled(initialDelay = 0, fixedRateString = "${telemetry.history.partition-maintenance-interval-ms:3600000}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now(clock);
+        for (int day = 0; day <= partitionDaysAhead + 1; day++) {
+            try {
+                int moved = zoneReadingRepository.createPartition(today.plusDays(day));
+                if (moved > 0) {
+                    logger.warn("Moved {} readings for {} out of the default zone reading partition", moved, today.plusDays(day));
+                }
+            } catch (DataAccessException e) {
+                logger.error("Could not create the zone reading partition for {}: {}", today.plusDays(day), e.getMessage());
+            }
+        }
+        int dropped = zoneReadingRepository.dropPartitionsBefore(today.minusDays(retentionDays));
+        if (dropped > 0) {
+            logger.info("Dropped {} zone reading partitions older than {} days", dropped, retentionDays);
+        }
+    }
+
+    // Readings in the history buffer, including those of a failed flush
+    public int getPendingCount() {
+        return bufferCapacity - historyCapacity.availablePermits();
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    // Merge readings into one rollup per zone and bucket
+    static Collection<ZoneReadingRollup> rollup(List<ZoneReading> readings, ChronoUnit unit) {
+        Map<BucketKey, ZoneReadingRollup> rollups = new HashMap<>();
+        for (ZoneReading reading : readings) {
+            ZoneReadingRollup rollup = ZoneReadingRollup.of(reading, unit);
+            rollups.merge(new BucketKey(rollup.zoneId(), rollup.bucket().getEpochSecond()), rollup, ZoneReadingRollup::merge);
+        }
+        return rollups.values();
+    }
+
+    private record BucketKey(long zoneId, long epochSecond) {}
+
+    private record LatestReading(ZoneReading reading, Long buildingId) {}
+}
@@ -0,0 +1,27 @@
+package com.building.temperaturecontrol.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Transaction Callbacks
+// Node-local state such as the zone state store and the setpoint scheduler is only changed once the
+// surrounding transaction has committed, so other requests never see uncommitted rows and a rollback
+// leaves it untouched. Without a transaction the change is applied right away.
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+}
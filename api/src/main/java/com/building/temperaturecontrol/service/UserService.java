@@ -1,21 +1,28 @@
 package com.building.temperaturecontrol.service;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.Optional;
+import java.util.UUID;
+import io.jsonwebtoken.Claims;
 import com.building.temperaturecontrol.model.User;
 import com.building.temperaturecontrol.repository.UserRepository;
 import com.building.temperaturecontrol.dto.UserDTO;
 import com.building.temperaturecontrol.exception.UsernameAlreadyExistsException;
 import com.building.temperaturecontrol.exception.ResourceNotFoundException;
 import com.building.temperaturecontrol.exception.InvalidCredentialsException;
+import com.building.temperaturecontrol.security.PasswordVerifier;
+import com.building.temperaturecontrol.security.RevokedTokens;
 
 // User Service
 // This service is responsible for managing users in the system.
 // It provides methods to create, update, and authenticate users.
 @Service
+@Timed(value = "temperaturecontrol.service", histogram = true)
 public class UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
@@ -23,34 +30,53 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordVerifier passwordVerifier;
 
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private RevokedTokens revokedTokens;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     // Create User
+    // The slow password hashing runs before the transaction, only the username check and the insert hold a connection
     public UserDTO createUser(String username, String password, String firstName, String lastName) {
-        if (userRepository.findByUsername(username).isPresent()) {
-            throw new UsernameAlreadyExistsException("Username '" + username + "' is already taken");
-        }
-        String hashedPassword = passwordEncoder.encode(password);
-        User user = new User(username, hashedPassword, firstName, lastName);
-        userRepository.save(user);
+        String hashedPassword = passwordVerifier.encode(password);
+        User user = transactionTemplate.execute(status -> {
+            if (userRepository.findByUsername(username).isPresent()) {
+                throw new UsernameAlreadyExistsException("Username '" + username + "' is already taken");
+            }
+            return userRepository.save(new User(username, hashedPassword, firstName, lastName));
+        });
         return convertToDTO(user);
     }
 
     // Authenticate User
+    // Not transactional, the slow password check must not hold a connection
     public String authenticate(String username, String rawPassword) {
         Optional<User> user = userRepository.findByUsername(username);
-        if (user.isPresent() && passwordEncoder.matches(rawPassword, user.get().getPassword())) {
-            logger.info("Successful authentication for user: {}", username);
-            return jwtService.generateToken(username);
+        if (user.isPresent() && passwordVerifier.matches(rawPassword, user.get().getPassword())) {
+            logger.debug("Successful authentication for user: {}", username);
+            return jwtService.generateToken(user.get().getId(), username);
         }
         logger.warn("Failed authentication attempt for user: {}", username);
         throw new InvalidCredentialsException("Invalid username or password");
     }
 
+    // Log Out
+    // Revokes the token until it expires
+    public void logout(String token) {
+        Claims claims = jwtService.parseClaims(token);
+        revokedTokens.revoke(UUID.fromString(claims.getId()), claims.get("userId", Long.class),
+                claims.getExpiration().toInstant());
+        logger.debug("Revoked token of user: {}", claims.getSubject());
+    }
+
     // Update User
+    @Transactional
     public UserDTO updateUser(UserDTO userDTO) {
         User user = userRepository.findById(userDTO.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -0,0 +1,42 @@
+package com.building.temperaturecontrol.service;
+
+import org.springframework.stereotype.Component;
+import com.building.temperaturecontrol.dto.ZoneDTO;
+import com.building.temperaturecontrol.repository.ZoneRepository;
+import com.building.temperaturecontrol.state.ZoneStateStore;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Zone Current Temperature Reader
+// The cached zone queries leave out the current temperature, so telemetry never has to evict them.
+// This adds it to their results from the zone state store, and from the database for zones the store
+// does not know, such as every zone before the store is ready.
+@Component
+public class ZoneCurrentTemperatureReader {
+
+    private final ZoneStateStore zoneStateStore;
+    private final ZoneRepository zoneRepository;
+
+    public ZoneCurrentTemperatureReader(ZoneStateStore zoneStateStore, ZoneRepository zoneRepository) {
+        this.zoneStateStore = zoneStateStore;
+        this.zoneRepository = zoneRepository;
+    }
+
+    // Set the current temperature of every zone and return the same list
+    public List<ZoneDTO> fill(List<ZoneDTO> zones) {
+        List<ZoneDTO> unknown = zoneStateStore.fillCurrentTemperatures(zones);
+        if (unknown.isEmpty()) {
+            return zones;
+        }
+        Map<Long, ZoneRepository.ZoneCurrentTemperature> temperatures = zoneRepository
+                .findCurrentTemperatures(unknown.stream().map(ZoneDTO::getId).toList()).stream()
+                .collect(Collectors.toMap(ZoneRepository.ZoneCurrentTemperature::getZoneId, row -> row));
+        for (ZoneDTO zone : unknown) {
+            ZoneRepository.ZoneCurrentTemperature row = temperatures.get(zone.getId());
+            zone.setCurrentTemperature(row != null ? row.getCurrentTemperature() : null);
+        }
+        return zones;
+    }
+}
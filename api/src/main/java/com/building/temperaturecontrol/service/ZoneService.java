@@ -1,19 +1,50 @@
 package com.building.temperaturecontrol.service;
 
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import com.building.temperaturecontrol.model.Zone;
 import com.building.temperaturecontrol.model.Building;
 import com.building.temperaturecontrol.repository.ZoneRepository;
 import com.building.temperaturecontrol.repository.BuildingRepository;
+import com.building.temperaturecontrol.repository.ZoneReadingRepository;
+import com.building.temperaturecontrol.repository.SecondLevelCacheInvalidator;
+import com.building.temperaturecontrol.repository.ZoneTelemetryRepository;
+import com.building.temperaturecontrol.exception.ResourceNotFoundException;
+import com.building.temperaturecontrol.dto.CursorPageDTO;
+import com.building.temperaturecontrol.dto.ZoneChangeDTO;
 import com.building.temperaturecontrol.dto.ZoneDTO;
+import com.building.temperaturecontrol.dto.ZoneHistoryDTO;
+import com.building.temperaturecontrol.dto.ZoneHistoryPointDTO;
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureBatchResultDTO;
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureDTO;
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureResultDTO;
 import com.building.temperaturecontrol.dto.ZoneTemperatureUpdateDTO;
+import com.building.temperaturecontrol.model.HistoryResolution;
+import com.building.temperaturecontrol.model.SetpointChange;
+import com.building.temperaturecontrol.model.TargetTemperatureUpdate;
+import com.building.temperaturecontrol.schedule.SchedulesDeletedEvent;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+import com.building.temperaturecontrol.state.ZoneStateStore;
 
+import jakarta.validation.ValidationException;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 // Zone Service
@@ -21,108 +52,289 @@ import java.util.stream.Collectors;
 // It provides methods to create, update, delete, and retrieve zones.
 // It also verifies that the user has access to the building and zone.
 @Service
+@Timed(value = "temperaturecontrol.service", histogram = true)
 public class ZoneService {
     private static final Logger logger = LoggerFactory.getLogger(ZoneService.class);
 
+    // Upper bound on points returned by a history query
+    private static final int MAX_HISTORY_POINTS = 10_000;
+
     private final ZoneRepository zoneRepository;
     private final BuildingRepository buildingRepository;
+    private final ZoneReadingRepository zoneReadingRepository;
+    private final ZoneStreamService zoneStreamService;
+    private final ZoneStateStore zoneStateStore;
+    private final TargetTemperatureWriteBehind targetTemperatureWriteBehind;
+    private final ZoneTelemetryRepository zoneTelemetryRepository;
+    private final SecondLevelCacheInvalidator cacheInvalidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ZoneCurrentTemperatureReader currentTemperatureReader;
 
-    public ZoneService(ZoneRepository zoneRepository, BuildingRepository buildingRepository) {
+    public ZoneService(ZoneRepository zoneRepository, BuildingRepository buildingRepository,
+                       ZoneReadingRepository zoneReadingRepository, ZoneStreamService zoneStreamService,
+                       ZoneStateStore zoneStateStore, TargetTemperatureWriteBehind targetTemperatureWriteBehind,
+                       ZoneTelemetryRepository zoneTelemetryRepository, SecondLevelCacheInvalidator cacheInvalidator,
+                       ApplicationEventPublisher eventPublisher, ZoneCurrentTemperatureReader currentTemperatureReader) {
         this.zoneRepository = zoneRepository;
         this.buildingRepository = buildingRepository;
+        this.zoneReadingRepository = zoneReadingRepository;
+        this.zoneTelemetryRepository = zoneTelemetryRepository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.eventPublisher = eventPublisher;
+        this.currentTemperatureReader = currentTemperatureReader;
+        this.zoneStreamService = zoneStreamService;
+        this.zoneStateStore = zoneStateStore;
+        this.targetTemperatureWriteBehind = targetTemperatureWriteBehind;
     }
 
     // Create Zone
+    @Transactional
     public ZoneDTO createZone(ZoneDTO zoneDTO) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        AuthenticatedUser user = AuthenticatedUser.current();
         Building building = buildingRepository.findById(zoneDTO.getBuildingId())
-                .orElseThrow(() -> new RuntimeException("Building not found"));
+                .orElseThrow(() -> new ResourceNotFoundException("Building not found"));
 
-        verifyUserHasAccessToBuilding(building, username);
+        verifyUserHasAccessToBuilding(building, user);
 
         Zone zone = new Zone(zoneDTO.getName(), zoneDTO.getDescription(), building);
         zone.setTargetTemperature(zoneDTO.getTargetTemperature());
-        zone = zoneRepository.save(zone);
+        Zone saved = zoneRepository.save(zone);
+        TransactionCallbacks.afterCommit(() -> zoneStateStore.put(saved));
         
-        logger.info("Created new zone: {} in building: {}", zone.getName(), building.getId());
-        return convertToDTO(zone);
+        logger.info("Created new zone: {} in building: {}", saved.getName(), building.getId());
+        return convertToDTO(saved);
     }
 
-    // Get Zones by Building
-    public List<ZoneDTO> getZonesByBuilding(Long buildingId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Building building = buildingRepository.findById(buildingId)
-                .orElseThrow(() -> new RuntimeException("Building not found"));
+    // Get a page of the zones of a building, ordered by id and starting after the given id
+    // A null limit returns all of them.
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ZoneDTO> getZonesByBuilding(Long buildingId, Long after, Integer limit) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        CursorPageDTO.checkLimit(limit);
+        // A building the store does not know was created on another node, its zones are read from the database
+        Long storedOwnerId = zoneStateStore.isReady() ? zoneStateStore.findOwnerId(buildingId) : null;
+        verifyUserIsOwner(storedOwnerId != null ? storedOwnerId : findOwnerId(buildingId), user);
+
+        long afterId = after != null ? after : 0L;
+        List<ZoneDTO> rows = storedOwnerId != null
+                ? zoneStateStore.findZonesByBuilding(buildingId, afterId, limit != null ? limit + 1 : Integer.MAX_VALUE)
+                : currentTemperatureReader.fill(zoneRepository.findDTOsByBuildingIdAfter(
+                        buildingId, afterId, limit != null ? Limit.of(limit + 1) : Limit.unlimited()));
+        return CursorPageDTO.of(rows, limit, ZoneDTO::getId);
+    }
 
-        verifyUserHasAccessToBuilding(building, username);
+    // Stream changes of the zones of a building
+    public SseEmitter streamZoneChanges(Long buildingId) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        verifyUserIsOwner(findOwnerId(buildingId), user);
 
-        return zoneRepository.findByBuildingId(buildingId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return zoneStreamService.subscribe(buildingId);
     }
 
     // Get Zone
+    @Transactional(readOnly = true)
     public ZoneDTO getZone(Long buildingId, Long zoneId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Zone zone = zoneRepository.findById(zoneId)
-                .orElseThrow(() -> new RuntimeException("Zone not found"));
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (zoneStateStore.isReady()) {
+            return findStoredZone(buildingId, zoneId, user);
+        }
+        Zone zone = zoneRepository.findWithBuildingById(zoneId)
+                .orElseThrow(() -> new ResourceNotFoundException("Zone not found"));
 
         verifyZoneBelongsToBuilding(zone, buildingId);
-        verifyUserHasAccessToBuilding(zone.getBuilding(), username);
+        verifyUserHasAccessToBuilding(zone.getBuilding(), user);
 
         return convertToDTO(zone);
     }
 
+    // Get temperature history for a zone in [from, to)
+    // When no resolution is requested the cheapest one for the range is used.
+    @Transactional(readOnly = true)
+    public ZoneHistoryDTO getZoneHistory(Long buildingId, Long zoneId, Instant from, Instant to, String resolution) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (!from.isBefore(to)) {
+            throw new ValidationException("from must be before to");
+        }
+        Zone zone = zoneRepository.findWithBuildingById(zoneId)
+                .orElseThrow(() -> new ResourceNotFoundException("Zone not found"));
+
+        verifyZoneBelongsToBuilding(zone, buildingId);
+        verifyUserHasAccessToBuilding(zone.getBuilding(), user);
+
+        HistoryResolution historyResolution = HistoryResolution.fromParameter(resolution, Duration.between(from, to));
+        List<ZoneHistoryPointDTO> points = zoneReadingRepository.findHistory(
+                zoneId, from, to, historyResolution, MAX_HISTORY_POINTS);
+        return new ZoneHistoryDTO(zoneId, historyResolution, from, to, points);
+    }
+
     // Update target temperature for a zone
+    // In write-behind mode the update is journaled and written by the next flush,
+    // the zone state store serves the new value meanwhile. That path never touches the database, so the
+    // transaction takes no connection.
+    @Transactional
     public ZoneDTO updateTemperature(Long buildingId, Long zoneId, ZoneTemperatureUpdateDTO updateDTO) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Zone zone = zoneRepository.findById(zoneId)
-                .orElseThrow(() -> new RuntimeException("Zone not found"));
+        AuthenticatedUser user = AuthenticatedUser.current();
+        // Zones the store does not know are written directly, write-behind serves new values from the store
+        if (targetTemperatureWriteBehind.isEnabled() && zoneStateStore.isReady() && zoneStateStore.findZone(zoneId) != null) {
+            findStoredZone(buildingId, zoneId, user);
+            TargetTemperatureUpdate update = new TargetTemperatureUpdate(
+                    zoneId, buildingId, updateDTO.getTargetTemperature(), Instant.now());
+            if (targetTemperatureWriteBehind.enqueue(update)) {
+                ZoneDTO updated = zoneStateStore.updateTargetTemperature(zoneId, update.targetTemperature());
+                if (updated == null) {
+                    throw new ResourceNotFoundException("Zone not found");
+                }
+                zoneStreamService.publish(List.of(new ZoneChangeDTO(zoneId, buildingId,
+                        updated.getTargetTemperature(), updated.getCurrentTemperature(), update.requestedAt())));
+                logger.debug("Queued target temperature for zone: {} to: {}", zoneId, update.targetTemperature());
+                return updated;
+            }
+        }
+        Zone zone = zoneRepository.findWithBuildingById(zoneId)
+                .orElseThrow(() -> new ResourceNotFoundException("Zone not found"));
 
         verifyZoneBelongsToBuilding(zone, buildingId);
-        verifyUserHasAccessToBuilding(zone.getBuilding(), username);
+        verifyUserHasAccessToBuilding(zone.getBuilding(), user);
 
         zone.setTargetTemperature(updateDTO.getTargetTemperature());
 
-        zone = zoneRepository.save(zone);
+        Zone saved = zoneRepository.save(zone);
+        TransactionCallbacks.afterCommit(() -> zoneStateStore.put(saved));
+        zoneStreamService.publish(List.of(convertToChange(saved)));
         
-        logger.info("Updated target temperature for zone: {} to: {}", zone.getId(), updateDTO.getTargetTemperature());
-        return convertToDTO(zone);
+        logger.debug("Updated target temperature for zone: {} to: {}", saved.getId(), updateDTO.getTargetTemperature());
+        return convertToDTO(saved);
     }
 
     // Update target temperature for all zones in a building
+    // Ownership is checked once and all zones are updated by a single statement in one transaction.
+    @Transactional
     public List<ZoneDTO> updateTargetTemperatureAll(Long buildingId, BigDecimal newTargetTemperature) {
-        List<Zone> zones = zoneRepository.findByBuildingId(buildingId);
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        AuthenticatedUser user = AuthenticatedUser.current();
+        verifyUserIsOwner(findOwnerId(buildingId), user);
+        // Queued single zone updates must not overwrite this one later
+        targetTemperatureWriteBehind.flush();
 
+        List<Zone> zones = zoneRepository.updateTargetTemperatureByBuildingId(buildingId, newTargetTemperature);
         if (zones.isEmpty()) {
-            throw new RuntimeException("No zones found for the specified building.");
+            throw new ResourceNotFoundException("No zones found for the specified building.");
+        }
+        // The native update is not seen by the second-level cache
+        cacheInvalidator.evictZones(zones.stream().map(Zone::getId).toList());
+        TransactionCallbacks.afterCommit(() -> zones.forEach(zoneStateStore::put));
+        zoneStreamService.publish(zones.stream().map(this::convertToChange).collect(Collectors.toList()));
+
+        logger.debug("Updated target temperature for {} zones in building: {} to: {}", zones.size(), buildingId, newTargetTemperature);
+        return zones.stream()
+                .sorted(Comparator.comparing(Zone::getId))
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Update target temperatures of zones across buildings
+    // Ownership of all zones is checked by one query and the updates are written in one JDBC batch
+    // in one transaction. Zones that do not exist or belong to another user are reported as not found.
+    // When a zone is in the batch more than once its last item wins.
+    @Transactional
+    public ZoneTargetTemperatureBatchResultDTO updateTargetTemperatures(List<ZoneTargetTemperatureDTO> items) {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        Set<Long> zoneIds = items.stream().map(ZoneTargetTemperatureDTO::getZoneId).collect(Collectors.toSet());
+        Map<Long, Long> buildingIds = new HashMap<>();
+        for (ZoneRepository.ZoneBuildingId owned : zoneRepository.findBuildingIdsOwnedBy(zoneIds, user.id())) {
+            buildingIds.put(owned.getZoneId(), owned.getBuildingId());
+        }
+        // Queued single zone updates must not overwrite these later
+        targetTemperatureWriteBehind.flush();
+
+        Instant now = Instant.now();
+        Map<Long, TargetTemperatureUpdate> updates = new LinkedHashMap<>();
+        List<ZoneTargetTemperatureResultDTO> results = new ArrayList<>(items.size());
+        for (ZoneTargetTemperatureDTO item : items) {
+            Long buildingId = buildingIds.get(item.getZoneId());
+            if (buildingId == null) {
+                results.add(new ZoneTargetTemperatureResultDTO(item.getZoneId(), null,
+                        ZoneTargetTemperatureResultDTO.Status.NOT_FOUND, null));
+                continue;
+            }
+            updates.put(item.getZoneId(), new TargetTemperatureUpdate(item.getZoneId(), buildingId, item.getTargetTemperature(), now));
+            results.add(new ZoneTargetTemperatureResultDTO(item.getZoneId(), buildingId,
+                    ZoneTargetTemperatureResultDTO.Status.UPDATED, item.getTargetTemperature()));
+        }
+        zoneTelemetryRepository.updateTargetTemperatures(updates.values());
+        TransactionCallbacks.afterCommit(() -> updates.values().forEach(
+                update -> zoneStateStore.updateTargetTemperature(update.zoneId(), update.targetTemperature())));
+
+        List<ZoneChangeDTO> changes = new ArrayList<>(updates.size());
+        for (TargetTemperatureUpdate update : updates.values()) {
+            ZoneDTO zone = zoneStateStore.findZone(update.zoneId());
+            changes.add(new ZoneChangeDTO(update.zoneId(), update.buildingId(), update.targetTemperature(),
+                    zone != null ? zone.getCurrentTemperature() : null, now));
         }
+        zoneStreamService.publish(changes);
 
-        for (Zone zone : zones) {
-            verifyUserHasAccessToBuilding(zone.getBuilding(), username);
+        int updated = (int) results.stream()
+                .filter(result -> result.getStatus() == ZoneTargetTemperatureResultDTO.Status.UPDATED)
+                .count();
+        logger.debug("Updated target temperature for {} zones, rejected {}", updates.size(), results.size() - updated);
+        return new ZoneTargetTemperatureBatchResultDTO(updated, results.size() - updated, results);
+    }
 
-            zone.setTargetTemperature(newTargetTemperature);
-            zoneRepository.save(zone);
-        }       
-        return zones.stream().map(this::convertToDTO).collect(Collectors.toList());
+    // Apply setpoints fired by schedules, there is no user so ownership is not checked
+    // Building-wide setpoints run one statement per building and zone setpoints share one JDBC batch,
+    // so a zone setpoint fired together with one for its building wins. Returns the number of zones updated.
+    @Transactional
+    public int applySetpointChanges(Collection<SetpointChange> changes) {
+        targetTemperatureWriteBehind.flush();
+        Instant now = Instant.now();
+        List<ZoneChangeDTO> published = new ArrayList<>();
+        List<Zone> buildingZones = new ArrayList<>();
+        List<TargetTemperatureUpdate> zoneUpdates = new ArrayList<>();
+        for (SetpointChange change : changes) {
+            if (change.zoneId() == null) {
+                List<Zone> zones = zoneRepository.updateTargetTemperatureByBuildingId(change.buildingId(), change.targetTemperature());
+                cacheInvalidator.evictZones(zones.stream().map(Zone::getId).toList());
+                buildingZones.addAll(zones);
+                for (Zone zone : zones) {
+                    published.add(convertToChange(zone));
+                }
+            } else {
+                zoneUpdates.add(new TargetTemperatureUpdate(change.zoneId(), change.buildingId(), change.targetTemperature(), now));
+            }
+        }
+        zoneTelemetryRepository.updateTargetTemperatures(zoneUpdates);
+        TransactionCallbacks.afterCommit(() -> {
+            buildingZones.forEach(zoneStateStore::put);
+            zoneUpdates.forEach(update -> zoneStateStore.updateTargetTemperature(update.zoneId(), update.targetTemperature()));
+        });
+        for (TargetTemperatureUpdate update : zoneUpdates) {
+            ZoneDTO zone = zoneStateStore.findZone(update.zoneId());
+            published.add(new ZoneChangeDTO(update.zoneId(), update.buildingId(), update.targetTemperature(),
+                    zone != null ? zone.getCurrentTemperature() : null, now));
+        }
+        zoneStreamService.publish(published);
+        return published.size();
     }
 
     // Delete Zone
+    @Transactional
     public void deleteZone(Long buildingId, Long zoneId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        Zone zone = zoneRepository.findById(zoneId)
-                .orElseThrow(() -> new RuntimeException("Zone not found"));
+        AuthenticatedUser user = AuthenticatedUser.current();
+        Zone zone = zoneRepository.findWithBuildingById(zoneId)
+                .orElseThrow(() -> new ResourceNotFoundException("Zone not found"));
 
         verifyZoneBelongsToBuilding(zone, buildingId);
-        verifyUserHasAccessToBuilding(zone.getBuilding(), username);
+        verifyUserHasAccessToBuilding(zone.getBuilding(), user);
 
         zoneRepository.delete(zone);
+        TransactionCallbacks.afterCommit(() -> zoneStateStore.removeZone(zoneId));
+        // The zone's schedules are deleted by the database cascade, the scheduler drops them after commit
+        eventPublisher.publishEvent(SchedulesDeletedEvent.forZone(buildingId, zoneId));
         logger.info("Deleted zone: {}", zone.getName());
     }
 
     // Convert Zone to ZoneDTO
-    private ZoneDTO convertToDTO(Zone zone) {
+    // Package-private so the JMH benchmarks can measure it
+    ZoneDTO convertToDTO(Zone zone) {
         return new ZoneDTO(
             zone.getId(),
             zone.getName(),
@@ -133,16 +345,62 @@ public class ZoneService {
         );
     }
 
+    // Convert Zone to the change pushed to stream subscribers
+    private ZoneChangeDTO convertToChange(Zone zone) {
+        return new ZoneChangeDTO(
+            zone.getId(),
+            zone.getBuilding().getId(),
+            zone.getTargetTemperature(),
+            zone.getCurrentTemperature(),
+            Instant.now()
+        );
+    }
+
+    // Zone from the zone state store, checked to belong to the building and the user
+    // A zone the store does not know may have been created on another node, so it is looked up in the database
+    private ZoneDTO findStoredZone(Long buildingId, Long zoneId, AuthenticatedUser user) {
+        ZoneDTO zone = zoneStateStore.findZone(zoneId);
+        if (zone == null) {
+            zone = zoneRepository.findWithBuildingById(zoneId)
+                    .map(this::convertToDTO)
+                    .orElseThrow(() -> new ResourceNotFoundException("Zone not found"));
+        }
+        if (!zone.getBuildingId().equals(buildingId)) {
+            throw new ResourceNotFoundException("Zone not found in this building");
+        }
+        verifyUserIsOwner(findOwnerId(buildingId), user);
+        return zone;
+    }
+
+    // Owner id of a building, from the zone state store once it is loaded
+    // Buildings the store does not know, such as ones created on another node, are looked up in the database.
+    private Long findOwnerId(Long buildingId) {
+        Long ownerId = zoneStateStore.isReady() ? zoneStateStore.findOwnerId(buildingId) : null;
+        if (ownerId == null) {
+            ownerId = buildingRepository.findOwnerIdById(buildingId).orElse(null);
+        }
+        if (ownerId == null) {
+            throw new ResourceNotFoundException("Building not found");
+        }
+        return ownerId;
+    }
+
     // Verify zone belongs to building
     private void verifyZoneBelongsToBuilding(Zone zone, Long buildingId) {
         if (!zone.getBuilding().getId().equals(buildingId)) {
-            throw new RuntimeException("Zone not found in this building");
+            throw new ResourceNotFoundException("Zone not found in this building");
         }
     }
 
     // Verify user has access to building
-    private void verifyUserHasAccessToBuilding(Building building, String username) {
-        if (!building.getOwner().getUsername().equals(username)) {
+    private void verifyUserHasAccessToBuilding(Building building, AuthenticatedUser user) {
+        verifyUserIsOwner(building.getOwner().getId(), user);
+    }
+
+    // Verify user is the owner of the building
+    // Only the owner id is compared, so the owner entity is never loaded
+    private void verifyUserIsOwner(Long ownerId, AuthenticatedUser user) {
+        if (!ownerId.equals(user.id())) {
             throw new AccessDeniedException("You don't have permission to modify this zones for this building");
         }
     }
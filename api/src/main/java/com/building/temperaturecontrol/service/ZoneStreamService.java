@@ -0,0 +1,186 @@
+package com.building.temperaturecontrol.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.building.temperaturecontrol.dto.ZoneChangeDTO;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Zone Stream Service
+// This service pushes zone changes to server-sent event subscribers of a building.
+// Idle subscribers hold no thread, only an async request and a small bounded buffer.
+// Events are written by a small sender pool, one drain task per subscriber at a time.
+// A subscriber whose buffer fills up is too slow and is disconnected, it can reconnect and reload the zones.
+// A send to a client that stops reading blocks its sender thread until Tomcat's write timeout
+// (server.tomcat.connection-timeout) fails it, then the subscriber is dropped as if it had gone away.
+@Service
+public class ZoneStreamService {
+    private static final Logger logger = LoggerFactory.getLogger(ZoneStreamService.class);
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribersByBuilding = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final Executor sender;
+
+    @Autowired
+    public ZoneStreamService(@Value("${zones.stream.buffer-size:64}") int bufferSize,
+                             @Value("${zones.stream.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${zones.stream.sender-threads:4}") int senderThreads) {
+        this(bufferSize, timeoutMs, Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "zone-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    ZoneStreamService(int bufferSize, long timeoutMs, Executor sender) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.sender = sender;
+    }
+
+    // Open a stream of zone changes for a building
+    public SseEmitter subscribe(Long buildingId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(buildingId, emitter, bufferSize);
+        // Add inside compute so a concurrent remove cannot drop the set this subscriber is added to
+        subscribersByBuilding.compute(buildingId, (id, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        logger.debug("Opened zone stream for building: {}", buildingId);
+        return emitter;
+    }
+
+    // Push zone changes to the subscribers of their buildings
+    // Inside a transaction the changes are pushed only once it has committed.
+    public void publish(Collection<ZoneChangeDTO> changes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    changes.forEach(ZoneStreamService.this::send);
+                }
+            });
+            return;
+        }
+        changes.forEach(this::send);
+    }
+
+    private void send(ZoneChangeDTO change) {
+        Set<Subscriber> subscribers = subscribersByBuilding.get(change.getBuildingId());
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            enqueue(subscriber, SseEmitter.event().name("zone").data(change));
+        }
+    }
+
+    // Keep idle connections open through proxies and detect closed ones
+    @Scheduled(fixedRateString = "${zones.stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        for (Set<Subscriber> subscribers : subscribersByBuilding.values()) {
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.queue.isEmpty()) {
+                    enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            logger.debug("Dropping slow zone stream subscriber for building: {}", subscriber.buildingId);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter is already completed
+            remove(subscriber);
+            subscriber.queue.clear();
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have been queued after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribersByBuilding.computeIfPresent(subscriber.buildingId, (id, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Set<Subscriber> subscribers : subscribersByBuilding.values()) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private static final class Subscriber {
+        private final Long buildingId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long buildingId, SseEmitter emitter, int bufferSize) {
+            this.buildingId = buildingId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.building.temperaturecontrol.simulation;
+
+import java.util.Random;
+
+// First-order thermal model
+// Each tick the gap between the current and the target temperature shrinks by exp(-tick / tau),
+// plus optional Gaussian noise. tau is spread per zone between the minimum and maximum time constant,
+// picked from the zone id so a zone keeps its own constant across ticks and restarts.
+// Temperatures are centi-degrees. Results are rounded stochastically, so a gap smaller than one
+// centi-degree step still closes on average instead of stalling.
+final class ThermalModel {
+    private static final int TIME_CONSTANT_BUCKETS = 256;
+
+    private final double[] decayByBucket = new double[TIME_CONSTANT_BUCKETS];
+    private final double noiseCentiDegrees;
+
+    ThermalModel(double tickSeconds, double minTimeConstantSeconds, double maxTimeConstantSeconds, double noiseStdDev) {
+        if (tickSeconds <= 0 || minTimeConstantSeconds <= 0 || maxTimeConstantSeconds < minTimeConstantSeconds) {
+            throw new IllegalArgumentException("Invalid thermal model parameters");
+        }
+        for (int bucket = 0; bucket < TIME_CONSTANT_BUCKETS; bucket++) {
+            double timeConstant = minTimeConstantSeconds
+                    + (maxTimeConstantSeconds - minTimeConstantSeconds) * bucket / (TIME_CONSTANT_BUCKETS - 1);
+            decayByBucket[bucket] = Math.exp(-tickSeconds / timeConstant);
+        }
+        this.noiseCentiDegrees = noiseStdDev * 100;
+    }
+
+    // Current temperature of the zone after one tick
+    int next(long zoneId, int current, int target, Random random) {
+        double decay = decayByBucket[bucketOf(zoneId)];
+        double next = target + (current - target) * decay;
+        if (noiseCentiDegrees > 0) {
+            next += random.nextGaussian() * noiseCentiDegrees;
+        }
+        return (int) Math.floor(next + random.nextDouble());
+    }
+
+    private static int bucketOf(long zoneId) {
+        long hash = zoneId * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 56);
+    }
+}
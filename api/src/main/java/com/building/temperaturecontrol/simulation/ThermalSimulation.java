@@ -0,0 +1,211 @@
+package com.building.temperaturecontrol.simulation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.building.temperaturecontrol.model.ZoneReading;
+import com.building.temperaturecontrol.service.TelemetryService;
+import com.building.temperaturecontrol.state.ZoneStateStore;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Thermal Simulation
+// Drives the current temperature of every zone toward its target, for demos and load tests without
+// real sensors. Off by default: its readings would overwrite reported ones, and every node would run its own.
+// Each tick copies the columns of the zone state store, steps the copy with a fork/join task without
+// holding the store's lock, then publishes the zones that changed. A zone whose temperature changed since
+// the copy, e.g. by a reported reading, keeps that temperature. Published zones are handed to the telemetry
+// service like reported readings. Zones without a current temperature start from simulation.initial-temperature.
+@Component
+public class ThermalSimulation {
+    private static final Logger logger = LoggerFactory.getLogger(ThermalSimulation.class);
+
+    // Slots stepped by one fork/join leaf task
+    static final int SLOTS_PER_TASK = 16_384;
+
+    private final ZoneStateStore zoneStateStore;
+    private final TelemetryService telemetryService;
+    private final ThermalModel model;
+    private final boolean enabled;
+    private final int initialTemperature;
+    private final ForkJoinPool pool;
+    private final boolean ownPool;
+    private final Timer tickTimer;
+    private final Counter changedZones;
+    private final Counter droppedHistory;
+
+    // Scratch state of the current tick, reused between ticks
+    private ZoneStateStore.Columns snapshot;
+    private boolean[] changed = new boolean[0];
+    private int[] next = new int[0];
+
+    @Autowired
+    public ThermalSimulation(ZoneStateStore zoneStateStore,
+                             TelemetryService telemetryService,
+                             MeterRegistry meterRegistry,
+                             @Value("${simulation.enabled:false}") boolean enabled,
+                             @Value("${simulation.tick-ms:1000}") long tickMs,
+                             @Value("${simulation.time-constant-min-seconds:300}") double minTimeConstantSeconds,
+                             @Value("${simulation.time-constant-max-seconds:1800}") double maxTimeConstantSeconds,
+                             @Value("${simulation.noise-stddev:0.0}") double noiseStdDev,
+                             @Value("${simulation.initial-temperature:20.0}") BigDecimal initialTemperature,
+                             @Value("${simulation.parallelism:0}") int parallelism) {
+        this(zoneStateStore, telemetryService, meterRegistry, enabled,
+                new ThermalModel(tickMs / 1000.0, minTimeConstantSeconds, maxTimeConstantSeconds, noiseStdDev),
+                initialTemperature,
+                parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool());
+    }
+
+    ThermalSimulation(ZoneStateStore zoneStateStore, TelemetryService telemetryService, MeterRegistry meterRegistry,
+                      boolean enabled, ThermalModel model, BigDecimal initialTemperature, ForkJoinPool pool) {
+        this.zoneStateStore = zoneStateStore;
+        this.telemetryService = telemetryService;
+        this.enabled = enabled;
+        this.model = model;
+        this.initialTemperature = ZoneStateStore.toCentiDegrees(initialTemperature);
+        this.pool = pool;
+        this.ownPool = pool != ForkJoinPool.commonPool();
+        this.tickTimer = Timer.builder("temperaturecontrol.simulation.tick")
+                .description("Time to step all zones and hand the changes to telemetry")
+                .register(meterRegistry);
+        this.changedZones = Counter.builder("temperaturecontrol.simulation.changed")
+                .description("Zones whose simulated current temperature changed")
+                .register(meterRegistry);
+        this.droppedHistory = Counter.builder("temperaturecontrol.simulation.history.dropped")
+                .description("Simulated readings left out of the history because its buffer was full")
+                .register(meterRegistry);
+    }
+
+    // Advance every zone by one tick
+    // Runs only once the zone state store is loaded, ticks that fall behind are skipped by the scheduler.
+    @Scheduled(fixedRateString = "${simulation.tick-ms:1000}", initialDelayString = "${simulation.tick-ms:1000}")
+    public void tick() {
+        if (!enabled || !zoneStateStore.isReady()) {
+            return;
+        }
+        tickTimer.record(this::step);
+    }
+
+    void step() {
+        snapshot = zoneStateStore.snapshot(snapshot);
+        publish(stepColumns(snapshot));
+    }
+
+    // Apply the changes to the store, under its write lock only for the compare and set
+    void publish(Changes changes) {
+        boolean[] applied = zoneStateStore.compareAndSetCurrentTemperatures(
+                changes.zoneIds(), changes.previousTemperatures(), changes.temperatures(), changes.count());
+        Instant now = Instant.now();
+        int published = 0;
+        int dropped = 0;
+        for (int i = 0; i < changes.count(); i++) {
+            if (!applied[i]) {
+                continue;
+            }
+            published++;
+            ZoneReading reading = new ZoneReading(changes.zoneIds()[i], now,
+                    ZoneStateStore.fromCentiDegrees(changes.temperatures()[i]));
+            if (!telemetryService.bufferInternal(reading, changes.buildingIds()[i])) {
+                dropped++;
+            }
+        }
+        changedZones.increment(published);
+        if (dropped > 0) {
+            droppedHistory.increment(dropped);
+            logger.warn("Telemetry history buffer is full, {} simulated readings only update the current temperature", dropped);
+        }
+    }
+
+    // Step a snapshot of the columns, the snapshot itself is not modified
+    Changes stepColumns(ZoneStateStore.Columns columns) {
+        int slotCount = columns.slotCount();
+        if (changed.length < slotCount) {
+            changed = new boolean[columns.zoneIds().length];
+            next = new int[columns.zoneIds().length];
+        }
+        pool.invoke(new StepTask(columns, changed, next, 0, slotCount));
+
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (changed[slot]) {
+                count++;
+            }
+        }
+        long[] zoneIds = new long[count];
+        long[] buildingIds = new long[count];
+        int[] previousTemperatures = new int[count];
+        int[] temperatures = new int[count];
+        int index = 0;
+        for (int slot = 0; slot < slotCount && index < count; slot++) {
+            if (changed[slot]) {
+                zoneIds[index] = columns.zoneIds()[slot];
+                buildingIds[index] = columns.buildingIds()[slot];
+                previousTemperatures[index] = columns.currentTemperatures()[slot];
+                temperatures[index] = next[slot];
+                index++;
+            }
+        }
+        return new Changes(count, zoneIds, buildingIds, previousTemperatures, temperatures);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ownPool) {
+            pool.shutdownNow();
+        }
+    }
+
+    // Zones changed by one tick, as parallel arrays
+    record Changes(int count, long[] zoneIds, long[] buildingIds, int[] previousTemperatures, int[] temperatures) {}
+
+    // Steps a range of slots, splitting it in halves until it is small enough
+    private final class StepTask extends RecursiveAction {
+        private final ZoneStateStore.Columns columns;
+        private final boolean[] changed;
+        private final int[] next;
+        private final int from;
+        private final int to;
+
+        private StepTask(ZoneStateStore.Columns columns, boolean[] changed, int[] next, int from, int to) {
+            this.columns = columns;
+            this.changed = changed;
+            this.next = next;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SLOTS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new StepTask(columns, changed, next, from, middle), new StepTask(columns, changed, next, middle, to));
+                return;
+            }
+            long[] zoneIds = columns.zoneIds();
+            int[] targets = columns.targetTemperatures();
+            int[] currents = columns.currentTemperatures();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int slot = from; slot < to; slot++) {
+                int current = currents[slot];
+                if (zoneIds[slot] == 0 || targets[slot] == ZoneStateStore.NO_TEMPERATURE) {
+                    changed[slot] = false;
+                    continue;
+                }
+                int start = current == ZoneStateStore.NO_TEMPERATURE ? initialTemperature : current;
+                next[slot] = model.next(zoneIds[slot], start, targets[slot], random);
+                changed[slot] = next[slot] != current;
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.building.temperaturecontrol.state;
+
+import com.building.temperaturecontrol.model.TargetTemperatureUpdate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Target Temperature Journal
+// Append-only file log of accepted target temperature updates, so an update that was acknowledged
+// is written to the database even if the node stops before the next flush.
+// Records have a fixed size. append() only writes the record, sync() returns once it is on disk, so callers
+// can append under their own locks and fsync after releasing them. Appends that arrive while an fsync is
+// running are covered by the next one, so concurrent writers share fsyncs.
+// The log is split in segments: roll() starts a new segment and the older ones can be deleted once
+// their updates are in the database.
+public class TargetTemperatureJournal implements Closeable {
+    // zone id, building id, target in centi-degrees, requested at in epoch millis
+    static final int RECORD_SIZE = 3 * Long.BYTES + Integer.BYTES;
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+    private FileChannel channel;
+    private Path segment;
+    private long sequence;
+    private long segmentLength;
+    // Bytes appended and bytes known to be on disk, over all segments
+    private long appended;
+    private long synced;
+
+    public TargetTemperatureJournal(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            List<Path> existing = segments();
+            sequence = existing.isEmpty() ? 0 : sequenceOf(existing.get(existing.size() - 1));
+            openNextSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open target temperature journal in " + directory, e);
+        }
+    }
+
+    // Read the updates of all segments before the current one, oldest first
+    // A record cut short by a crash during append is skipped.
+    public List<TargetTemperatureUpdate> recover() {
+        List<TargetTemperatureUpdate> updates = new ArrayList<>();
+        for (Path previous : completedSegments()) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(previous));
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    updates.add(new TargetTemperatureUpdate(
+                        buffer.getLong(),
+                        buffer.getLong(),
+                        ZoneStateStore.fromCentiDegrees(buffer.getInt()),
+                        Instant.ofEpochMilli(buffer.getLong())
+                    ));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read journal segment " + previous, e);
+            }
+        }
+        return updates;
+    }
+
+    // Append an update and return once it is on disk
+    public void write(TargetTemperatureUpdate update) {
+        sync(append(update));
+    }
+
+    // Append an update without waiting for the disk
+    // Returns the journal position to pass to sync().
+    public long append(TargetTemperatureUpdate update) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE)
+                .putLong(update.zoneId())
+                .putLong(update.buildingId())
+                .putInt(ZoneStateStore.toCentiDegrees(update.targetTemperature()))
+                .putLong(update.requestedAt().toEpochMilli())
+                .flip();
+        try {
+            synchronized (appendLock) {
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+                segmentLength += RECORD_SIZE;
+                appended += RECORD_SIZE;
+                return appended;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to target temperature journal", e);
+        }
+    }
+
+    // Return once everything appended up to the position is on disk
+    // One fsync covers every append made before it started.
+    public void sync(long position) {
+        synchronized (syncLock) {
+            if (synced >= position) {
+                return;
+            }
+            long target;
+            FileChannel current;
+            synchronized (appendLock) {
+                target = appended;
+                current = channel;
+            }
+            try {
+                current.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not sync target temperature journal", e);
+            }
+            synced = target;
+        }
+    }
+
+    // Start a new segment if the current one has records
+    // Returns every segment before the new one, they can be deleted once their updates are written.
+    public List<Path> roll() {
+        synchronized (syncLock) {
+            synchronized (appendLock) {
+                if (segmentLength > 0) {
+                    try {
+                        channel.force(false);
+                        synced = appended;
+                        channel.close();
+                        openNextSegment();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Could not roll target temperature journal", e);
+                    }
+                }
+                return completedSegments();
+            }
+        }
+    }
+
+    public void delete(List<Path> segments) {
+        for (Path completed : segments) {
+            try {
+                Files.deleteIfExists(completed);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not delete journal segment " + completed, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (appendLock) {
+                channel.force(false);
+                channel.close();
+            }
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        sequence++;
+        segment = directory.resolve(String.format("%020d%s", sequence, SEGMENT_SUFFIX));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentLength = 0;
+    }
+
+    private List<Path> completedSegments() {
+        try {
+            return segments().stream()
+                    .filter(path -> sequenceOf(path) < sequence)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list journal segments in " + directory, e);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
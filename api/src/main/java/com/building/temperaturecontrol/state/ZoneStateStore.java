@@ -0,0 +1,567 @@
+package com.building.temperaturecontrol.state;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import com.building.temperaturecontrol.dto.ZoneDTO;
+import com.building.temperaturecontrol.model.Zone;
+import com.building.temperaturecontrol.model.ZoneReading;
+import com.building.temperaturecontrol.repository.ZoneStateRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Zone State Store
+// Node-local copy of every zone, used to serve zone reads without touching the database.
+// Zones are stored column-wise in primitive arrays indexed by a slot number. Temperatures are kept as
+// fixed-point centi-degrees in ints, so no BigDecimal or boxed value exists per zone. A primitive
+// open-addressing map finds the slot of a zone id and every building keeps its zone slots sorted by zone id.
+//
+// Heap per zone is about 24 bytes of columns, 16 bytes in the id map, 4 bytes in the building index and
+// 8 bytes of name and description references, plus the strings themselves. 10 million zones with short
+// names need roughly 0.5 GB for the structure and 1 to 1.5 GB for the strings.
+//
+// The store is filled in the background once the application is ready. Until then reads fall back to the
+// database, and zones updated during the load are read again before the store is ready. Writes through ZoneService, BuildingService and telemetry keep it in sync; writes made by other
+// nodes are not seen until the next restart. Zones and buildings missing from the store are read from the
+// database, but changes and deletes made on other nodes are not, so the store is meant for single-node
+// deployments and must be disabled when several nodes share a database.
+@Component
+public class ZoneStateStore {
+    private static final Logger logger = LoggerFactory.getLogger(ZoneStateStore.class);
+
+    public static final int NO_TEMPERATURE = Integer.MIN_VALUE;
+    private static final long NO_OWNER = 0L;
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final ZoneStateRepository zoneStateRepository;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    // Zone columns indexed by slot
+    private long[] zoneIds;
+    private long[] buildingIds;
+    private int[] targetTemperatures;
+    private int[] currentTemperatures;
+    private String[] names;
+    private String[] descriptions;
+    private int slotCount;
+    private int[] freeSlots = NO_SLOTS;
+    private int freeSlotCount;
+
+    private final LongIntHashMap slotsByZoneId;
+    private final Map<Long, BuildingEntry> buildings = new HashMap<>();
+
+    // Deletions seen while warming up, so the initial load does not bring them back
+    private final Set<Long> removedZonesDuringWarmUp = new HashSet<>();
+    private final Set<Long> removedBuildingsDuringWarmUp = new HashSet<>();
+    // Zones updated while warming up before they were loaded, or while being reloaded; the rows the load
+    // reads may be older than the update, so these zones are read again before the store is ready
+    private Set<Long> changedZonesDuringWarmUp = new HashSet<>();
+    private Set<Long> reloadingZones = Set.of();
+
+    public ZoneStateStore(ZoneStateRepository zoneStateRepository,
+                          @Value("${zones.state-store.enabled:true}") boolean enabled,
+                          @Value("${zones.state-store.initial-capacity:1024}") int initialCapacity) {
+        this.zoneStateRepository = zoneStateRepository;
+        this.enabled = enabled;
+        int capacity = Math.max(initialCapacity, 16);
+        this.zoneIds = new long[capacity];
+        this.buildingIds = new long[capacity];
+        this.targetTemperatures = new int[capacity];
+        this.currentTemperatures = new int[capacity];
+        this.names = new String[capacity];
+        this.descriptions = new String[capacity];
+        this.slotsByZoneId = new LongIntHashMap(capacity);
+    }
+
+    // Load all buildings and zones in the background once the application is ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "zone-state-warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        try {
+            zoneStateRepository.forEachBuilding(row -> loadBuilding(row.getLong(1), row.getLong(2)));
+            zoneStateRepository.forEachZone(row -> loadZone(
+                    row.getLong(1), row.getLong(2), row.getString(3), row.getString(4),
+                    row.getBigDecimal(5), row.getBigDecimal(6)));
+            while (true) {
+                List<Long> changed;
+                lock.writeLock().lock();
+                try {
+                    if (changedZonesDuringWarmUp.isEmpty()) {
+                        ready = true;
+                        removedZonesDuringWarmUp.clear();
+                        removedBuildingsDuringWarmUp.clear();
+                        reloadingZones = Set.of();
+                        logger.info("Loaded {} zones of {} buildings into the zone state store in {} ms",
+                                slotsByZoneId.size(), buildings.size(), (System.nanoTime() - start) / 1_000_000);
+                        return;
+                    }
+                    reloadingZones = changedZonesDuringWarmUp;
+                    changedZonesDuringWarmUp = new HashSet<>();
+                    changed = new ArrayList<>(reloadingZones);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                zoneStateRepository.forEachZoneIn(changed, row -> reloadZone(
+                        row.getLong(1), row.getLong(2), row.getString(3), row.getString(4),
+                        row.getBigDecimal(5), row.getBigDecimal(6)));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Zone state warm-up failed, zone reads keep using the database", e);
+        }
+    }
+
+    // True once the store holds every zone and can serve reads
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByZoneId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Owner of a building, or null when the building does not exist or its owner is not loaded yet
+    public Long findOwnerId(long buildingId) {
+        lock.readLock().lock();
+        try {
+            BuildingEntry building = buildings.get(buildingId);
+            return building != null && building.ownerId != NO_OWNER ? building.ownerId : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Zone by id, or null when the zone does not exist
+    public ZoneDTO findZone(long zoneId) {
+        lock.readLock().lock();
+        try {
+            int slot = slotsByZoneId.get(zoneId);
+            return slot != LongIntHashMap.MISSING ? toDTO(slot) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Up to limit zones of a building with an id greater than afterZoneId, ordered by id
+    public List<ZoneDTO> findZonesByBuilding(long buildingId, long afterZoneId, int limit) {
+        lock.readLock().lock();
+        try {
+            BuildingEntry building = buildings.get(buildingId);
+            if (building == null) {
+                return List.of();
+            }
+            int from = building.firstIndexAfter(afterZoneId, zoneIds);
+            int to = (int) Math.min(building.size, (long) from + limit);
+            List<ZoneDTO> zones = new ArrayList<>(Math.max(to - from, 0));
+            for (int i = from; i < to; i++) {
+                zones.add(toDTO(building.slots[i]));
+            }
+            return zones;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Set the current temperature of every zone the store knows and return the zones it does not know
+    // Before the store is ready no zone is known.
+    public List<ZoneDTO> fillCurrentTemperatures(List<ZoneDTO> zones) {
+        if (!ready) {
+            return zones;
+        }
+        List<ZoneDTO> unknown = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (ZoneDTO zone : zones) {
+                int slot = slotsByZoneId.get(zone.getId());
+                if (slot != LongIntHashMap.MISSING) {
+                    zone.setCurrentTemperature(fromCentiDegrees(currentTemperatures[slot]));
+                } else {
+                    unknown.add(zone);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return unknown;
+    }
+
+    public void putBuilding(long buildingId, long ownerId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            buildings.computeIfAbsent(buildingId, id -> new BuildingEntry()).ownerId = ownerId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Remove a building and all of its zones
+    public void removeBuilding(long buildingId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            BuildingEntry building = buildings.remove(buildingId);
+            if (building != null) {
+                for (int i = 0; i < building.size; i++) {
+                    int slot = building.slots[i];
+                    slotsByZoneId.remove(zoneIds[slot]);
+                    releaseSlot(slot);
+                }
+            }
+            if (!ready) {
+                removedBuildingsDuringWarmUp.add(buildingId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Insert or replace a zone from its entity
+    public void put(Zone zone) {
+        putZone(zone.getId(), zone.getBuilding().getId(), zone.getName(), zone.getDescription(),
+                zone.getTargetTemperature(), zone.getCurrentTemperature());
+    }
+
+    public void putZone(long zoneId, long buildingId, String name, String description,
+                        BigDecimal targetTemperature, BigDecimal currentTemperature) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slotsByZoneId.get(zoneId);
+            noteWarmUpUpdate(zoneId, slot);
+            writeZone(zoneId, buildingId, name, description, toCentiDegrees(targetTemperature), toCentiDegrees(currentTemperature));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Update the current temperature of a known zone, unknown zones are ignored
+    public void updateCurrentTemperature(long zoneId, BigDecimal currentTemperature) {
+        if (!enabled) {
+            return;
+        }
+        int centiDegrees = toCentiDegrees(currentTemperature);
+        lock.writeLock().lock();
+        try {
+            int slot = slotsByZoneId.get(zoneId);
+            noteWarmUpUpdate(zoneId, slot);
+            if (slot != LongIntHashMap.MISSING) {
+                currentTemperatures[slot] = centiDegrees;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Set the target temperature of a known zone and return the zone, or null when it is unknown
+    public ZoneDTO updateTargetTemperature(long zoneId, BigDecimal targetTemperature) {
+        if (!enabled) {
+            return null;
+        }
+        int centiDegrees = toCentiDegrees(targetTemperature);
+        lock.writeLock().lock();
+        try {
+            int slot = slotsByZoneId.get(zoneId);
+            noteWarmUpUpdate(zoneId, slot);
+            if (slot == LongIntHashMap.MISSING) {
+                return null;
+            }
+            targetTemperatures[slot] = centiDegrees;
+            return toDTO(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Apply a batch of readings under a single lock acquisition
+    public void updateCurrentTemperatures(Collection<ZoneReading> readings) {
+        if (!enabled || readings.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (ZoneReading reading : readings) {
+                int slot = slotsByZoneId.get(reading.zoneId());
+                noteWarmUpUpdate(reading.zoneId(), slot);
+                if (slot != LongIntHashMap.MISSING) {
+                    currentTemperatures[slot] = toCentiDegrees(reading.temperature());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Copy the zone columns under the read lock, into the arrays of reuse when they are large enough
+    // Used by the thermal simulation, which steps the copy without holding any lock.
+    public Columns snapshot(Columns reuse) {
+        lock.readLock().lock();
+        try {
+            int count = slotCount;
+            Columns columns = reuse != null && reuse.zoneIds().length >= count
+                    ? new Columns(count, reuse.zoneIds(), reuse.buildingIds(), reuse.targetTemperatures(), reuse.currentTemperatures())
+                    : new Columns(count, new long[count], new long[count], new int[count], new int[count]);
+            System.arraycopy(zoneIds, 0, columns.zoneIds(), 0, count);
+            System.arraycopy(buildingIds, 0, columns.buildingIds(), 0, count);
+            System.arraycopy(targetTemperatures, 0, columns.targetTemperatures(), 0, count);
+            System.arraycopy(currentTemperatures, 0, columns.currentTemperatures(), 0, count);
+            return columns;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Set the current temperature of each zone to updated[i] if it is still expected[i]
+    // Zones that were removed or got another temperature since the snapshot are left alone.
+    // Returns which updates were applied.
+    public boolean[] compareAndSetCurrentTemperatures(long[] zoneIds, int[] expected, int[] updated, int count) {
+        boolean[] applied = new boolean[count];
+        if (!enabled || count == 0) {
+            return applied;
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                int slot = slotsByZoneId.get(zoneIds[i]);
+                if (slot != LongIntHashMap.MISSING && currentTemperatures[slot] == expected[i]) {
+                    currentTemperatures[slot] = updated[i];
+                    applied[i] = true;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return applied;
+    }
+
+    public void removeZone(long zoneId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = slotsByZoneId.remove(zoneId);
+            if (slot != LongIntHashMap.MISSING) {
+                BuildingEntry building = buildings.get(buildingIds[slot]);
+                if (building != null) {
+                    building.remove(slot, zoneIds);
+                }
+                releaseSlot(slot);
+            }
+            if (!ready) {
+                removedZonesDuringWarmUp.add(zoneId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Rows from the initial load never replace what a write already put in the store
+    // A zone written before its building was loaded created the building without an owner, the row sets it.
+    private void loadBuilding(long buildingId, long ownerId) {
+        lock.writeLock().lock();
+        try {
+            if (!removedBuildingsDuringWarmUp.contains(buildingId)) {
+                BuildingEntry building = buildings.computeIfAbsent(buildingId, id -> new BuildingEntry());
+                if (building.ownerId == NO_OWNER) {
+                    building.ownerId = ownerId;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void loadZone(long zoneId, long buildingId, String name, String description,
+                          BigDecimal targetTemperature, BigDecimal currentTemperature) {
+        int target = toCentiDegrees(targetTemperature);
+        int current = toCentiDegrees(currentTemperature);
+        lock.writeLock().lock();
+        try {
+            if (slotsByZoneId.get(zoneId) == LongIntHashMap.MISSING
+                    && !removedZonesDuringWarmUp.contains(zoneId)
+                    && buildings.containsKey(buildingId)) {
+                writeZone(zoneId, buildingId, name, description, target, current);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Reloaded rows replace the zone, unless it was updated again after the row was read
+    private void reloadZone(long zoneId, long buildingId, String name, String description,
+                            BigDecimal targetTemperature, BigDecimal currentTemperature) {
+        int target = toCentiDegrees(targetTemperature);
+        int current = toCentiDegrees(currentTemperature);
+        lock.writeLock().lock();
+        try {
+            if (!changedZonesDuringWarmUp.contains(zoneId)
+                    && !removedZonesDuringWarmUp.contains(zoneId)
+                    && buildings.containsKey(buildingId)) {
+                writeZone(zoneId, buildingId, name, description, target, current);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    // Before the store is ready, an update to a zone that is not loaded yet would be lost to an older row
+    // of the initial load, and one to a zone being reloaded may be older than the reloaded row.
+    private void noteWarmUpUpdate(long zoneId, int slot) {
+        if (!ready && (slot == LongIntHashMap.MISSING || reloadingZones.contains(zoneId))) {
+            changedZonesDuringWarmUp.add(zoneId);
+        }
+    }
+
+    // Caller holds the write lock
+    private void writeZone(long zoneId, long buildingId, String name, String description, int target, int current) {
+        int slot = slotsByZoneId.get(zoneId);
+        if (slot == LongIntHashMap.MISSING) {
+            slot = allocateSlot();
+            zoneIds[slot] = zoneId;
+            buildingIds[slot] = buildingId;
+            slotsByZoneId.put(zoneId, slot);
+            buildings.computeIfAbsent(buildingId, id -> new BuildingEntry()).insert(slot, zoneIds);
+        } else if (buildingIds[slot] != buildingId) {
+            BuildingEntry previous = buildings.get(buildingIds[slot]);
+            if (previous != null) {
+                previous.remove(slot, zoneIds);
+            }
+            buildingIds[slot] = buildingId;
+            buildings.computeIfAbsent(buildingId, id -> new BuildingEntry()).insert(slot, zoneIds);
+        }
+        names[slot] = name;
+        descriptions[slot] = description;
+        targetTemperatures[slot] = target;
+        currentTemperatures[slot] = current;
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotCount == zoneIds.length) {
+            int capacity = zoneIds.length * 2;
+            zoneIds = Arrays.copyOf(zoneIds, capacity);
+            buildingIds = Arrays.copyOf(buildingIds, capacity);
+            targetTemperatures = Arrays.copyOf(targetTemperatures, capacity);
+            currentTemperatures = Arrays.copyOf(currentTemperatures, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void releaseSlot(int slot) {
+        zoneIds[slot] = 0L;
+        names[slot] = null;
+        descriptions[slot] = null;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, Math.max(16, freeSlots.length * 2));
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    private ZoneDTO toDTO(int slot) {
+        return new ZoneDTO(
+            zoneIds[slot],
+            names[slot],
+            descriptions[slot],
+            buildingIds[slot],
+            fromCentiDegrees(targetTemperatures[slot]),
+            fromCentiDegrees(currentTemperatures[slot])
+        );
+    }
+
+    public static int toCentiDegrees(BigDecimal temperature) {
+        if (temperature == null) {
+            return NO_TEMPERATURE;
+        }
+        return temperature.setScale(2, RoundingMode.HALF_UP).unscaledValue().intValueExact();
+    }
+
+    public static BigDecimal fromCentiDegrees(int centiDegrees) {
+        return centiDegrees == NO_TEMPERATURE ? null : BigDecimal.valueOf(centiDegrees, 2);
+    }
+
+    // Copy of the zone columns, valid up to slotCount
+    // Free slots have a zone id of 0.
+    public record Columns(int slotCount, long[] zoneIds, long[] buildingIds,
+                          int[] targetTemperatures, int[] currentTemperatures) {}
+
+    // Owner and zone slots of one building, slots sorted by zone id
+    // The owner is NO_OWNER while only zones of the building have been written.
+    private static final class BuildingEntry {
+        private long ownerId = NO_OWNER;
+        private int[] slots = NO_SLOTS;
+        private int size;
+
+        private int firstIndexAfter(long zoneId, long[] zoneIds) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (zoneIds[slots[middle]] <= zoneId) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        // New zones usually have the highest id, so this is an append in the common case
+        private void insert(int slot, long[] zoneIds) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, Math.max(4, size * 2));
+            }
+            int index = firstIndexAfter(zoneIds[slot], zoneIds);
+            System.arraycopy(slots, index, slots, index + 1, size - index);
+            slots[index] = slot;
+            size++;
+        }
+
+        private void remove(int slot, long[] zoneIds) {
+            int index = firstIndexAfter(zoneIds[slot] - 1, zoneIds);
+            if (index < size && slots[index] == slot) {
+                System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+                size--;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+-- Baseline schema of users, buildings and zones, as created by init.sql.
+-- V2 to V4 were folded into it and are kept empty.
+CREATE TABLE IF NOT EXISTS users (
+    id bigserial NOT NULL,
+    username character varying(255) NOT NULL,
+    password character varying(255) NOT NULL,
+    first_name character varying(255),
+    last_name character varying(255),
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT users_username_key UNIQUE (username)
+);
+
+CREATE TABLE IF NOT EXISTS building (
+    id bigserial NOT NULL,
+    name character varying(255) NOT NULL,
+    owner_id bigint NOT NULL,
+    city character varying(255) NOT NULL,
+    street character varying(255) NOT NULL,
+    postal_code character varying(255) NOT NULL,
+    CONSTRAINT building_pkey PRIMARY KEY (id),
+    CONSTRAINT owner FOREIGN KEY (owner_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+COMMENT ON CONSTRAINT owner ON building IS 'user id';
+
+CREATE TABLE IF NOT EXISTS zone (
+    id bigserial NOT NULL,
+    name character varying(255) NOT NULL,
+    building_id bigint NOT NULL,
+    current_temp numeric(5,2) DEFAULT 22.00 NOT NULL,
+    target_temp numeric(5,2) DEFAULT 22.00,
+    created_at timestamp without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    updated_at timestamp without time zone DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    description character varying(255),
+    CONSTRAINT zone_pkey PRIMARY KEY (id),
+    CONSTRAINT building FOREIGN KEY (building_id) REFERENCES building(id) ON DELETE CASCADE
+);
@@ -0,0 +1,33 @@
+-- Raw zone readings, partitioned by day on recorded_at.
+-- Daily partitions are created ahead of time by the application; the default
+-- partition only catches readings outside the maintained window.
+CREATE TABLE IF NOT EXISTS zone_reading (
+    zone_id bigint NOT NULL,
+    recorded_at timestamp with time zone NOT NULL,
+    temperature numeric(5,2) NOT NULL
+) PARTITION BY RANGE (recorded_at);
+
+CREATE INDEX IF NOT EXISTS zone_reading_zone_id_recorded_at_idx ON zone_reading (zone_id, recorded_at);
+
+CREATE TABLE IF NOT EXISTS zone_reading_default PARTITION OF zone_reading DEFAULT;
+
+-- Rollups maintained on every telemetry flush. Average is sum_temp / sample_count.
+CREATE TABLE IF NOT EXISTS zone_reading_1m (
+    zone_id bigint NOT NULL,
+    bucket timestamp with time zone NOT NULL,
+    min_temp numeric(5,2) NOT NULL,
+    max_temp numeric(5,2) NOT NULL,
+    sum_temp numeric(14,2) NOT NULL,
+    sample_count bigint NOT NULL,
+    CONSTRAINT zone_reading_1m_pkey PRIMARY KEY (zone_id, bucket)
+);
+
+CREATE TABLE IF NOT EXISTS zone_reading_1h (
+    zone_id bigint NOT NULL,
+    bucket timestamp with time zone NOT NULL,
+    min_temp numeric(5,2) NOT NULL,
+    max_temp numeric(5,2) NOT NULL,
+    sum_temp numeric(14,2) NOT NULL,
+    sample_count bigint NOT NULL,
+    CONSTRAINT zone_reading_1h_pkey PRIMARY KEY (zone_id, bucket)
+);
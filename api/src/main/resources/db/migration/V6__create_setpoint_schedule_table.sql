@@ -0,0 +1,14 @@
+-- Time-of-day setpoint schedules of a building or of one of its zones.
+-- days_of_week is a bit mask with bit 0 for Monday up to bit 6 for Sunday,
+-- time_of_day is local time in time_zone.
+CREATE TABLE IF NOT EXISTS setpoint_schedule (
+    id bigserial PRIMARY KEY,
+    building_id bigint NOT NULL REFERENCES building(id) ON DELETE CASCADE,
+    zone_id bigint REFERENCES zone(id) ON DELETE CASCADE,
+    days_of_week smallint NOT NULL,
+    time_of_day time NOT NULL,
+    time_zone character varying(64) NOT NULL,
+    target_temp numeric(5,2) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS setpoint_schedule_building_id_idx ON setpoint_schedule (building_id);
@@ -0,0 +1,10 @@
+-- Indexes for the owner and building lookups, which were sequential scans.
+-- The id is the second column so keyset pages (owner_id = ? AND id > ? ORDER BY id)
+-- are read in index order without a sort. They also cover the ON DELETE CASCADE
+-- from users to building and from building to zone.
+CREATE INDEX IF NOT EXISTS building_owner_id_id_idx ON building (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS zone_building_id_id_idx ON zone (building_id, id);
+
+-- ON DELETE CASCADE from zone to setpoint_schedule
+CREATE INDEX IF NOT EXISTS setpoint_schedule_zone_id_idx ON setpoint_schedule (zone_id);
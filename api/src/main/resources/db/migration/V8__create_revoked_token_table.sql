@@ -0,0 +1,13 @@
+-- Tokens revoked before they expire, by the jti claim of the token.
+-- Every node reads the rows revoked since its last refresh (revoked_at) and
+-- rows are deleted once the token has expired (expires_at).
+CREATE TABLE IF NOT EXISTS revoked_token (
+    token_id uuid PRIMARY KEY,
+    user_id bigint NOT NULL,
+    expires_at timestamp with time zone NOT NULL,
+    revoked_at timestamp with time zone NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS revoked_token_revoked_at_idx ON revoked_token (revoked_at);
+
+CREATE INDEX IF NOT EXISTS revoked_token_expires_at_idx ON revoked_token (expires_at);
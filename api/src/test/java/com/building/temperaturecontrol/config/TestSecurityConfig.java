@@ -1,13 +1,19 @@
 package com.building.temperaturecontrol.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.mockito.Mockito;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import com.building.temperaturecontrol.repository.RevokedTokenRepository;
+import com.building.temperaturecontrol.security.RevokedTokens;
+import com.building.temperaturecontrol.security.VerifiedTokenCache;
 import com.building.temperaturecontrol.service.JwtService;
 
 @TestConfiguration
@@ -37,4 +43,19 @@ public class TestSecurityConfig {
     public JwtService jwtService() {
         return new JwtService();
     }
+
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache() {
+        return new VerifiedTokenCache(1000);
+    }
+
+    @Bean
+    public RevokedTokens revokedTokens() {
+        return new RevokedTokens(Mockito.mock(RevokedTokenRepository.class), 1000, 0.01, 10_000);
+    }
+
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
 } 
\ No newline at end of file
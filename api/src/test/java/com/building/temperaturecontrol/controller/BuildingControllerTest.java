@@ -1,5 +1,7 @@
 package com.building.temperaturecontrol.controller;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -13,14 +15,21 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
 import com.building.temperaturecontrol.config.TestSecurityConfig;
 import com.building.temperaturecontrol.dto.BuildingDTO;
+import com.building.temperaturecontrol.dto.CursorPageDTO;
 import com.building.temperaturecontrol.service.BuildingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.springframework.security.access.AccessDeniedException;
 import com.building.temperaturecontrol.exception.ResourceNotFoundException;
 
@@ -34,6 +43,9 @@ class BuildingControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockitoBean
     private BuildingService buildingService;
 
@@ -126,14 +138,84 @@ class BuildingControllerTest {
             new BuildingDTO(2L, "Building 2", 1L, "City 2", "Street 2", "67890", null)
         );
 
-        when(buildingService.getCurrentUserBuildings()).thenReturn(buildings);
+        when(buildingService.getCurrentUserBuildings(null, null)).thenReturn(new CursorPageDTO<>(buildings, null));
 
         mockMvc.perform(get("/api/v1/buildings")
                 .accept("application/vnd.temperaturecontrol.v1+json"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("application/vnd.temperaturecontrol.v1+json"))
                 .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[1].id").value(2));
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    @WithMockUser
+    void getMyBuildings_WithCborAccept_ShouldReturnCbor() throws Exception {
+        List<BuildingDTO> buildings = List.of(new BuildingDTO(1L, "Building 1", 1L, "City 1", "Street 1", "12345", List.of()));
+        when(buildingService.getCurrentUserBuildings(null, null)).thenReturn(new CursorPageDTO<>(buildings, null));
+
+        byte[] response = mockMvc.perform(get("/api/v1/buildings")
+                .accept("application/vnd.temperaturecontrol.v1+cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.temperaturecontrol.v1+cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        BuildingDTO[] decoded = new CBORMapper().readValue(response, BuildingDTO[].class);
+        assertEquals(1, decoded.length);
+        assertEquals("Building 1", decoded[0].getName());
+    }
+
+    @Test
+    @WithMockUser
+    void getMyBuildings_WithNextPage_ShouldReturnNextLink() throws Exception {
+        List<BuildingDTO> buildings = Arrays.asList(
+            new BuildingDTO(3L, "Building 3", 1L, "City 3", "Street 3", "12345", null),
+            new BuildingDTO(4L, "Building 4", 1L, "City 4", "Street 4", "67890", null)
+        );
+
+        when(buildingService.getCurrentUserBuildings(2L, 2)).thenReturn(new CursorPageDTO<>(buildings, 4L));
+
+        mockMvc.perform(get("/api/v1/buildings")
+                .param("after", "2")
+                .param("limit", "2")
+                .accept("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(header().string("X-Next-Cursor", "4"))
+                .andExpect(header().string("Link", "<http://localhost/api/v1/buildings?limit=2&after=4>; rel=\"next\""));
+    }
+
+    @Test
+    @WithMockUser
+    void getMyBuildings_WithOnlyAfter_ShouldUseDefaultLimit() throws Exception {
+        List<BuildingDTO> buildings = List.of(new BuildingDTO(3L, "Building 3", 1L, "City 3", "Street 3", "12345", null));
+        when(buildingService.getCurrentUserBuildings(2L, CursorPageDTO.DEFAULT_LIMIT)).thenReturn(new CursorPageDTO<>(buildings, null));
+
+        mockMvc.perform(get("/api/v1/buildings")
+                .param("after", "2")
+                .accept("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3));
+    }
+
+    @Test
+    @WithMockUser
+    void getMyBuildings_WithStream_ShouldWriteBuildingsFromService() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream output = invocation.getArgument(1);
+            output.write("[{\"id\":3}]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(buildingService).writeCurrentUserBuildings(eq(2L), any(OutputStream.class));
+
+        mockMvc.perform(get("/api/v1/buildings")
+                .param("stream", "true")
+                .param("after", "2")
+                .accept("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
     }
 
     @Test
@@ -150,6 +232,9 @@ class BuildingControllerTest {
     @WithMockUser
     void deleteBuilding_WithoutPermission_ShouldReturnForbidden() throws Exception {
         Long buildingId = 1L;
+        Counter accessDenied = meterRegistry.counter("temperaturecontrol.errors",
+            "outcome", "access_denied", "exception", "AccessDeniedException");
+        double deniedBefore = accessDenied.count();
         
         doThrow(new AccessDeniedException("Access denied"))
             .when(buildingService).deleteBuilding(buildingId);
@@ -158,5 +243,6 @@ class BuildingControllerTest {
                 .accept("application/vnd.temperaturecontrol.v1+json"))
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.message").value("Access denied"));
+        assertEquals(deniedBefore + 1, accessDenied.count());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.building.temperaturecontrol.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import com.building.temperaturecontrol.config.TestSecurityConfig;
+import com.building.temperaturecontrol.dto.SetpointScheduleDTO;
+import com.building.temperaturecontrol.service.SetpointScheduleService;
+
+@WebMvcTest(SetpointScheduleController.class)
+@Import(TestSecurityConfig.class)
+class SetpointScheduleControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SetpointScheduleService setpointScheduleService;
+
+    @Test
+    @WithMockUser
+    void createSchedule_WithValidData_ShouldReturnCreated() throws Exception {
+        when(setpointScheduleService.createSchedule(eq(1L), any(SetpointScheduleDTO.class)))
+            .thenReturn(new SetpointScheduleDTO(7L, 1L, null, EnumSet.of(DayOfWeek.MONDAY),
+                LocalTime.of(7, 30), "Europe/Stockholm", new BigDecimal("21.0")));
+
+        mockMvc.perform(post("/api/v1/buildings/{buildingId}/schedules", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept("application/vnd.temperaturecontrol.v1+json")
+                .content("{\"daysOfWeek\":[\"MONDAY\"],\"time\":\"07:30\",\"timeZone\":\"Europe/Stockholm\",\"targetTemperature\":21.0}"))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.daysOfWeek[0]").value("MONDAY"));
+    }
+
+    @Test
+    @WithMockUser
+    void createSchedule_WithoutDays_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/buildings/{buildingId}/schedules", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept("application/vnd.temperaturecontrol.v1+json")
+                .content("{\"daysOfWeek\":[],\"time\":\"07:30\",\"targetTemperature\":21.0}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getSchedules_ShouldReturnSchedules() throws Exception {
+        when(setpointScheduleService.getSchedules(1L)).thenReturn(List.of(
+            new SetpointScheduleDTO(7L, 1L, 2L, EnumSet.of(DayOfWeek.SATURDAY),
+                LocalTime.of(9, 0), "UTC", new BigDecimal("18.0"))));
+
+        mockMvc.perform(get("/api/v1/buildings/{buildingId}/schedules", 1L)
+                .accept("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].zoneId").value(2));
+    }
+
+    @Test
+    @WithMockUser
+    void deleteSchedule_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/v1/buildings/{buildingId}/schedules/{scheduleId}", 1L, 7L)
+                .accept("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(status().isNoContent());
+
+        verify(setpointScheduleService).deleteSchedule(1L, 7L);
+    }
+}
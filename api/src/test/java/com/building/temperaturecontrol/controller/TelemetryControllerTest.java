@@ -0,0 +1,84 @@
+package com.building.temperaturecontrol.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import com.building.temperaturecontrol.config.TestSecurityConfig;
+import com.building.temperaturecontrol.dto.TelemetryBatchDTO;
+import com.building.temperaturecontrol.dto.TelemetryIngestResultDTO;
+import com.building.temperaturecontrol.dto.ZoneReadingDTO;
+import com.building.temperaturecontrol.service.TelemetryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@WebMvcTest(TelemetryController.class)
+@Import(TestSecurityConfig.class)
+class TelemetryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private TelemetryService telemetryService;
+
+    @Test
+    @WithMockUser
+    void ingest_WithValidReadings_ShouldReturnAccepted() throws Exception {
+        TelemetryBatchDTO batch = new TelemetryBatchDTO(List.of(
+            new ZoneReadingDTO(1L, Instant.parse("2025-02-10T08:00:00Z"), new BigDecimal("21.5"))
+        ));
+
+        when(telemetryService.ingest(anyList())).thenReturn(new TelemetryIngestResultDTO(1, 0));
+
+        mockMvc.perform(post("/api/v1/telemetry")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept("application/vnd.temperaturecontrol.v1+json")
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isAccepted())
+                .andExpect(content().contentType("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected").value(0));
+    }
+
+    @Test
+    @WithMockUser
+    void ingest_WithOutOfRangeTemperature_ShouldReturnBadRequest() throws Exception {
+        TelemetryBatchDTO batch = new TelemetryBatchDTO(List.of(
+            new ZoneReadingDTO(1L, Instant.parse("2025-02-10T08:00:00Z"), new BigDecimal("80.0"))
+        ));
+
+        mockMvc.perform(post("/api/v1/telemetry")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept("application/vnd.temperaturecontrol.v1+json")
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors['readings[0].temperature']").exists());
+    }
+
+    @Test
+    @WithMockUser
+    void ingest_WithEmptyBatch_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/telemetry")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept("application/vnd.temperaturecontrol.v1+json")
+                .content(objectMapper.writeValueAsString(new TelemetryBatchDTO(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.readings").exists());
+    }
+}
@@ -5,11 +5,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.building.temperaturecontrol.config.TestSecurityConfig;
@@ -17,8 +20,10 @@ import com.building.temperaturecontrol.dto.UserRegistrationDTO;
 import com.building.temperaturecontrol.dto.AuthenticationRequestDTO;
 import com.building.temperaturecontrol.dto.UserDTO;
 import com.building.temperaturecontrol.exception.UsernameAlreadyExistsException;
+import com.building.temperaturecontrol.service.JwtService;
 import com.building.temperaturecontrol.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.building.temperaturecontrol.exception.AuthenticationOverloadedException;
 import com.building.temperaturecontrol.exception.InvalidCredentialsException;
 
 @WebMvcTest(UserController.class)
@@ -31,6 +36,9 @@ class UserControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JwtService jwtService;
+
     @MockitoBean
     private UserService userService;
 
@@ -130,6 +138,23 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.message").value("Invalid username or password"));
     }
 
+    @Test
+    void authenticate_WhenPasswordCheckIsSaturated_ShouldReturnTooManyRequests() throws Exception {
+        String username = "testuser";
+        String password = "password123";
+
+        when(userService.authenticate(username, password))
+            .thenThrow(new AuthenticationOverloadedException("Too many authentication requests, retry later"));
+
+        mockMvc.perform(post("/api/v1/users/authenticate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept("application/vnd.temperaturecontrol.v1+json")
+                .content(objectMapper.writeValueAsString(new AuthenticationRequestDTO(username, password))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
     @Test
     void authenticate_WithMissingCredentials_ShouldReturnBadRequest() throws Exception {
         AuthenticationRequestDTO dto = new AuthenticationRequestDTO("", "");
@@ -141,4 +166,24 @@ class UserControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.errors").exists());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void logout_WithToken_ShouldRevokeItAndReturnNoContent() throws Exception {
+        String token = jwtService.generateToken(1L, "testuser");
+
+        mockMvc.perform(post("/api/v1/users/logout")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        verify(userService).logout(token);
+    }
+
+    @Test
+    void logout_WithoutAuthentication_ShouldBeRejected() throws Exception {
+        mockMvc.perform(post("/api/v1/users/logout"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(userService);
+    }
+}
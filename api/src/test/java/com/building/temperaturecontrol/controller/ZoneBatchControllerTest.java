@@ -0,0 +1,80 @@
+package com.building.temperaturecontrol.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.building.temperaturecontrol.config.TestSecurityConfig;
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureBatchDTO;
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureBatchResultDTO;
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureDTO;
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureResultDTO;
+import com.building.temperaturecontrol.service.ZoneService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@WebMvcTest(ZoneBatchController.class)
+@Import(TestSecurityConfig.class)
+class ZoneBatchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private ZoneService zoneService;
+
+    @Test
+    @WithMockUser
+    void updateTargetTemperatures_ShouldReturnPerItemResults() throws Exception {
+        ZoneTargetTemperatureBatchDTO batch = new ZoneTargetTemperatureBatchDTO(List.of(
+            new ZoneTargetTemperatureDTO(1L, new BigDecimal("21.0")),
+            new ZoneTargetTemperatureDTO(2L, new BigDecimal("22.0"))
+        ));
+        when(zoneService.updateTargetTemperatures(any())).thenReturn(new ZoneTargetTemperatureBatchResultDTO(1, 1, List.of(
+            new ZoneTargetTemperatureResultDTO(1L, 10L, ZoneTargetTemperatureResultDTO.Status.UPDATED, new BigDecimal("21.0")),
+            new ZoneTargetTemperatureResultDTO(2L, null, ZoneTargetTemperatureResultDTO.Status.NOT_FOUND, null)
+        )));
+
+        mockMvc.perform(patch("/api/v1/zones/target-temp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept("application/vnd.temperaturecontrol.v1+json")
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"));
+    }
+
+    @Test
+    @WithMockUser
+    void updateTargetTemperatures_WithInvalidTemperature_ShouldRejectWholeBatch() throws Exception {
+        ZoneTargetTemperatureBatchDTO batch = new ZoneTargetTemperatureBatchDTO(List.of(
+            new ZoneTargetTemperatureDTO(1L, new BigDecimal("21.0")),
+            new ZoneTargetTemperatureDTO(2L, new BigDecimal("99.0"))
+        ));
+
+        mockMvc.perform(patch("/api/v1/zones/target-temp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept("application/vnd.temperaturecontrol.v1+json")
+                .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest());
+
+        verify(zoneService, never()).updateTargetTemperatures(any());
+    }
+}
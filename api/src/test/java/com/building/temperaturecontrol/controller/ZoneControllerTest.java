@@ -8,21 +8,31 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.doThrow;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 
 import com.building.temperaturecontrol.config.TestSecurityConfig;
+import com.building.temperaturecontrol.dto.CursorPageDTO;
 import com.building.temperaturecontrol.dto.ZoneDTO;
+import com.building.temperaturecontrol.dto.ZoneHistoryDTO;
+import com.building.temperaturecontrol.dto.ZoneHistoryPointDTO;
+import com.building.temperaturecontrol.model.HistoryResolution;
 import com.building.temperaturecontrol.dto.ZoneTemperatureUpdateDTO;
 import com.building.temperaturecontrol.service.ZoneService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.springframework.security.access.AccessDeniedException;
 import com.building.temperaturecontrol.exception.ResourceNotFoundException;
 
@@ -94,7 +104,7 @@ class ZoneControllerTest {
             new ZoneDTO(2L, "Zone 2", "Description 2", buildingId, new BigDecimal("21.0"), new BigDecimal("23.0"))
         );
 
-        when(zoneService.getZonesByBuilding(buildingId)).thenReturn(zones);
+        when(zoneService.getZonesByBuilding(buildingId, null, null)).thenReturn(new CursorPageDTO<>(zones, null));
 
         mockMvc.perform(get("/api/v1/buildings/{buildingId}/zones", buildingId)
                 .accept("application/vnd.temperaturecontrol.v1+json"))
@@ -104,6 +114,17 @@ class ZoneControllerTest {
                 .andExpect(jsonPath("$[1].id").value(2));
     }
 
+    @Test
+    @WithMockUser
+    void streamZoneChanges_ShouldOpenEventStream() throws Exception {
+        when(zoneService.streamZoneChanges(1L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/buildings/{buildingId}/zones/stream", 1L)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
     @Test
     @WithMockUser
     void getZone_WithValidId_ShouldReturnZone() throws Exception {
@@ -170,6 +191,38 @@ class ZoneControllerTest {
                 .andExpect(jsonPath("$.targetTemperature").value("23.5"));
     }
 
+    @Test
+    @WithMockUser
+    void updateTemperature_WithCbor_ShouldReadAndWriteCbor() throws Exception {
+        CBORMapper cborMapper = new CBORMapper();
+        ZoneDTO updatedZone = new ZoneDTO(1L, "Test Zone", null, 1L, new BigDecimal("23.5"), new BigDecimal("21.0"));
+        when(zoneService.updateTemperature(eq(1L), eq(1L), argThat(update ->
+                update.getTargetTemperature().compareTo(new BigDecimal("23.5")) == 0)))
+            .thenReturn(updatedZone);
+
+        byte[] response = mockMvc.perform(patch("/api/v1/buildings/{buildingId}/zones/{zoneId}/target-temp", 1L, 1L)
+                .contentType("application/vnd.temperaturecontrol.v1+cbor")
+                .accept("application/vnd.temperaturecontrol.v1+cbor")
+                .content(cborMapper.writeValueAsBytes(new ZoneTemperatureUpdateDTO(new BigDecimal("23.5")))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.temperaturecontrol.v1+cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ZoneDTO zone = cborMapper.readValue(response, ZoneDTO.class);
+        assertEquals(new BigDecimal("23.5"), zone.getTargetTemperature());
+        assertEquals("Test Zone", zone.getName());
+    }
+
+    @Test
+    @WithMockUser
+    void updateTemperature_WithInvalidCborBody_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/v1/buildings/{buildingId}/zones/{zoneId}/target-temp", 1L, 1L)
+                .contentType("application/vnd.temperaturecontrol.v1+cbor")
+                .accept("application/vnd.temperaturecontrol.v1+cbor")
+                .content(new CBORMapper().writeValueAsBytes(new ZoneTemperatureUpdateDTO(new BigDecimal("99.0")))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser
     void updateTemperature_WithInvalidAccess_ShouldReturnForbidden() throws Exception {
@@ -255,4 +308,39 @@ class ZoneControllerTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.message").value("Access denied"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void getZoneHistory_WithRange_ShouldReturnPoints() throws Exception {
+        Long buildingId = 1L;
+        Long zoneId = 1L;
+        Instant from = Instant.parse("2025-02-10T00:00:00Z");
+        Instant to = Instant.parse("2025-02-10T00:30:00Z");
+        BigDecimal temp = new BigDecimal("21.5");
+
+        when(zoneService.getZoneHistory(buildingId, zoneId, from, to, "auto"))
+            .thenReturn(new ZoneHistoryDTO(zoneId, HistoryResolution.RAW, from, to,
+                List.of(new ZoneHistoryPointDTO(from, temp, temp, temp, 1))));
+
+        mockMvc.perform(get("/api/v1/buildings/{buildingId}/zones/{zoneId}/history", buildingId, zoneId)
+                .param("from", from.toString())
+                .param("to", to.toString())
+                .accept("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(jsonPath("$.resolution").value("RAW"))
+                .andExpect(jsonPath("$.points[0].avg").value(21.5));
+    }
+
+    @Test
+    @WithMockUser
+    void getZoneHistory_WithUnknownResolution_ShouldReturnBadRequest() throws Exception {
+        when(zoneService.getZoneHistory(eq(1L), eq(1L), any(Instant.class), any(Instant.class), eq("weekly")))
+            .thenThrow(new jakarta.validation.ValidationException("resolution must be one of auto, raw, minute or hour"));
+
+        mockMvc.perform(get("/api/v1/buildings/{buildingId}/zones/{zoneId}/history", 1L, 1L)
+                .param("resolution", "weekly")
+                .accept("application/vnd.temperaturecontrol.v1+json"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,81 @@
+package com.building.temperaturecontrol.datasource;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticate(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    // Runs a request and tells whether it was sent to the primary
+    private static boolean readsFromPrimary(ReadYourWritesFilter filter, String method) throws Exception {
+        AtomicBoolean primary = new AtomicBoolean();
+        FilterChain chain = (request, response) -> primary.set(ReplicaRoutingDataSource.isPrimaryOnly());
+        filter.doFilter(new MockHttpServletRequest(method, "/api/v1/buildings"), new MockHttpServletResponse(), chain);
+        assertFalse(ReplicaRoutingDataSource.isPrimaryOnly());
+        return primary.get();
+    }
+
+    @Test
+    void doFilter_ReadAfterOwnWrite_ShouldUsePrimary() throws Exception {
+        // Arrange
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+        authenticate(1L);
+        readsFromPrimary(filter, "POST");
+
+        // Act
+        boolean result = readsFromPrimary(filter, "GET");
+
+        // Assert
+        assertTrue(result);
+    }
+
+    @Test
+    void doFilter_ReadAfterOtherUsersWrite_ShouldUseReplicas() throws Exception {
+        // Arrange
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+        authenticate(1L);
+        readsFromPrimary(filter, "PATCH");
+        authenticate(2L);
+
+        // Act
+        boolean result = readsFromPrimary(filter, "GET");
+
+        // Assert
+        assertFalse(result);
+    }
+
+    @Test
+    void doFilter_ReadAfterWindow_ShouldUseReplicas() throws Exception {
+        // Arrange
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ZERO);
+        authenticate(1L);
+        readsFromPrimary(filter, "PUT");
+
+        // Act
+        boolean result = readsFromPrimary(filter, "GET");
+
+        // Assert
+        assertFalse(result);
+    }
+}
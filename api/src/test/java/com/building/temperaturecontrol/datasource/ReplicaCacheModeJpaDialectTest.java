@@ -0,0 +1,125 @@
+package com.building.temperaturecontrol.datasource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.building.temperaturecontrol.config.CacheConfig;
+import com.building.temperaturecontrol.config.DataSourceConfig;
+import com.building.temperaturecontrol.model.Building;
+import com.building.temperaturecontrol.model.User;
+import com.building.temperaturecontrol.model.Zone;
+import com.building.temperaturecontrol.repository.BuildingRepository;
+import com.building.temperaturecontrol.repository.UserRepository;
+import com.building.temperaturecontrol.repository.ZoneRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Verifies that read-only transactions, which may read from a replica, never put into the second-level cache
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // The migrations are written for PostgreSQL, the H2 schema is generated from the entities
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({CacheConfig.class, ReplicaCacheModeJpaDialectTest.DialectConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaCacheModeJpaDialectTest {
+
+    @TestConfiguration
+    static class DialectConfig {
+        @Bean
+        static BeanPostProcessor replicaCacheModeJpaDialect() {
+            return DataSourceConfig.replicaCacheModeJpaDialect();
+        }
+    }
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private BuildingRepository buildingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Long zoneId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User owner = userRepository.save(new User("owner" + System.nanoTime(), "password", "John", "Doe"));
+        Building building = buildingRepository.save(new Building("Building", "City", "Street", "12345", owner));
+        zoneId = zoneRepository.save(new Zone("Zone", null, building)).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.clearPrimary();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldNotPutIntoCache() {
+        // Act
+        loadZone(true);
+        loadZone(true);
+
+        // Assert
+        assertEquals(0, statistics.getSecondLevelCachePutCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldReadWhatPrimaryReadsCached() {
+        // Arrange
+        ReplicaRoutingDataSource.usePrimary();
+        loadZone(true);
+        ReplicaRoutingDataSource.clearPrimary();
+        statistics.clear();
+
+        // Act
+        loadZone(true);
+
+        // Assert
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void readWriteTransaction_ShouldPutIntoCache() {
+        // Act
+        loadZone(false);
+
+        // Assert
+        assertEquals(1, statistics.getSecondLevelCachePutCount());
+    }
+
+    private void loadZone(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        template.executeWithoutResult(status -> zoneRepository.findById(zoneId).orElseThrow());
+    }
+}
@@ -0,0 +1,146 @@
+package com.building.temperaturecontrol.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private DataSource replica2;
+
+    @Mock
+    private Connection connection;
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.clearPrimary();
+    }
+
+    private ReplicaRoutingDataSource router(long maxLagMillis) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica1);
+        replicas.put("replica-2", replica2);
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, replicas, maxLagMillis);
+        router.afterPropertiesSet();
+        return router;
+    }
+
+    // Replica whose lag check reports the given lag, and which hands out connections afterwards
+    private void reportLag(DataSource replica, long lagMillis) throws SQLException {
+        Connection lagConnection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(replica.getConnection()).thenReturn(lagConnection, connection);
+        when(lagConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReplicaRoutingDataSource.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong(1)).thenReturn(lagMillis);
+    }
+
+    @Test
+    void getConnection_BeforeFirstLagCheck_ShouldUsePrimary() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource router = router(1000);
+        when(primary.getConnection()).thenReturn(connection);
+
+        // Act
+        Connection result = router.getConnection();
+
+        // Assert
+        assertSame(connection, result);
+        verifyNoInteractions(replica1, replica2);
+    }
+
+    @Test
+    void getConnection_WithHealthyReplicas_ShouldRoundRobin() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource router = router(1000);
+        reportLag(replica1, 0);
+        reportLag(replica2, 200);
+        router.checkLag();
+
+        // Act
+        router.getConnection();
+        router.getConnection();
+
+        // Assert
+        verify(replica1, times(2)).getConnection();
+        verify(replica2, times(2)).getConnection();
+        verifyNoInteractions(primary);
+        assertEquals(0.2, router.getLagSeconds("replica-2"));
+    }
+
+    @Test
+    void getConnection_WithLaggingReplica_ShouldSkipIt() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource router = router(1000);
+        reportLag(replica1, 5000);
+        reportLag(replica2, 0);
+        router.checkLag();
+
+        // Act
+        router.getConnection();
+        router.getConnection();
+
+        // Assert
+        verify(replica1, times(1)).getConnection();
+        verify(replica2, times(3)).getConnection();
+    }
+
+    @Test
+    void getConnection_WithUnreachableReplicas_ShouldFallBackToPrimary() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource router = router(1000);
+        when(replica1.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(replica2.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(connection);
+        router.checkLag();
+
+        // Act
+        Connection result = router.getConnection();
+
+        // Assert
+        assertSame(connection, result);
+        assertTrue(Double.isNaN(router.getLagSeconds("replica-1")));
+    }
+
+    @Test
+    void getConnection_WhenPrimaryIsForced_ShouldUsePrimary() throws SQLException {
+        // Arrange
+        ReplicaRoutingDataSource router = router(1000);
+        reportLag(replica1, 0);
+        reportLag(replica2, 0);
+        router.checkLag();
+        when(primary.getConnection()).thenReturn(connection);
+
+        // Act
+        ReplicaRoutingDataSource.usePrimary();
+        router.getConnection();
+
+        // Assert
+        verify(primary).getConnection();
+        verify(replica1, times(1)).getConnection();
+        verify(replica2, times(1)).getConnection();
+    }
+}
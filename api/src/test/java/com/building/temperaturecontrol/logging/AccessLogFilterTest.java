@@ -0,0 +1,95 @@
+package com.building.temperaturecontrol.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+    private static final String ZONE_PATTERN = "/api/v1/buildings/{buildingId}/zones/{zoneId}";
+
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        accessLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    // Runs a GET of a zone that the handler answers with the given status
+    private static void get(AccessLogFilter filter, int status) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/buildings/1/zones/2");
+        FilterChain chain = (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ZONE_PATTERN);
+            ((MockHttpServletResponse) res).setStatus(status);
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    @Test
+    void doFilter_SampledEndpoint_ShouldLogStructuredFields() throws Exception {
+        // Arrange
+        AccessLogFilter filter = new AccessLogFilter(0, Map.of("GET " + ZONE_PATTERN, 1.0), 1000);
+
+        // Act
+        get(filter, 200);
+
+        // Assert
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertTrue(event.getFormattedMessage().startsWith("GET " + ZONE_PATTERN + " 200 "));
+        assertTrue(event.getKeyValuePairs().contains(new KeyValuePair("path", "/api/v1/buildings/1/zones/2")));
+        assertTrue(event.getKeyValuePairs().contains(new KeyValuePair("status", 200)));
+    }
+
+    @Test
+    void doFilter_EndpointNotSampled_ShouldNotLog() throws Exception {
+        // Arrange
+        AccessLogFilter filter = new AccessLogFilter(1.0, Map.of("GET " + ZONE_PATTERN, 0.0), 1000);
+
+        // Act
+        get(filter, 200);
+
+        // Assert
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void doFilter_ServerError_ShouldAlwaysLog() throws Exception {
+        // Arrange
+        AccessLogFilter filter = new AccessLogFilter(0, Map.of(), 1000);
+
+        // Act
+        get(filter, 503);
+
+        // Assert
+        assertEquals(1, appender.list.size());
+    }
+
+    @Test
+    void parseSampleRates_ShouldSplitMethodPatternAndRate() {
+        // Act
+        Map<String, Double> rates = AccessLogFilter.parseSampleRates("GET " + ZONE_PATTERN + "=0.001, POST /api/v1/telemetry=0,");
+
+        // Assert
+        assertEquals(Map.of("GET " + ZONE_PATTERN, 0.001, "POST /api/v1/telemetry", 0.0), rates);
+    }
+}
@@ -0,0 +1,380 @@
+package com.building.temperaturecontrol.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import com.building.temperaturecontrol.model.HistoryResolution;
+import com.building.temperaturecontrol.model.TargetTemperatureUpdate;
+import com.building.temperaturecontrol.model.ZoneReading;
+import com.building.temperaturecontrol.model.ZoneReadingRollup;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs every repository query against PostgreSQL, migrated by Flyway and seeded with a large dataset,
+// and fails when the plan of any statement it issues has a sequential scan. Statements are recorded
+// with their bind parameters and replayed under EXPLAIN. Needs Docker, the suite is skipped without it.
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BuildingStreamRepository.class, ZoneTelemetryRepository.class, ZoneReadingRepository.class,
+        ZoneStateRepository.class, RevokedTokenRepository.class, SecondLevelCacheInvalidator.class,
+        QueryPlanTest.RecordingConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanTest {
+    private static final int USERS = 2_000;
+    private static final int BUILDINGS = USERS * 10;
+    private static final int ZONES = BUILDINGS * 10;
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+        BuildingRepository.class, ZoneRepository.class, UserRepository.class, SetpointScheduleRepository.class,
+        BuildingStreamRepository.class, ZoneTelemetryRepository.class, ZoneReadingRepository.class,
+        ZoneStateRepository.class, RevokedTokenRepository.class
+    );
+
+    // Repository methods that are not checked, with the reason
+    private static final Map<String, String> NOT_CHECKED = Map.of(
+        "ZoneStateRepository.forEachBuilding", "loads every building into the zone state store",
+        "ZoneStateRepository.forEachZone", "loads every zone into the zone state store",
+        "ZoneReadingRepository.createPartition", "DDL, moves the day's rows out of the default partition",
+        "ZoneReadingRepository.dropPartitionsBefore", "DDL, reads the catalog, prunes the default partition"
+    );
+
+    private static final StatementRecorder recorder = new StatementRecorder();
+    private static boolean seeded;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    private BuildingRepository buildingRepository;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SetpointScheduleRepository setpointScheduleRepository;
+
+    @Autowired
+    private BuildingStreamRepository buildingStreamRepository;
+
+    @Autowired
+    private ZoneTelemetryRepository zoneTelemetryRepository;
+
+    @Autowired
+    private ZoneStateRepository zoneStateRepository;
+
+    @Autowired
+    private ZoneReadingRepository zoneReadingRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Instant now = Instant.parse("2025-01-08T00:00:00Z");
+
+    @TestConfiguration
+    static class RecordingConfig {
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    // Building b belongs to user ((b - 1) % USERS) + 1 and zone z to building ((z - 1) % BUILDINGS) + 1,
+    // so the rows of one owner or building are spread over the whole table
+    @BeforeEach
+    void setUp() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (id, username, password, first_name, last_name) " +
+            "SELECT i, 'user' || i, 'password', 'First', 'Last' FROM generate_series(1, ?) i", USERS);
+        jdbcTemplate.update("INSERT INTO building (id, name, owner_id, city, street, postal_code) " +
+            "SELECT i, 'Building ' || i, (i - 1) % ? + 1, 'City', 'Street', '12345' FROM generate_series(1, ?) i",
+            USERS, BUILDINGS);
+        jdbcTemplate.update("INSERT INTO zone (id, name, building_id, current_temp, target_temp) " +
+            "SELECT i, 'Zone ' || i, (i - 1) % ? + 1, 20.00, 21.00 FROM generate_series(1, ?) i", BUILDINGS, ZONES);
+        jdbcTemplate.update("INSERT INTO setpoint_schedule (building_id, zone_id, days_of_week, time_of_day, time_zone, target_temp) " +
+            "SELECT i, i, 31, '07:00', 'Europe/Stockholm', 21.00 FROM generate_series(1, ?) i", BUILDINGS);
+        // A week of readings every 10 minutes for one zone in ten
+        jdbcTemplate.update("INSERT INTO zone_reading (zone_id, recorded_at, temperature) " +
+            "SELECT z, timestamptz '2025-01-01 00:00:00+00' + m * interval '10 minutes', 20.00 " +
+            "FROM generate_series(1, ?, 10) z, generate_series(0, 1007) m", BUILDINGS);
+        for (String table : List.of("zone_reading_1m", "zone_reading_1h")) {
+            jdbcTemplate.update("INSERT INTO " + table + " (zone_id, bucket, min_temp, max_temp, sum_temp, sample_count) " +
+                "SELECT z, timestamptz '2025-01-01 00:00:00+00' + h * interval '1 hour', 20.00, 20.00, 20.00, 1 " +
+                "FROM generate_series(1, ?) z, generate_series(0, 23) h", BUILDINGS);
+        }
+        // A revocation every second for the two days before now, each token valid for ten days
+        jdbcTemplate.update("INSERT INTO revoked_token (token_id, user_id, expires_at, revoked_at) " +
+            "SELECT gen_random_uuid(), (i - 1) % ? + 1, ? - i * interval '1 second' + interval '10 days', " +
+            "? - i * interval '1 second' FROM generate_series(1, 172800) i",
+            USERS, now.atOffset(ZoneOffset.UTC), now.atOffset(ZoneOffset.UTC));
+        jdbcTemplate.execute("ANALYZE");
+        seeded = true;
+    }
+
+    // One call of each repository query, keyed by repository and method name
+    private Map<String, Runnable> repositoryQueries() {
+        BigDecimal temperature = new BigDecimal("21.50");
+        ZoneReading reading = new ZoneReading(1L, now, temperature);
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("BuildingRepository.findByOwnerId", () -> buildingRepository.findByOwnerId(1L));
+        queries.put("BuildingRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc",
+            () -> buildingRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(101)));
+        queries.put("BuildingRepository.findOwnerIdById", () -> buildingRepository.findOwnerIdById(1L));
+        queries.put("ZoneRepository.findWithBuildingById", () -> zoneRepository.findWithBuildingById(1L));
+        queries.put("ZoneRepository.findDTOsByBuildingId", () -> zoneRepository.findDTOsByBuildingId(1L));
+        queries.put("ZoneRepository.findDTOsByBuildingIdAfter",
+            () -> zoneRepository.findDTOsByBuildingIdAfter(1L, 0L, Limit.of(101)));
+        queries.put("ZoneRepository.findDTOsByBuildingIdIn",
+            () -> zoneRepository.findDTOsByBuildingIdIn(List.of(1L, 2001L, 4001L)));
+        queries.put("ZoneRepository.findCurrentTemperatures",
+            () -> zoneRepository.findCurrentTemperatures(List.of(1L, 2L, 20001L)));
+        queries.put("ZoneRepository.findBuildingIdsOwnedBy",
+            () -> zoneRepository.findBuildingIdsOwnedBy(List.of(1L, 2L, 20001L), 1L));
+        queries.put("ZoneRepository.updateTargetTemperatureByBuildingId",
+            () -> zoneRepository.updateTargetTemperatureByBuildingId(1L, temperature));
+        queries.put("UserRepository.findByUsername", () -> userRepository.findByUsername("user1"));
+        queries.put("SetpointScheduleRepository.findByBuildingIdOrderByIdAsc",
+            () -> setpointScheduleRepository.findByBuildingIdOrderByIdAsc(1L));
+        queries.put("SetpointScheduleRepository.findByIdGreaterThanOrderByIdAsc",
+            () -> setpointScheduleRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1000)));
+        queries.put("ZoneStateRepository.forEachZoneIn",
+            () -> zoneStateRepository.forEachZoneIn(List.of(1L, 2L, 20001L), resultSet -> { }));
+        queries.put("BuildingStreamRepository.forEachBuildingZone",
+            () -> buildingStreamRepository.forEachBuildingZone(1L, 0L, resultSet -> { }));
+        queries.put("ZoneTelemetryRepository.updateCurrentTemperatures",
+            () -> zoneTelemetryRepository.updateCurrentTemperatures(List.of(reading)));
+        queries.put("ZoneTelemetryRepository.updateTargetTemperatures",
+            () -> zoneTelemetryRepository.updateTargetTemperatures(List.of(new TargetTemperatureUpdate(1L, 1L, temperature, now))));
+        queries.put("ZoneReadingRepository.appendHistory", () -> zoneReadingRepository.appendHistory(List.of(reading),
+            List.of(ZoneReadingRollup.of(reading, ChronoUnit.MINUTES)), List.of(ZoneReadingRollup.of(reading, ChronoUnit.HOURS))));
+        queries.put("ZoneReadingRepository.insertReadings", () -> zoneReadingRepository.insertReadings(List.of(reading)));
+        queries.put("ZoneReadingRepository.upsertRollups", () -> {
+            zoneReadingRepository.upsertRollups(HistoryResolution.MINUTE, List.of(ZoneReadingRollup.of(reading, ChronoUnit.MINUTES)));
+            zoneReadingRepository.upsertRollups(HistoryResolution.HOUR, List.of(ZoneReadingRollup.of(reading, ChronoUnit.HOURS)));
+        });
+        queries.put("RevokedTokenRepository.insert",
+            () -> revokedTokenRepository.insert(UUID.randomUUID(), 1L, now.plus(10, ChronoUnit.DAYS)));
+        queries.put("RevokedTokenRepository.findRevokedSince",
+            () -> revokedTokenRepository.findRevokedSince(now.minus(10, ChronoUnit.SECONDS)));
+        queries.put("RevokedTokenRepository.deleteExpired", () -> revokedTokenRepository.deleteExpired(now));
+        queries.put("ZoneReadingRepository.findHistory", () -> {
+            Instant from = Instant.parse("2025-01-02T00:00:00Z");
+            zoneReadingRepository.findHistory(1L, from, from.plus(1, ChronoUnit.HOURS), HistoryResolution.RAW, 10_000);
+            zoneReadingRepository.findHistory(1L, from, from.plus(1, ChronoUnit.DAYS), HistoryResolution.MINUTE, 10_000);
+            zoneReadingRepository.findHistory(1L, from, from.plus(7, ChronoUnit.DAYS), HistoryResolution.HOUR, 10_000);
+        });
+        return queries;
+    }
+
+    @Test
+    void repositoryQueries_ShouldCoverEveryRepositoryMethod() {
+        // Arrange
+        Set<String> methods = new TreeSet<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                if (Modifier.isPublic(method.getModifiers()) && !Modifier.isStatic(method.getModifiers()) && !method.isSynthetic()) {
+                    methods.add(repository.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+
+        // Act
+        methods.removeAll(repositoryQueries().keySet());
+        methods.removeAll(NOT_CHECKED.keySet());
+
+        // Assert
+        assertEquals(Set.of(), methods, "Repository methods without a query plan check");
+    }
+
+    @Test
+    void repositoryQueries_ShouldNotUseSequentialScans() throws Exception {
+        // Arrange
+        List<String> violations = new ArrayList<>();
+
+        for (Map.Entry<String, Runnable> query : repositoryQueries().entrySet()) {
+            // Act
+            recorder.clear();
+            query.getValue().run();
+            List<RecordedStatement> statements = recorder.statements();
+
+            // Assert
+            assertFalse(statements.isEmpty(), query.getKey() + " ran no statement");
+            for (RecordedStatement statement : statements) {
+                for (String relation : sequentialScans(statement)) {
+                    violations.add(query.getKey() + ": Seq Scan on " + relation + " in " + statement.sql());
+                }
+            }
+        }
+        assertEquals(List.of(), violations);
+    }
+
+    // Relations read with a sequential scan in the plan of the statement
+    private List<String> sequentialScans(RecordedStatement statement) throws Exception {
+        String sql = statement.sql().stripLeading().toLowerCase(Locale.ROOT);
+        if (!(sql.startsWith("select") || sql.startsWith("with") || sql.startsWith("update")
+                || sql.startsWith("delete") || sql.startsWith("insert"))) {
+            return List.of();
+        }
+        try (Connection connection = recorder.target().getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+            statement.bind(explain);
+            try (ResultSet resultSet = explain.executeQuery()) {
+                resultSet.next();
+                List<String> relations = new ArrayList<>();
+                collectSequentialScans(objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan"), relations);
+                return relations;
+            }
+        }
+    }
+
+    private static void collectSequentialScans(JsonNode plan, List<String> relations) {
+        if ("Seq Scan".equals(plan.path("Node Type").asText())) {
+            relations.add(plan.path("Relation Name").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            collectSequentialScans(child, relations);
+        }
+    }
+
+    // A prepared statement and the setter calls that bound its parameters
+    record RecordedStatement(String sql, List<BindCall> binds) {
+        void bind(PreparedStatement statement) throws Exception {
+            for (BindCall bind : binds) {
+                bind.method().invoke(statement, bind.args());
+            }
+        }
+    }
+
+    record BindCall(Method method, Object[] args) {
+    }
+
+    // Records every statement prepared through the wrapped data source with its bind parameters.
+    // Batched statements are recorded once.
+    static final class StatementRecorder {
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+        private volatile DataSource target;
+
+        DataSource wrap(DataSource dataSource) {
+            target = dataSource;
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return wrap(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return wrap(super.getConnection(username, password));
+                }
+            };
+        }
+
+        DataSource target() {
+            return target;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        List<RecordedStatement> statements() {
+            return List.copyOf(statements);
+        }
+
+        private Connection wrap(Connection connection) {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (method.getName().equals("prepareStatement")) {
+                    return wrap((PreparedStatement) result, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement wrap(PreparedStatement statement, String sql) {
+            List<BindCall> binds = new ArrayList<>();
+            return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    binds.add(new BindCall(method, args.clone()));
+                } else if (name.equals("clearParameters")) {
+                    binds.clear();
+                } else if (name.startsWith("execute") || name.equals("addBatch")) {
+                    if (!name.equals("executeBatch") && statements.stream().noneMatch(recorded -> recorded.sql().equals(sql))) {
+                        statements.add(new RecordedStatement(sql, List.copyOf(binds)));
+                    }
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.building.temperaturecontrol.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.building.temperaturecontrol.config.CacheConfig;
+import com.building.temperaturecontrol.dto.ZoneDTO;
+import com.building.temperaturecontrol.model.Building;
+import com.building.temperaturecontrol.model.TargetTemperatureUpdate;
+import com.building.temperaturecontrol.model.User;
+import com.building.temperaturecontrol.model.Zone;
+import com.building.temperaturecontrol.model.ZoneReading;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Verifies that zones and zone queries are served from the second-level cache
+// and that JDBC writes that bypass Hibernate evict them.
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // The migrations are written for PostgreSQL, the H2 schema is generated from the entities
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({CacheConfig.class, SecondLevelCacheInvalidator.class, ZoneTelemetryRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private BuildingRepository buildingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ZoneTelemetryRepository zoneTelemetryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Long buildingId;
+    private Long zoneId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Maintained by the JDBC writes only, so it is not in the schema generated from the entities
+        jdbcTemplate.execute("ALTER TABLE zone ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP");
+        User owner = userRepository.save(new User("owner" + System.nanoTime(), "password", "John", "Doe"));
+        Building building = buildingRepository.save(new Building("Building", "City", "Street", "12345", owner));
+        Zone zone = new Zone("Zone", null, building);
+        zone.setTargetTemperature(new BigDecimal("21.00"));
+        buildingId = building.getId();
+        zoneId = zoneRepository.save(zone).getId();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findById_ShouldBeServedFromCacheAfterFirstLoad() {
+        // Arrange
+        loadZone();
+        statistics.clear();
+
+        // Act
+        Zone zone = loadZone();
+
+        // Assert
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals(0, new BigDecimal("21.00").compareTo(zone.getTargetTemperature()));
+    }
+
+    @Test
+    void jdbcTargetTemperatureUpdate_ShouldEvictCachedZone() {
+        // Arrange
+        loadZone();
+
+        // Act
+        inTransaction(() -> zoneTelemetryRepository.updateTargetTemperatures(List.of(
+            new TargetTemperatureUpdate(zoneId, buildingId, new BigDecimal("18.50"), Instant.now()))));
+
+        // Assert
+        assertEquals(0, new BigDecimal("18.50").compareTo(loadZone().getTargetTemperature()));
+    }
+
+    @Test
+    void jdbcCurrentTemperatureUpdate_ShouldEvictOnlyTheZoneEntry() {
+        // Arrange
+        inTransaction(() -> zoneRepository.findDTOsByBuildingId(buildingId));
+        loadZone();
+        statistics.clear();
+
+        // Act
+        zoneTelemetryRepository.updateCurrentTemperatures(List.of(
+            new ZoneReading(zoneId, Instant.now(), new BigDecimal("23.25"))));
+
+        // Assert
+        List<ZoneDTO> zones = inTransaction(() -> zoneRepository.findDTOsByBuildingId(buildingId));
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertNull(zones.get(0).getCurrentTemperature());
+        assertEquals(0, new BigDecimal("23.25").compareTo(loadZone().getCurrentTemperature()));
+        assertEquals(0, new BigDecimal("23.25").compareTo(
+            zoneRepository.findCurrentTemperatures(List.of(zoneId)).get(0).getCurrentTemperature()));
+    }
+
+    private Zone loadZone() {
+        return inTransaction(() -> zoneRepository.findById(zoneId).orElseThrow());
+    }
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+}
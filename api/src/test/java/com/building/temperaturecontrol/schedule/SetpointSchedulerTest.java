@@ -0,0 +1,182 @@
+package com.building.temperaturecontrol.schedule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.building.temperaturecontrol.MutableClock;
+import com.building.temperaturecontrol.model.SetpointChange;
+import com.building.temperaturecontrol.repository.SetpointScheduleRepository;
+import com.building.temperaturecontrol.service.ZoneService;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SetpointSchedulerTest {
+
+    private static final ZoneId STOCKHOLM = ZoneId.of("Europe/Stockholm");
+
+    @Mock
+    private SetpointScheduleRepository setpointScheduleRepository;
+
+    @Mock
+    private ZoneService zoneService;
+
+    private MutableClock clock;
+    private SetpointScheduler scheduler;
+
+    // Monday 2025-02-10 06:00 in Stockholm
+    private final Instant monday = Instant.parse("2025-02-10T05:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(monday);
+        scheduler = new SetpointScheduler(setpointScheduleRepository, zoneService, new SimpleMeterRegistry(), clock, 1000, 2);
+    }
+
+    private static ScheduledSetpoint schedule(Long id, Long zoneId, int days, LocalTime time) {
+        return new ScheduledSetpoint(id, 1L, zoneId, days, time, STOCKHOLM, new BigDecimal("21.0"));
+    }
+
+    @Test
+    void nextFireAfter_ShouldSkipDaysNotInMask() {
+        // Arrange
+        int weekend = ScheduledSetpoint.toMask(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+
+        // Act
+        Instant next = schedule(1L, null, weekend, LocalTime.of(8, 0)).nextFireAfter(monday);
+
+        // Assert
+        assertEquals(Instant.parse("2025-02-15T07:00:00Z"), next);
+    }
+
+    @Test
+    void nextFireAfter_ShouldFollowDaylightSavingTime() {
+        // Arrange
+        int everyDay = ScheduledSetpoint.toMask(EnumSet.allOf(DayOfWeek.class));
+        ScheduledSetpoint morning = schedule(1L, null, everyDay, LocalTime.of(8, 0));
+        ScheduledSetpoint inGap = schedule(2L, null, everyDay, LocalTime.of(2, 30));
+        Instant beforeSwitch = Instant.parse("2025-03-29T12:00:00Z");
+
+        // Act & Assert
+        assertEquals(Instant.parse("2025-03-30T06:00:00Z"), morning.nextFireAfter(beforeSwitch));
+        assertEquals(Instant.parse("2025-03-30T01:30:00Z"), inGap.nextFireAfter(beforeSwitch));
+    }
+
+    @Test
+    void nextFireAfter_WithNoDays_ShouldReturnNull() {
+        assertNull(schedule(1L, null, 0, LocalTime.NOON).nextFireAfter(monday));
+    }
+
+    @Test
+    void mask_ShouldRoundTripDays() {
+        EnumSet<DayOfWeek> days = EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+        assertEquals(days, ScheduledSetpoint.fromMask(ScheduledSetpoint.toMask(days)));
+    }
+
+    @Test
+    void tick_ShouldApplyDueSetpointsInBatchesAndRescheduleThem() {
+        // Arrange
+        int everyDay = ScheduledSetpoint.toMask(EnumSet.allOf(DayOfWeek.class));
+        scheduler.register(schedule(1L, 1L, everyDay, LocalTime.of(7, 0)));
+        scheduler.register(schedule(2L, 2L, everyDay, LocalTime.of(7, 0)));
+        scheduler.register(schedule(3L, null, everyDay, LocalTime.of(7, 0)));
+        scheduler.register(schedule(4L, 4L, everyDay, LocalTime.of(9, 0)));
+
+        // Act
+        clock.set(monday.plusSeconds(3600));
+        scheduler.tick();
+
+        // Assert
+        verify(zoneService, times(2)).applySetpointChanges(any());
+        verify(zoneService).applySetpointChanges(argThat(changes -> changes.size() == 1));
+        assertEquals(4, scheduler.size());
+
+        // Act, the next firing is a day later
+        reset(zoneService);
+        clock.set(monday.plusSeconds(3 * 3600));
+        scheduler.tick();
+        verify(zoneService).applySetpointChanges(List.of(new SetpointChange(1L, 4L, new BigDecimal("21.0"))));
+        clock.set(monday.plusSeconds(5 * 3600));
+        scheduler.tick();
+        verifyNoMoreInteractions(zoneService);
+    }
+
+    @Test
+    void unregister_ShouldStopSchedule() {
+        // Arrange
+        int everyDay = ScheduledSetpoint.toMask(EnumSet.allOf(DayOfWeek.class));
+        scheduler.register(schedule(1L, 1L, everyDay, LocalTime.of(7, 0)));
+
+        // Act
+        scheduler.unregister(1L);
+        clock.set(monday.plusSeconds(3600));
+        scheduler.tick();
+
+        // Assert
+        assertEquals(0, scheduler.size());
+        verifyNoInteractions(zoneService);
+    }
+
+    @Test
+    void onSchedulesDeleted_ForZone_ShouldStopOnlyTheZonesSchedules() {
+        // Arrange
+        int everyDay = ScheduledSetpoint.toMask(EnumSet.allOf(DayOfWeek.class));
+        scheduler.register(schedule(1L, 1L, everyDay, LocalTime.of(7, 0)));
+        scheduler.register(schedule(2L, 2L, everyDay, LocalTime.of(7, 0)));
+        scheduler.register(schedule(3L, null, everyDay, LocalTime.of(7, 0)));
+
+        // Act
+        scheduler.onSchedulesDeleted(SchedulesDeletedEvent.forZone(1L, 1L));
+
+        // Assert
+        assertEquals(2, scheduler.size());
+    }
+
+    @Test
+    void onSchedulesDeleted_ForBuilding_ShouldStopAllItsSchedules() {
+        // Arrange
+        int everyDay = ScheduledSetpoint.toMask(EnumSet.allOf(DayOfWeek.class));
+        scheduler.register(schedule(1L, 1L, everyDay, LocalTime.of(7, 0)));
+        scheduler.register(schedule(2L, null, everyDay, LocalTime.of(7, 0)));
+        scheduler.register(new ScheduledSetpoint(3L, 2L, null, everyDay, LocalTime.of(7, 0), STOCKHOLM, new BigDecimal("21.0")));
+
+        // Act
+        scheduler.onSchedulesDeleted(SchedulesDeletedEvent.forBuilding(1L));
+        clock.set(monday.plusSeconds(3600));
+        scheduler.tick();
+
+        // Assert
+        assertEquals(1, scheduler.size());
+        verify(zoneService).applySetpointChanges(argThat(changes -> changes.size() == 1));
+    }
+
+    @Test
+    void tick_WhenApplyingFails_ShouldKeepSchedule() {
+        // Arrange
+        int everyDay = ScheduledSetpoint.toMask(EnumSet.allOf(DayOfWeek.class));
+        scheduler.register(schedule(1L, 1L, everyDay, LocalTime.of(7, 0)));
+        when(zoneService.applySetpointChanges(any())).thenThrow(new IllegalStateException("database down"));
+
+        // Act
+        clock.set(monday.plusSeconds(3600));
+
+        // Assert
+        assertDoesNotThrow(scheduler::tick);
+        assertEquals(1, scheduler.size());
+    }
+}
@@ -0,0 +1,78 @@
+package com.building.temperaturecontrol.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(1000, START);
+
+    private List<String> advanceTo(long millis) {
+        List<String> fired = new ArrayList<>();
+        wheel.advance(millis, entry -> fired.add(entry.payload()));
+        return fired;
+    }
+
+    @Test
+    void advance_ShouldFireEntriesWhenTheirTickIsReached() {
+        // Arrange
+        wheel.schedule("b", START + 5_000);
+        wheel.schedule("a", START + 2_500);
+
+        // Act & Assert
+        assertEquals(List.of(), advanceTo(START + 2_999));
+        assertEquals(List.of("a"), advanceTo(START + 3_000));
+        assertEquals(List.of("b"), advanceTo(START + 10_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_ShouldCascadeEntriesFromUpperLevelsOnTime() {
+        // Arrange
+        long[] delays = {63, 64, 65, 4_095, 4_096, 300_000, 16_777_215, 20_000_000};
+        for (long delay : delays) {
+            wheel.schedule(Long.toString(delay), START + delay * 1000);
+        }
+
+        // Act & Assert
+        for (long delay : delays) {
+            assertEquals(List.of(), advanceTo(START + delay * 1000 - 1), "before " + delay);
+            assertEquals(List.of(Long.toString(delay)), advanceTo(START + delay * 1000), "at " + delay);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancel_ShouldRemoveEntry() {
+        // Arrange
+        TimingWheel.Entry<String> cancelled = wheel.schedule("cancelled", START + 100_000);
+        wheel.schedule("kept", START + 100_000);
+
+        // Act
+        wheel.cancel(cancelled);
+        wheel.cancel(cancelled);
+
+        // Assert
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("kept"), advanceTo(START + 100_000));
+    }
+
+    @Test
+    void schedule_WithPastDeadline_ShouldFireOnNextTick() {
+        // Arrange
+        advanceTo(START + 10_000);
+
+        // Act
+        TimingWheel.Entry<String> entry = wheel.schedule("late", START);
+
+        // Assert
+        assertEquals(START + 11_000, entry.deadlineMillis());
+        assertEquals(List.of("late"), advanceTo(START + 11_000));
+    }
+}
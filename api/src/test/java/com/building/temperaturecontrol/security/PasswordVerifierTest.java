@@ -0,0 +1,76 @@
+package com.building.temperaturecontrol.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import com.building.temperaturecontrol.exception.AuthenticationOverloadedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordVerifierTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Encoder that blocks until released, so the pool can be saturated deterministically
+    private final PasswordEncoder blockingEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hashed-" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return encodedPassword.equals("hashed-" + rawPassword);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void matches_ShouldDelegateToEncoder() {
+        // Arrange
+        PasswordVerifier verifier = new PasswordVerifier(blockingEncoder, meterRegistry, 1, 1);
+        release.countDown();
+
+        // Act & Assert
+        assertTrue(verifier.matches("secret", "hashed-secret"));
+        assertFalse(verifier.matches("wrong", "hashed-secret"));
+        assertEquals(2, meterRegistry.get("temperaturecontrol.password.hash").timer().count());
+    }
+
+    @Test
+    void matches_WhenPoolAndQueueAreFull_ShouldRejectImmediately() throws Exception {
+        // Arrange
+        PasswordVerifier verifier = new PasswordVerifier(blockingEncoder, meterRegistry, 1, 1);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> verifier.matches("secret", "hashed-secret"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> verifier.matches("secret", "hashed-secret"));
+        while (meterRegistry.get("temperaturecontrol.password.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // Act & Assert
+        assertThrows(AuthenticationOverloadedException.class, () -> verifier.matches("secret", "hashed-secret"));
+        assertEquals(1, meterRegistry.get("temperaturecontrol.password.rejected").functionCounter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+}
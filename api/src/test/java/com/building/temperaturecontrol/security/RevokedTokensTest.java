@@ -0,0 +1,116 @@
+package com.building.temperaturecontrol.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import com.building.temperaturecontrol.repository.RevokedTokenRepository;
+import com.building.temperaturecontrol.repository.RevokedTokenRepository.RevokedToken;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevokedTokensTest {
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private RevokedTokens revokedTokens;
+    private Instant expiresAt;
+
+    @BeforeEach
+    void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        revokedTokens = new RevokedTokens(revokedTokenRepository, 4, 0.01, 10_000);
+        expiresAt = Instant.now().plus(1, ChronoUnit.DAYS);
+    }
+
+    @Test
+    void revoke_ShouldStoreTokenAndRejectItAtOnce() {
+        // Arrange
+        UUID tokenId = UUID.randomUUID();
+
+        // Act
+        revokedTokens.revoke(tokenId, 1L, expiresAt);
+
+        // Assert
+        verify(revokedTokenRepository).insert(tokenId, 1L, expiresAt);
+        assertTrue(revokedTokens.isRevoked(tokenId));
+        assertFalse(revokedTokens.isRevoked(UUID.randomUUID()));
+        assertFalse(revokedTokens.isRevoked(null));
+    }
+
+    @Test
+    void revoke_BeyondExpectedTokens_ShouldStillRejectEveryToken() {
+        // Arrange
+        List<UUID> tokenIds = Stream.generate(UUID::randomUUID).limit(100).toList();
+
+        // Act
+        tokenIds.forEach(tokenId -> revokedTokens.revoke(tokenId, 1L, expiresAt));
+
+        // Assert
+        assertEquals(100, revokedTokens.size());
+        tokenIds.forEach(tokenId -> assertTrue(revokedTokens.isRevoked(tokenId)));
+    }
+
+    @Test
+    void refresh_ShouldReadTokensRevokedSinceLastRefreshWithOverlap() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Instant revokedAt = Instant.parse("2025-01-01T12:00:00Z");
+        when(revokedTokenRepository.findRevokedSince(Instant.EPOCH.minusMillis(10_000)))
+            .thenReturn(List.of(new RevokedToken(first, expiresAt, revokedAt)));
+        when(revokedTokenRepository.findRevokedSince(revokedAt.minusMillis(10_000)))
+            .thenReturn(List.of(new RevokedToken(first, expiresAt, revokedAt),
+                new RevokedToken(second, expiresAt, revokedAt.plusSeconds(1))));
+
+        // Act
+        revokedTokens.refresh();
+        boolean secondRevokedBefore = revokedTokens.isRevoked(second);
+        revokedTokens.refresh();
+
+        // Assert
+        assertTrue(revokedTokens.isRevoked(first));
+        assertFalse(secondRevokedBefore);
+        assertTrue(revokedTokens.isRevoked(second));
+        assertEquals(2, revokedTokens.size());
+    }
+
+    @Test
+    void refresh_WhenDatabaseFails_ShouldKeepKnownTokens() {
+        // Arrange
+        UUID tokenId = UUID.randomUUID();
+        revokedTokens.revoke(tokenId, 1L, expiresAt);
+        when(revokedTokenRepository.findRevokedSince(Instant.EPOCH.minusMillis(10_000)))
+            .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // Act
+        revokedTokens.refresh();
+
+        // Assert
+        assertTrue(revokedTokens.isRevoked(tokenId));
+    }
+
+    @Test
+    void purgeExpired_ShouldForgetExpiredTokens() {
+        // Arrange
+        UUID expired = UUID.randomUUID();
+        UUID valid = UUID.randomUUID();
+        revokedTokens.revoke(expired, 1L, Instant.now().minusSeconds(1));
+        revokedTokens.revoke(valid, 1L, expiresAt);
+
+        // Act
+        revokedTokens.purgeExpired();
+
+        // Assert
+        assertEquals(1, revokedTokens.size());
+        assertFalse(revokedTokens.isRevoked(expired));
+        assertTrue(revokedTokens.isRevoked(valid));
+    }
+}
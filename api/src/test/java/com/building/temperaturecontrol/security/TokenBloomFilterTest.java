@@ -0,0 +1,58 @@
+package com.building.temperaturecontrol.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBloomFilterTest {
+
+    @Test
+    void mightContain_WithAddedIds_ShouldAlwaysBeTrue() {
+        // Arrange
+        TokenBloomFilter filter = new TokenBloomFilter(10_000, 0.01);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            filter.add(id);
+        }
+
+        // Act & Assert
+        for (UUID id : ids) {
+            assertTrue(filter.mightContain(id));
+        }
+    }
+
+    @Test
+    void mightContain_AtCapacity_ShouldStayNearFalsePositiveRate() {
+        // Arrange
+        TokenBloomFilter filter = new TokenBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID());
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void mightContain_WhenEmpty_ShouldBeFalse() {
+        // Arrange
+        TokenBloomFilter filter = new TokenBloomFilter(100, 0.01);
+
+        // Act & Assert
+        assertFalse(filter.mightContain(UUID.randomUUID()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.building.temperaturecontrol.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private VerifiedTokenCache.VerifiedToken verify(String token, long expiresAtMillis) {
+        verifications.incrementAndGet();
+        return new VerifiedTokenCache.VerifiedToken(1L, "user-" + token, null, expiresAtMillis);
+    }
+
+    @Test
+    void getOrVerify_WithRepeatedToken_ShouldVerifyOnlyOnce() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Runnable::run);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        // Act
+        cache.getOrVerify("a", token -> verify(token, expiresAt));
+        VerifiedTokenCache.VerifiedToken result = cache.getOrVerify("a", token -> verify(token, expiresAt));
+
+        // Assert
+        assertEquals("user-a", result.username());
+        assertEquals(1, verifications.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void getOrVerify_WithExpiredEntry_ShouldVerifyAgain() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Runnable::run);
+        long expired = System.currentTimeMillis() - 1;
+
+        // Act
+        cache.getOrVerify("a", token -> verify(token, expired));
+        cache.getOrVerify("a", token -> verify(token, expired));
+
+        // Assert
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    void getOrVerify_WhenFull_ShouldNotGrowBeyondMaxSize() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, Runnable::run);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        // Act
+        for (String token : new String[] {"a", "b", "c", "d"}) {
+            cache.getOrVerify(token, t -> verify(t, expiresAt));
+        }
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals(4, verifications.get());
+    }
+
+    @Test
+    void getOrVerify_WhenFull_ShouldStillCacheNewTokens() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, Runnable::run);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (String token : new String[] {"a", "b", "c"}) {
+            cache.getOrVerify(token, t -> verify(t, expiresAt));
+        }
+
+        // Act
+        cache.getOrVerify("c", t -> verify(t, expiresAt));
+
+        // Assert
+        assertEquals(3, verifications.get());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void size_ShouldNotCountExpiredTokens() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, Runnable::run);
+        cache.getOrVerify("a", token -> verify(token, System.currentTimeMillis() - 1));
+        cache.getOrVerify("b", token -> verify(token, System.currentTimeMillis() + 60_000));
+
+        // Act
+        long size = cache.size();
+
+        // Assert
+        assertEquals(1, size);
+    }
+}
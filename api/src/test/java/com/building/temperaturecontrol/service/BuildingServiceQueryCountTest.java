@@ -0,0 +1,175 @@
+package com.building.temperaturecontrol.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.building.temperaturecontrol.dto.BuildingDTO;
+import com.building.temperaturecontrol.dto.CursorPageDTO;
+import com.building.temperaturecontrol.model.Building;
+import com.building.temperaturecontrol.model.User;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+import com.building.temperaturecontrol.state.ZoneStateStore;
+import com.building.temperaturecontrol.model.Zone;
+import com.building.temperaturecontrol.repository.BuildingStreamRepository;
+import com.building.temperaturecontrol.repository.SecondLevelCacheInvalidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+// Verifies that listing buildings issues a constant number of statements,
+// whatever the number of buildings and zones the owner has, and that the streamed list matches the paged one.
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // The migrations are written for PostgreSQL, the H2 schema is generated from the entities
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({BuildingService.class, BuildingStreamRepository.class, SecondLevelCacheInvalidator.class,
+    ZoneCurrentTemperatureReader.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BuildingServiceQueryCountTest {
+
+    @Autowired
+    private BuildingService buildingService;
+
+    @MockitoBean
+    private ZoneStateStore zoneStateStore;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getCurrentUserBuildings_StatementCountShouldNotDependOnBuildingCount() {
+        // Arrange
+        User owner = entityManager.persist(new User("owner", "password", "John", "Doe"));
+        SecurityContextHolder.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+            new AuthenticatedUser(owner.getId(), owner.getUsername()), null, List.of())));
+        createBuildings(owner, 3);
+        long fewBuildings = countStatements();
+        createBuildings(owner, 40);
+
+        // Act
+        long manyBuildings = countStatements();
+
+        // Assert
+        assertEquals(fewBuildings, manyBuildings);
+        assertTrue(manyBuildings <= 2, "Expected at most 2 statements but was " + manyBuildings);
+    }
+
+    @Test
+    void writeCurrentUserBuildings_ShouldWriteSameBuildingsAsPagedList() throws Exception {
+        // Arrange
+        User owner = entityManager.persist(new User("owner", "password", "John", "Doe"));
+        User otherOwner = entityManager.persist(new User("other", "password", "Jane", "Doe"));
+        SecurityContextHolder.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+            new AuthenticatedUser(owner.getId(), owner.getUsername()), null, List.of())));
+        createBuildings(owner, 3);
+        entityManager.persist(new Building("Empty Building", "City", "Street", "12345", owner));
+        createBuildings(otherOwner, 2);
+        entityManager.flush();
+        entityManager.clear();
+        // The store knows no zone, so the paged list reads current temperatures from the database
+        when(zoneStateStore.fillCurrentTemperatures(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        buildingService.writeCurrentUserBuildings(null, output);
+
+        // Assert
+        List<BuildingDTO> paged = buildingService.getCurrentUserBuildings(null, CursorPageDTO.MAX_LIMIT).getItems();
+        JsonNode streamed = objectMapper.readTree(output.toByteArray());
+        assertEquals(4, streamed.size());
+        assertEquals(0, streamed.get(3).get("zones").size());
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(paged)), streamed);
+    }
+
+    @Test
+    void writeCurrentUserBuildings_ShouldFlushFirstBuildingOnceComplete() throws Exception {
+        // Arrange
+        User owner = entityManager.persist(new User("owner", "password", "John", "Doe"));
+        SecurityContextHolder.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+            new AuthenticatedUser(owner.getId(), owner.getUsername()), null, List.of())));
+        createBuildings(owner, 3);
+        entityManager.flush();
+        entityManager.clear();
+        List<String> flushed = new ArrayList<>();
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushed.add(toString(StandardCharsets.UTF_8));
+            }
+        };
+
+        // Act
+        buildingService.writeCurrentUserBuildings(null, output);
+
+        // Assert
+        assertFalse(flushed.isEmpty());
+        JsonNode firstFlush = objectMapper.readTree(flushed.get(0) + "]");
+        assertEquals(1, firstFlush.size());
+        assertEquals(2, firstFlush.get(0).get("zones").size());
+    }
+
+    private long countStatements() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        List<BuildingDTO> buildings = buildingService.getCurrentUserBuildings(null, CursorPageDTO.MAX_LIMIT).getItems();
+        assertFalse(buildings.isEmpty());
+        buildings.forEach(building -> assertEquals(2, building.getZones().size()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createBuildings(User owner, int count) {
+        for (int i = 0; i < count; i++) {
+            Building building = entityManager.persist(
+                new Building("Building " + i, "City", "Street " + i, "12345", owner));
+            for (int z = 0; z < 2; z++) {
+                Zone zone = new Zone("Zone " + z, null, building);
+                zone.setTargetTemperature(new BigDecimal("21.00"));
+                entityManager.persist(zone);
+            }
+        }
+    }
+}
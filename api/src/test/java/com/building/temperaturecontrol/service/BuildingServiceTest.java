@@ -6,6 +6,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -13,11 +15,17 @@ import org.springframework.security.access.AccessDeniedException;
 
 import com.building.temperaturecontrol.model.Building;
 import com.building.temperaturecontrol.model.User;
+import com.building.temperaturecontrol.dto.CursorPageDTO;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+import com.building.temperaturecontrol.state.ZoneStateStore;
 import com.building.temperaturecontrol.repository.BuildingRepository;
 import com.building.temperaturecontrol.repository.UserRepository;
+import com.building.temperaturecontrol.repository.SecondLevelCacheInvalidator;
+import com.building.temperaturecontrol.schedule.SchedulesDeletedEvent;
 import com.building.temperaturecontrol.repository.ZoneRepository;
 import com.building.temperaturecontrol.dto.BuildingDTO;
 
+import jakarta.validation.ValidationException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -38,6 +46,18 @@ class BuildingServiceTest {
     @Mock
     private ZoneRepository zoneRepository;
 
+    @Mock
+    private ZoneStateStore zoneStateStore;
+
+    @Mock
+    private SecondLevelCacheInvalidator cacheInvalidator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ZoneCurrentTemperatureReader currentTemperatureReader;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -53,12 +73,13 @@ class BuildingServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(currentTemperatureReader.fill(any())).thenAnswer(invocation -> invocation.getArgument(0));
         testUser = new User(1L, "testuser", "password", "John", "Doe");
         testBuilding = new Building("Test Building", "Test City", "Test Street", "12345", testUser);
         testBuildingDTO = new BuildingDTO(1L, "Test Building", 1L, "Test City", "Test Street", "12345", List.of());
 
         // Setup Security Context
-        when(authentication.getName()).thenReturn("testuser");
+        when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "testuser"));
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
     }
@@ -66,8 +87,9 @@ class BuildingServiceTest {
     @Test
     void createBuilding_WithValidData_ShouldReturnBuildingDTO() {
         // Arrange
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(buildingRepository.save(any(Building.class))).thenReturn(testBuilding);
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        Building savedBuilding = new Building(5L, "Test Building", "Test City", "Test Street", "12345", testUser);
+        when(buildingRepository.save(any(Building.class))).thenReturn(savedBuilding);
 
         // Act
         BuildingDTO result = buildingService.createBuilding(testBuildingDTO);
@@ -76,22 +98,67 @@ class BuildingServiceTest {
         assertNotNull(result);
         assertEquals(testBuildingDTO.getName(), result.getName());
         assertEquals(testBuildingDTO.getCity(), result.getCity());
+        verify(zoneStateStore).putBuilding(5L, 1L);
     }
 
     @Test
     void getCurrentUserBuildings_ShouldReturnListOfBuildings() {
         // Arrange
         List<Building> buildings = Arrays.asList(testBuilding);
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(buildingRepository.findByOwnerId(testUser.getId())).thenReturn(buildings);
+        when(buildingRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(101))).thenReturn(buildings);
 
         // Act
-        List<BuildingDTO> result = buildingService.getCurrentUserBuildings();
+        CursorPageDTO<BuildingDTO> result = buildingService.getCurrentUserBuildings(null, 100);
 
         // Assert
-        assertFalse(result.isEmpty());
-        assertEquals(1, result.size());
-        assertEquals(testBuildingDTO.getName(), result.get(0).getName());
+        assertFalse(result.getItems().isEmpty());
+        assertEquals(1, result.getItems().size());
+        assertEquals(testBuildingDTO.getName(), result.getItems().get(0).getName());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getCurrentUserBuildings_WithoutLimit_ShouldReturnAllBuildings() {
+        // Arrange
+        List<Building> buildings = Arrays.asList(
+            new Building(5L, "Building 5", "City", "Street", "12345", testUser),
+            new Building(7L, "Building 7", "City", "Street", "12345", testUser)
+        );
+        when(buildingRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.unlimited())).thenReturn(buildings);
+
+        // Act
+        CursorPageDTO<BuildingDTO> result = buildingService.getCurrentUserBuildings(null, null);
+
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getCurrentUserBuildings_WithMoreBuildingsThanLimit_ShouldReturnNextCursor() {
+        // Arrange
+        List<Building> buildings = Arrays.asList(
+            new Building(5L, "Building 5", "City", "Street", "12345", testUser),
+            new Building(7L, "Building 7", "City", "Street", "12345", testUser),
+            new Building(9L, "Building 9", "City", "Street", "12345", testUser)
+        );
+        when(buildingRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(1L, 4L, Limit.of(3))).thenReturn(buildings);
+
+        // Act
+        CursorPageDTO<BuildingDTO> result = buildingService.getCurrentUserBuildings(4L, 2);
+
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertEquals(7L, result.getNextCursor());
+    }
+
+    @Test
+    void getCurrentUserBuildings_WithLimitAboveMaximum_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(ValidationException.class, () ->
+            buildingService.getCurrentUserBuildings(null, CursorPageDTO.MAX_LIMIT + 1)
+        );
+        verify(buildingRepository, never()).findByOwnerIdAndIdGreaterThanOrderByIdAsc(any(), any(), any());
     }
 
     @Test
@@ -129,6 +196,9 @@ class BuildingServiceTest {
         // Act & Assert
         assertDoesNotThrow(() -> buildingService.deleteBuilding(1L));
         verify(buildingRepository).delete(testBuilding);
+        verify(zoneStateStore).removeBuilding(1L);
+        verify(cacheInvalidator).evictAllZones();
+        verify(eventPublisher).publishEvent(SchedulesDeletedEvent.forBuilding(1L));
     }
 
     @Test
@@ -2,6 +2,9 @@ package com.building.temperaturecontrol.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class JwtServiceTest {
@@ -18,7 +21,7 @@ class JwtServiceTest {
     @Test
     void generateToken_ShouldCreateValidToken() {
         // Act
-        String token = jwtService.generateToken(testUsername);
+        String token = jwtService.generateToken(1L, testUsername);
 
         // Assert
         assertNotNull(token);
@@ -28,7 +31,7 @@ class JwtServiceTest {
     @Test
     void extractUsername_WithValidToken_ShouldReturnUsername() {
         // Arrange
-        String token = jwtService.generateToken(testUsername);
+        String token = jwtService.generateToken(1L, testUsername);
 
         // Act
         String extractedUsername = jwtService.extractUsername(token);
@@ -37,10 +40,22 @@ class JwtServiceTest {
         assertEquals(testUsername, extractedUsername);
     }
 
+    @Test
+    void extractUserId_WithValidToken_ShouldReturnUserId() {
+        // Arrange
+        String token = jwtService.generateToken(42L, testUsername);
+
+        // Act
+        Long extractedUserId = jwtService.extractUserId(token);
+
+        // Assert
+        assertEquals(42L, extractedUserId);
+    }
+
     @Test
     void generateToken_ShouldCreateTokenWithCorrectClaims() {
         // Act
-        String token = jwtService.generateToken(testUsername);
+        String token = jwtService.generateToken(1L, testUsername);
 
         // Assert
         assertAll(
@@ -56,18 +71,30 @@ class JwtServiceTest {
         String user2 = "user2";
 
         // Act
-        String token1 = jwtService.generateToken(user1);
-        String token2 = jwtService.generateToken(user2);
+        String token1 = jwtService.generateToken(1L, user1);
+        String token2 = jwtService.generateToken(2L, user2);
 
         // Assert
         assertNotEquals(token1, token2);
     }
 
+    @Test
+    void generateToken_ShouldSetRandomTokenId() {
+        // Act
+        String token1 = jwtService.generateToken(1L, testUsername);
+        String token2 = jwtService.generateToken(1L, testUsername);
+
+        // Assert
+        String tokenId = jwtService.parseClaims(token1).getId();
+        assertEquals(tokenId, UUID.fromString(tokenId).toString());
+        assertNotEquals(tokenId, jwtService.parseClaims(token2).getId());
+    }
+
     @Test
     void generateToken_ShouldCreateDifferentTokensForSameUser() {
         // Act
-        String token1 = jwtService.generateToken(testUsername);
-        String token2 = jwtService.generateToken(testUsername);
+        String token1 = jwtService.generateToken(1L, testUsername);
+        String token2 = jwtService.generateToken(1L, testUsername);
 
         // Assert
         assertNotEquals(token1, token2, "Tokens should be different even for the same user");
@@ -0,0 +1,182 @@
+package com.building.temperaturecontrol.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.building.temperaturecontrol.dto.SetpointScheduleDTO;
+import com.building.temperaturecontrol.exception.ResourceNotFoundException;
+import com.building.temperaturecontrol.model.Building;
+import com.building.temperaturecontrol.model.SetpointSchedule;
+import com.building.temperaturecontrol.model.User;
+import com.building.temperaturecontrol.model.Zone;
+import com.building.temperaturecontrol.repository.BuildingRepository;
+import com.building.temperaturecontrol.repository.SetpointScheduleRepository;
+import com.building.temperaturecontrol.repository.ZoneRepository;
+import com.building.temperaturecontrol.schedule.SetpointScheduler;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+
+import jakarta.validation.ValidationException;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SetpointScheduleServiceTest {
+
+    @Mock
+    private SetpointScheduleRepository setpointScheduleRepository;
+
+    @Mock
+    private BuildingRepository buildingRepository;
+
+    @Mock
+    private ZoneRepository zoneRepository;
+
+    @Mock
+    private SetpointScheduler setpointScheduler;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private SetpointScheduleService setpointScheduleService;
+
+    private Building testBuilding;
+    private SetpointScheduleDTO testScheduleDTO;
+
+    @BeforeEach
+    void setUp() {
+        User testUser = new User(1L, "testuser", "password", "John", "Doe");
+        testBuilding = new Building(1L, "Test Building", "Test City", "Test Street", "12345", testUser);
+        testScheduleDTO = new SetpointScheduleDTO(null, null, null, EnumSet.of(DayOfWeek.MONDAY, DayOfWeek.FRIDAY),
+            LocalTime.of(7, 30), "Europe/Stockholm", new BigDecimal("21.0"));
+
+        // Setup Security Context
+        when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "testuser"));
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @Test
+    void createSchedule_WithValidData_ShouldSaveAndRegisterSchedule() {
+        // Arrange
+        when(buildingRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
+        when(buildingRepository.getReferenceById(1L)).thenReturn(testBuilding);
+        when(setpointScheduleRepository.save(any(SetpointSchedule.class))).thenAnswer(invocation -> {
+            SetpointSchedule schedule = invocation.getArgument(0);
+            schedule.setId(7L);
+            return schedule;
+        });
+
+        // Act
+        SetpointScheduleDTO result = setpointScheduleService.createSchedule(1L, testScheduleDTO);
+
+        // Assert
+        assertEquals(7L, result.getId());
+        assertEquals(1L, result.getBuildingId());
+        assertEquals(testScheduleDTO.getDaysOfWeek(), result.getDaysOfWeek());
+        verify(setpointScheduler).register(argThat(schedule -> schedule.scheduleId().equals(7L)
+            && schedule.zoneId() == null
+            && schedule.timeZone().equals(ZoneId.of("Europe/Stockholm"))));
+    }
+
+    @Test
+    void createSchedule_InTransaction_ShouldRegisterScheduleOnlyAfterCommit() {
+        // Arrange
+        when(buildingRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
+        when(buildingRepository.getReferenceById(1L)).thenReturn(testBuilding);
+        when(setpointScheduleRepository.save(any(SetpointSchedule.class))).thenAnswer(invocation -> {
+            SetpointSchedule schedule = invocation.getArgument(0);
+            schedule.setId(7L);
+            return schedule;
+        });
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            setpointScheduleService.createSchedule(1L, testScheduleDTO);
+
+            // Assert
+            verifyNoInteractions(setpointScheduler);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(setpointScheduler).register(argThat(schedule -> schedule.scheduleId().equals(7L)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void createSchedule_WithZoneInOtherBuilding_ShouldThrowResourceNotFoundException() {
+        // Arrange
+        Building otherBuilding = new Building(2L, "Other Building", "City", "Street", "12345", null);
+        testScheduleDTO.setZoneId(3L);
+        when(buildingRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
+        when(zoneRepository.findById(3L)).thenReturn(Optional.of(new Zone(3L, "Zone", null, otherBuilding)));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () ->
+            setpointScheduleService.createSchedule(1L, testScheduleDTO)
+        );
+        verify(setpointScheduleRepository, never()).save(any());
+    }
+
+    @Test
+    void createSchedule_WithUnknownTimeZone_ShouldThrowValidationException() {
+        // Arrange
+        testScheduleDTO.setTimeZone("Mars/Olympus");
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () ->
+            setpointScheduleService.createSchedule(1L, testScheduleDTO)
+        );
+        verifyNoInteractions(setpointScheduler);
+    }
+
+    @Test
+    void createSchedule_WithoutAccess_ShouldThrowAccessDeniedException() {
+        // Arrange
+        when(buildingRepository.findOwnerIdById(1L)).thenReturn(Optional.of(2L));
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () ->
+            setpointScheduleService.createSchedule(1L, testScheduleDTO)
+        );
+        verify(setpointScheduleRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteSchedule_WithValidAccess_ShouldDeleteAndUnregisterSchedule() {
+        // Arrange
+        SetpointSchedule schedule = new SetpointSchedule(testBuilding, null, 1, LocalTime.NOON, "UTC", new BigDecimal("20.0"));
+        schedule.setId(7L);
+        when(setpointScheduleRepository.findById(7L)).thenReturn(Optional.of(schedule));
+        when(buildingRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
+
+        // Act
+        setpointScheduleService.deleteSchedule(1L, 7L);
+
+        // Assert
+        verify(setpointScheduleRepository).delete(schedule);
+        verify(setpointScheduler).unregister(7L);
+    }
+}
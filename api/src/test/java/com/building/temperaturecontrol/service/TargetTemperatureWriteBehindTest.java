@@ -0,0 +1,103 @@
+package com.building.temperaturecontrol.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.building.temperaturecontrol.model.TargetTemperatureUpdate;
+import com.building.temperaturecontrol.repository.ZoneTelemetryRepository;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TargetTemperatureWriteBehindTest {
+
+    @Mock
+    private ZoneTelemetryRepository zoneTelemetryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path journalDirectory;
+
+    private final Instant now = Instant.parse("2025-02-10T08:00:00Z");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteOnlyLastUpdatePerZone() throws IOException {
+        // Arrange
+        TargetTemperatureWriteBehind writeBehind = start(10);
+        writeBehind.enqueue(update(1L, "20.0"));
+        writeBehind.enqueue(update(1L, "21.0"));
+        writeBehind.enqueue(update(2L, "19.0"));
+        ArgumentCaptor<Collection<TargetTemperatureUpdate>> captor = ArgumentCaptor.forClass(Collection.class);
+
+        // Act
+        writeBehind.flush();
+
+        // Assert
+        verify(zoneTelemetryRepository).updateTargetTemperatures(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().contains(update(1L, "21.0")));
+        assertEquals(0, writeBehind.getPendingCount());
+        assertEquals(0, writeBehind.getLagMillis());
+        writeBehind.flushOnShutdown();
+    }
+
+    @Test
+    void enqueue_WhenPendingIsFull_ShouldRejectNewZonesOnly() throws IOException {
+        // Arrange
+        TargetTemperatureWriteBehind writeBehind = start(1);
+
+        // Act & Assert
+        assertTrue(writeBehind.enqueue(update(1L, "20.0")));
+        assertTrue(writeBehind.enqueue(update(1L, "21.0")));
+        assertFalse(writeBehind.enqueue(update(2L, "19.0")));
+        writeBehind.flushOnShutdown();
+    }
+
+    @Test
+    void start_AfterFailedFlush_ShouldWriteJournaledUpdates() throws IOException {
+        // Arrange
+        TargetTemperatureWriteBehind writeBehind = start(10);
+        writeBehind.enqueue(update(1L, "21.0"));
+        doThrow(new IllegalStateException("database down")).when(zoneTelemetryRepository).updateTargetTemperatures(any());
+        writeBehind.flush();
+        assertEquals(1, writeBehind.getPendingCount());
+        reset(zoneTelemetryRepository);
+
+        // Act
+        TargetTemperatureWriteBehind restarted = start(10);
+
+        // Assert
+        verify(zoneTelemetryRepository).updateTargetTemperatures(argThat(updates -> updates.size() == 1
+            && updates.contains(update(1L, "21.0"))));
+        restarted.flushOnShutdown();
+    }
+
+    private TargetTemperatureWriteBehind start(int maxPending) {
+        TargetTemperatureWriteBehind writeBehind = new TargetTemperatureWriteBehind(zoneTelemetryRepository,
+            transactionManager, new SimpleMeterRegistry(), true, journalDirectory.toString(), maxPending);
+        writeBehind.start();
+        return writeBehind;
+    }
+
+    private TargetTemperatureUpdate update(Long zoneId, String targetTemperature) {
+        return new TargetTemperatureUpdate(zoneId, 1L, new BigDecimal(targetTemperature).setScale(2), now);
+    }
+}
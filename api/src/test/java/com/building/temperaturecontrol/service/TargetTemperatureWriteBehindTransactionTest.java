@@ -0,0 +1,99 @@
+package com.building.temperaturecontrol.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.building.temperaturecontrol.model.Building;
+import com.building.temperaturecontrol.model.TargetTemperatureUpdate;
+import com.building.temperaturecontrol.model.User;
+import com.building.temperaturecontrol.model.Zone;
+import com.building.temperaturecontrol.repository.BuildingRepository;
+import com.building.temperaturecontrol.repository.SecondLevelCacheInvalidator;
+import com.building.temperaturecontrol.repository.UserRepository;
+import com.building.temperaturecontrol.repository.ZoneRepository;
+import com.building.temperaturecontrol.repository.ZoneTelemetryRepository;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Verifies that a flush run inside a service transaction commits on its own,
+// so a caller that rolls back does not lose the acknowledged updates.
+@DataJpaTest(properties = {
+    // The migrations are written for PostgreSQL, the H2 schema is generated from the entities
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "zones.write-behind.enabled=true"
+})
+@Import({TargetTemperatureWriteBehind.class, ZoneTelemetryRepository.class, SecondLevelCacheInvalidator.class,
+    SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TargetTemperatureWriteBehindTransactionTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @Autowired
+    private TargetTemperatureWriteBehind writeBehind;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private BuildingRepository buildingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("zones.write-behind.journal-dir", journalDirectory::toString);
+    }
+
+    @BeforeEach
+    void setUp() {
+        // The column is only in the migrations, the JDBC batch writes it
+        jdbcTemplate.execute("ALTER TABLE zone ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP");
+    }
+
+    @Test
+    void flush_WhenCallerRollsBack_ShouldKeepWrittenUpdates() {
+        // Arrange
+        User owner = userRepository.save(new User("owner" + System.nanoTime(), "password", "John", "Doe"));
+        Building building = buildingRepository.save(new Building("Building", "City", "Street", "12345", owner));
+        Zone zone = new Zone("Zone", null, building);
+        zone.setTargetTemperature(new BigDecimal("21.00"));
+        Long zoneId = zoneRepository.save(zone).getId();
+        writeBehind.enqueue(new TargetTemperatureUpdate(zoneId, building.getId(), new BigDecimal("25.00"), Instant.now()));
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            writeBehind.flush();
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertEquals(0, writeBehind.getPendingCount());
+        assertEquals(0, new BigDecimal("25.00").compareTo(zoneRepository.findById(zoneId).orElseThrow().getTargetTemperature()));
+    }
+}
@@ -0,0 +1,320 @@
+package com.building.temperaturecontrol.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.building.temperaturecontrol.dto.TelemetryIngestResultDTO;
+import com.building.temperaturecontrol.dto.ZoneReadingDTO;
+import com.building.temperaturecontrol.exception.TelemetryBufferFullException;
+import com.building.temperaturecontrol.model.ZoneReading;
+import com.building.temperaturecontrol.model.ZoneReadingRollup;
+import com.building.temperaturecontrol.repository.ZoneReadingRepository;
+import com.building.temperaturecontrol.repository.ZoneRepository;
+import com.building.temperaturecontrol.repository.ZoneTelemetryRepository;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+import com.building.temperaturecontrol.state.ZoneStateStore;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetryServiceTest {
+
+    @Mock
+    private ZoneRepository zoneRepository;
+
+    @Mock
+    private ZoneTelemetryRepository zoneTelemetryRepository;
+
+    @Mock
+    private ZoneReadingRepository zoneReadingRepository;
+
+    @Mock
+    private ZoneStreamService zoneStreamService;
+
+    @Mock
+    private ZoneStateStore zoneStateStore;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    private TelemetryService telemetryService;
+
+    private final Instant now = Instant.parse("2025-02-10T08:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        telemetryService = new TelemetryService(zoneRepository, zoneTelemetryRepository, zoneReadingRepository, zoneStreamService,
+            zoneStateStore, Clock.fixed(now, ZoneOffset.UTC), 2, 7, 30);
+    }
+
+    private void setUpSecurityContext() {
+        when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "testuser"));
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    private static ZoneRepository.ZoneBuildingId zoneInBuilding(Long zoneId, Long buildingId) {
+        return new ZoneRepository.ZoneBuildingId() {
+            @Override
+            public Long getZoneId() { return zoneId; }
+
+            @Override
+            public Long getBuildingId() { return buildingId; }
+        };
+    }
+
+    @Test
+    void ingest_ShouldRejectReadingsForZonesNotOwnedByUser() {
+        // Arrange
+        setUpSecurityContext();
+        when(zoneRepository.findBuildingIdsOwnedBy(anyCollection(), eq(1L))).thenReturn(List.of(zoneInBuilding(1L, 10L)));
+        List<ZoneReadingDTO> readings = List.of(
+            new ZoneReadingDTO(1L, now, new BigDecimal("21.5")),
+            new ZoneReadingDTO(2L, now, new BigDecimal("19.0"))
+        );
+
+        // Act
+        TelemetryIngestResultDTO result = telemetryService.ingest(readings);
+
+        // Assert
+        assertEquals(1, result.getAccepted());
+        assertEquals(1, result.getRejected());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteOnlyNewestReadingPerZone() {
+        // Arrange
+        setUpSecurityContext();
+        when(zoneRepository.findBuildingIdsOwnedBy(anyCollection(), eq(1L))).thenReturn(List.of(zoneInBuilding(1L, 10L)));
+        telemetryService.ingest(List.of(
+            new ZoneReadingDTO(1L, now.plusSeconds(10), new BigDecimal("22.0")),
+            new ZoneReadingDTO(1L, now, new BigDecimal("21.0"))
+        ));
+        ArgumentCaptor<Collection<ZoneReading>> captor = ArgumentCaptor.forClass(Collection.class);
+
+        // Act
+        telemetryService.flush();
+
+        // Assert
+        verify(zoneTelemetryRepository).updateCurrentTemperatures(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(new BigDecimal("22.0"), captor.getValue().iterator().next().temperature());
+        verify(zoneStreamService).publish(argThat(changes -> changes.size() == 1
+            && changes.iterator().next().getBuildingId().equals(10L)
+            && changes.iterator().next().getTargetTemperature() == null));
+        verify(zoneStateStore).updateCurrentTemperatures(captor.getValue());
+    }
+
+    @Test
+    void flush_WithEmptyBuffer_ShouldNotTouchDatabase() {
+        // Act
+        telemetryService.flush();
+
+        // Assert
+        verify(zoneTelemetryRepository, never()).updateCurrentTemperatures(any());
+        verify(zoneReadingRepository, never()).appendHistory(any(), any(), any());
+    }
+
+    @Test
+    void ingest_WhenHistoryBufferIsFull_ShouldRejectWholeBatch() {
+        // Arrange
+        setUpSecurityContext();
+        when(zoneRepository.findBuildingIdsOwnedBy(anyCollection(), eq(1L))).thenReturn(List.of(zoneInBuilding(1L, 10L)));
+        List<ZoneReadingDTO> readings = List.of(
+            new ZoneReadingDTO(1L, now, new BigDecimal("21.0")),
+            new ZoneReadingDTO(1L, now.plusSeconds(1), new BigDecimal("21.1")),
+            new ZoneReadingDTO(1L, now.plusSeconds(2), new BigDecimal("21.2"))
+        );
+
+        // Act & Assert
+        assertThrows(TelemetryBufferFullException.class, () -> telemetryService.ingest(readings));
+        telemetryService.flush();
+        verify(zoneReadingRepository, never()).appendHistory(any(), any(), any());
+    }
+
+    @Test
+    void flush_ShouldAppendHistoryAndMaintainRollups() {
+        // Arrange
+        setUpSecurityContext();
+        when(zoneRepository.findBuildingIdsOwnedBy(anyCollection(), eq(1L))).thenReturn(List.of(zoneInBuilding(1L, 10L)));
+        telemetryService.ingest(List.of(
+            new ZoneReadingDTO(1L, now, new BigDecimal("21.0")),
+            new ZoneReadingDTO(1L, now.plusSeconds(10), new BigDecimal("23.0"))
+        ));
+
+        // Act
+        telemetryService.flush();
+
+        // Assert
+        verify(zoneReadingRepository).appendHistory(argThat(readings -> readings.size() == 2),
+            argThat(rollups -> rollups.size() == 1), argThat(rollups -> rollups.size() == 1));
+        assertEquals(0, telemetryService.getPendingCount());
+    }
+
+    @Test
+    void flush_WhenHistoryWriteFails_ShouldKeepReadingsForNextFlush() {
+        // Arrange
+        setUpSecurityContext();
+        when(zoneRepository.findBuildingIdsOwnedBy(anyCollection(), eq(1L))).thenReturn(List.of(zoneInBuilding(1L, 10L)));
+        telemetryService.ingest(List.of(new ZoneReadingDTO(1L, now, new BigDecimal("21.0"))));
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+            .doNothing()
+            .when(zoneReadingRepository).appendHistory(any(), any(), any());
+
+        // Act
+        telemetryService.flush();
+        int pendingAfterFailure = telemetryService.getPendingCount();
+        telemetryService.ingest(List.of(new ZoneReadingDTO(1L, now.plusSeconds(1), new BigDecimal("21.5"))));
+        telemetryService.flush();
+
+        // Assert
+        assertEquals(1, pendingAfterFailure);
+        verify(zoneReadingRepository, times(2)).appendHistory(any(), any(), any());
+        verify(zoneReadingRepository).appendHistory(argThat(readings -> readings.size() == 2), any(), any());
+        assertEquals(0, telemetryService.getPendingCount());
+    }
+
+    @Test
+    void flush_WhenHistoryWriteThrowsOtherRuntimeException_ShouldKeepReadingsAndWriteCurrentTemperature() {
+        // Arrange
+        setUpSecurityContext();
+        when(zoneRepository.findBuildingIdsOwnedBy(anyCollection(), eq(1L))).thenReturn(List.of(zoneInBuilding(1L, 10L)));
+        telemetryService.ingest(List.of(new ZoneReadingDTO(1L, now, new BigDecimal("21.0"))));
+        doThrow(new IllegalStateException("Rollup overflow"))
+            .when(zoneReadingRepository).appendHistory(any(), any(), any());
+
+        // Act
+        telemetryService.flush();
+
+        // Assert
+        assertEquals(1, telemetryService.getPendingCount());
+        verify(zoneTelemetryRepository).updateCurrentTemperatures(argThat(readings -> readings.size() == 1));
+        verify(zoneStreamService).publish(anyCollection());
+    }
+
+    @Test
+    void ingest_WhileFailedFlushHoldsBuffer_ShouldRejectWholeBatch() {
+        // Arrange
+        setUpSecurityContext();
+        when(zoneRepository.findBuildingIdsOwnedBy(anyCollection(), eq(1L))).thenReturn(List.of(zoneInBuilding(1L, 10L)));
+        telemetryService.ingest(List.of(new ZoneReadingDTO(1L, now, new BigDecimal("21.0"))));
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+            .when(zoneReadingRepository).appendHistory(any(), any(), any());
+        telemetryService.flush();
+        List<ZoneReadingDTO> readings = List.of(
+            new ZoneReadingDTO(1L, now.plusSeconds(1), new BigDecimal("21.1")),
+            new ZoneReadingDTO(1L, now.plusSeconds(2), new BigDecimal("21.2"))
+        );
+
+        // Act & Assert
+        assertThrows(TelemetryBufferFullException.class, () -> telemetryService.ingest(readings));
+        assertEquals(1, telemetryService.getPendingCount());
+    }
+
+    @Test
+    void ingest_WithTimestampsOutsideRetentionOrPartitions_ShouldRejectThem() {
+        // Arrange
+        setUpSecurityContext();
+        when(zoneRepository.findBuildingIdsOwnedBy(anyCollection(), eq(1L))).thenReturn(List.of(zoneInBuilding(1L, 10L)));
+        List<ZoneReadingDTO> readings = List.of(
+            new ZoneReadingDTO(1L, now.minus(31, ChronoUnit.DAYS), new BigDecimal("21.0")),
+            new ZoneReadingDTO(1L, now.plus(8, ChronoUnit.DAYS), new BigDecimal("21.0")),
+            new ZoneReadingDTO(1L, now.plus(6, ChronoUnit.DAYS), new BigDecimal("21.0"))
+        );
+
+        // Act
+        TelemetryIngestResultDTO result = telemetryService.ingest(readings);
+
+        // Assert
+        assertEquals(1, result.getAccepted());
+        assertEquals(2, result.getRejected());
+    }
+
+    @Test
+    void maintainPartitions_WhenOneDayFails_ShouldCreateOtherDaysAndDropOldPartitions() {
+        // Arrange
+        LocalDate today = LocalDate.of(2025, 2, 10);
+        lenient().doThrow(new DataIntegrityViolationException("updated partition constraint for default partition would be violated"))
+            .when(zoneReadingRepository).createPartition(today.plusDays(3));
+
+        // Act
+        telemetryService.maintainPartitions();
+
+        // Assert
+        verify(zoneReadingRepository, times(9)).createPartition(any());
+        verify(zoneReadingRepository).createPartition(today.plusDays(8));
+        verify(zoneReadingRepository).dropPartitionsBefore(today.minusDays(30));
+    }
+
+    @Test
+    void ingest_AfterMidnight_ShouldAcceptReadingsUpToTheEndOfTheLastPartitionDay() {
+        // Arrange
+        // Partitions were last created yesterday, up to 2025-02-18, so the whole of that day is covered
+        Instant afterMidnight = Instant.parse("2025-02-11T00:30:00Z");
+        telemetryService = new TelemetryService(zoneRepository, zoneTelemetryRepository, zoneReadingRepository, zoneStreamService,
+            zoneStateStore, Clock.fixed(afterMidnight, ZoneOffset.UTC), 2, 7, 30);
+        setUpSecurityContext();
+        when(zoneRepository.findBuildingIdsOwnedBy(anyCollection(), eq(1L))).thenReturn(List.of(zoneInBuilding(1L, 10L)));
+        List<ZoneReadingDTO> readings = List.of(
+            new ZoneReadingDTO(1L, Instant.parse("2025-02-18T23:59:59Z"), new BigDecimal("21.0")),
+            new ZoneReadingDTO(1L, Instant.parse("2025-02-19T00:00:00Z"), new BigDecimal("21.0"))
+        );
+
+        // Act
+        TelemetryIngestResultDTO result = telemetryService.ingest(readings);
+
+        // Assert
+        assertEquals(1, result.getAccepted());
+        assertEquals(1, result.getRejected());
+    }
+
+    @Test
+    void rollup_ShouldAggregateMinMaxSumAndCountPerBucket() {
+        // Arrange
+        List<ZoneReading> readings = List.of(
+            new ZoneReading(1L, now, new BigDecimal("21.0")),
+            new ZoneReading(1L, now.plusSeconds(30), new BigDecimal("23.0")),
+            new ZoneReading(1L, now.plusSeconds(60), new BigDecimal("22.0"))
+        );
+
+        // Act
+        Collection<ZoneReadingRollup> minutes = TelemetryService.rollup(readings, ChronoUnit.MINUTES);
+        Collection<ZoneReadingRollup> hours = TelemetryService.rollup(readings, ChronoUnit.HOURS);
+
+        // Assert
+        assertEquals(2, minutes.size());
+        assertEquals(1, hours.size());
+        ZoneReadingRollup hour = hours.iterator().next();
+        assertEquals(new BigDecimal("21.0"), hour.min());
+        assertEquals(new BigDecimal("23.0"), hour.max());
+        assertEquals(new BigDecimal("66.0"), hour.sum());
+        assertEquals(3, hour.count());
+    }
+}
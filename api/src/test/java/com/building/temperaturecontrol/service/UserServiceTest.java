@@ -3,10 +3,12 @@ package com.building.temperaturecontrol.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.building.temperaturecontrol.model.User;
 import com.building.temperaturecontrol.repository.UserRepository;
@@ -14,11 +16,20 @@ import com.building.temperaturecontrol.dto.UserDTO;
 import com.building.temperaturecontrol.exception.UsernameAlreadyExistsException;
 import com.building.temperaturecontrol.exception.InvalidCredentialsException;
 import com.building.temperaturecontrol.exception.ResourceNotFoundException;
+import com.building.temperaturecontrol.security.PasswordVerifier;
+import com.building.temperaturecontrol.security.RevokedTokens;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 
+import java.time.Instant;
+import java.util.Date;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,11 +39,17 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordVerifier passwordVerifier;
 
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private RevokedTokens revokedTokens;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private UserService userService;
 
@@ -48,8 +65,9 @@ class UserServiceTest {
     @Test
     void createUser_WithValidData_ShouldReturnUserDTO() {
         // Arrange
+        runTransactionCallbacks();
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
-        when(passwordEncoder.encode("password123")).thenReturn("hashedPassword");
+        when(passwordVerifier.encode("password123")).thenReturn("hashedPassword");
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
         // Act
@@ -62,9 +80,29 @@ class UserServiceTest {
         assertEquals("Doe", result.getLastName());
     }
 
+    @Test
+    void createUser_ShouldHashPasswordBeforeTransaction() {
+        // Arrange
+        runTransactionCallbacks();
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
+        when(passwordVerifier.encode("password123")).thenReturn("hashedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        // Act
+        userService.createUser("testuser", "password123", "John", "Doe");
+
+        // Assert
+        InOrder inOrder = inOrder(passwordVerifier, transactionTemplate, userRepository);
+        inOrder.verify(passwordVerifier).encode("password123");
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(userRepository).findByUsername("testuser");
+        inOrder.verify(userRepository).save(any(User.class));
+    }
+
     @Test
     void createUser_WithExistingUsername_ShouldThrowException() {
         // Arrange
+        runTransactionCallbacks();
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
 
         // Act & Assert
@@ -78,8 +116,8 @@ class UserServiceTest {
         // Arrange
         String expectedToken = "jwt.token.here";
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("password123", "hashedPassword")).thenReturn(true);
-        when(jwtService.generateToken("testuser")).thenReturn(expectedToken);
+        when(passwordVerifier.matches("password123", "hashedPassword")).thenReturn(true);
+        when(jwtService.generateToken(1L, "testuser")).thenReturn(expectedToken);
 
         // Act
         String token = userService.authenticate("testuser", "password123");
@@ -92,7 +130,7 @@ class UserServiceTest {
     void authenticate_WithInvalidCredentials_ShouldThrowException() {
         // Arrange
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(passwordEncoder.matches("wrongpassword", "hashedPassword")).thenReturn(false);
+        when(passwordVerifier.matches("wrongpassword", "hashedPassword")).thenReturn(false);
 
         // Act & Assert
         assertThrows(InvalidCredentialsException.class, () ->
@@ -127,4 +165,27 @@ class UserServiceTest {
             userService.updateUser(updateDTO)
         );
     }
-} 
\ No newline at end of file
+
+    @Test
+    void logout_ShouldRevokeTokenUntilItExpires() {
+        // Arrange
+        Claims claims = Jwts.claims().setSubject("testuser");
+        claims.setId("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+        claims.put("userId", 1L);
+        claims.setExpiration(new Date(1_000_000L));
+        when(jwtService.parseClaims("token")).thenReturn(claims);
+
+        // Act
+        userService.logout("token");
+
+        // Assert
+        verify(revokedTokens).revoke(UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7"), 1L,
+            Instant.ofEpochMilli(1_000_000L));
+    }
+
+    // Runs the callback as if a transaction had been started
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+}
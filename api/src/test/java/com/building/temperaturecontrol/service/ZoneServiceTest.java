@@ -6,6 +6,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,18 +16,38 @@ import org.springframework.security.access.AccessDeniedException;
 import com.building.temperaturecontrol.model.Zone;
 import com.building.temperaturecontrol.model.Building;
 import com.building.temperaturecontrol.model.User;
+import com.building.temperaturecontrol.dto.CursorPageDTO;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+import com.building.temperaturecontrol.state.ZoneStateStore;
+import com.building.temperaturecontrol.repository.SecondLevelCacheInvalidator;
+import com.building.temperaturecontrol.schedule.SchedulesDeletedEvent;
 import com.building.temperaturecontrol.repository.ZoneRepository;
 import com.building.temperaturecontrol.repository.BuildingRepository;
+import com.building.temperaturecontrol.repository.ZoneReadingRepository;
+import com.building.temperaturecontrol.repository.ZoneTelemetryRepository;
 import com.building.temperaturecontrol.dto.ZoneDTO;
+import com.building.temperaturecontrol.dto.ZoneHistoryDTO;
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureBatchResultDTO;
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureDTO;
+import com.building.temperaturecontrol.dto.ZoneTargetTemperatureResultDTO;
 import com.building.temperaturecontrol.dto.ZoneTemperatureUpdateDTO;
+import com.building.temperaturecontrol.exception.ResourceNotFoundException;
+import com.building.temperaturecontrol.model.HistoryResolution;
+import com.building.temperaturecontrol.model.SetpointChange;
 
+import jakarta.validation.ValidationException;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +59,30 @@ class ZoneServiceTest {
     @Mock
     private BuildingRepository buildingRepository;
 
+    @Mock
+    private ZoneReadingRepository zoneReadingRepository;
+
+    @Mock
+    private ZoneStreamService zoneStreamService;
+
+    @Mock
+    private ZoneStateStore zoneStateStore;
+
+    @Mock
+    private TargetTemperatureWriteBehind targetTemperatureWriteBehind;
+
+    @Mock
+    private ZoneTelemetryRepository zoneTelemetryRepository;
+
+    @Mock
+    private SecondLevelCacheInvalidator cacheInvalidator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ZoneCurrentTemperatureReader currentTemperatureReader;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -53,6 +99,7 @@ class ZoneServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(currentTemperatureReader.fill(any())).thenAnswer(invocation -> invocation.getArgument(0));
         testUser = new User(1L, "testuser", "password", "John", "Doe");
         testBuilding = new Building(1L, "Test Building", "Test City", "Test Street", "12345", testUser);
         testZone = new Zone(1L, "Test Zone", "Test Description", testBuilding);
@@ -60,9 +107,9 @@ class ZoneServiceTest {
         testZoneDTO = new ZoneDTO(1L, "Test Zone", "Test Description", 1L, 
             new BigDecimal("22.0"), new BigDecimal("21.0"));
 
-        // Setup Security Context
-        when(authentication.getName()).thenReturn("testuser");
-        when(securityContext.getAuthentication()).thenReturn(authentication);
+        // Setup Security Context, scheduled setpoints are applied without a user
+        lenient().when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "testuser"));
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
     }
 
@@ -79,22 +126,106 @@ class ZoneServiceTest {
         assertNotNull(result);
         assertEquals(testZoneDTO.getName(), result.getName());
         assertEquals(testZoneDTO.getTargetTemperature(), result.getTargetTemperature());
+        verify(zoneStateStore).put(testZone);
     }
 
     @Test
     void getZonesByBuilding_WithValidAccess_ShouldReturnZones() {
         // Arrange
-        List<Zone> zones = Arrays.asList(testZone);
-        when(buildingRepository.findById(1L)).thenReturn(Optional.of(testBuilding));
-        when(zoneRepository.findByBuildingId(1L)).thenReturn(zones);
+        List<ZoneDTO> zones = Arrays.asList(testZoneDTO);
+        when(buildingRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
+        when(zoneRepository.findDTOsByBuildingIdAfter(1L, 0L, Limit.of(101))).thenReturn(zones);
+
+        // Act
+        CursorPageDTO<ZoneDTO> result = zoneService.getZonesByBuilding(1L, null, 100);
+
+        // Assert
+        assertFalse(result.getItems().isEmpty());
+        assertEquals(1, result.getItems().size());
+        assertEquals(testZoneDTO.getName(), result.getItems().get(0).getName());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getZonesByBuilding_WithoutLimit_ShouldReturnAllZones() {
+        // Arrange
+        when(buildingRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
+        when(zoneRepository.findDTOsByBuildingIdAfter(1L, 0L, Limit.unlimited())).thenReturn(List.of(testZoneDTO));
+
+        // Act
+        CursorPageDTO<ZoneDTO> result = zoneService.getZonesByBuilding(1L, null, null);
+
+        // Assert
+        assertEquals(List.of(testZoneDTO), result.getItems());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getZonesByBuilding_WhenStateStoreIsReady_ShouldNotQueryDatabase() {
+        // Arrange
+        when(zoneStateStore.isReady()).thenReturn(true);
+        when(zoneStateStore.findOwnerId(1L)).thenReturn(1L);
+        when(zoneStateStore.findZonesByBuilding(1L, 0L, 101)).thenReturn(List.of(testZoneDTO));
 
         // Act
-        List<ZoneDTO> result = zoneService.getZonesByBuilding(1L);
+        CursorPageDTO<ZoneDTO> result = zoneService.getZonesByBuilding(1L, null, 100);
 
         // Assert
-        assertFalse(result.isEmpty());
-        assertEquals(1, result.size());
-        assertEquals(testZoneDTO.getName(), result.get(0).getName());
+        assertEquals(List.of(testZoneDTO), result.getItems());
+        verifyNoInteractions(buildingRepository, zoneRepository);
+    }
+
+    @Test
+    void getZone_WhenStateStoreIsReady_ShouldCheckOwnerFromStore() {
+        // Arrange
+        when(zoneStateStore.isReady()).thenReturn(true);
+        when(zoneStateStore.findZone(1L)).thenReturn(testZoneDTO);
+        when(zoneStateStore.findOwnerId(1L)).thenReturn(2L);
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> zoneService.getZone(1L, 1L));
+        verifyNoInteractions(zoneRepository);
+    }
+
+    @Test
+    void getZone_WhenStateStoreIsReadyAndZoneIsInOtherBuilding_ShouldThrowResourceNotFoundException() {
+        // Arrange
+        when(zoneStateStore.isReady()).thenReturn(true);
+        when(zoneStateStore.findZone(1L)).thenReturn(testZoneDTO);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> zoneService.getZone(2L, 1L));
+    }
+
+    @Test
+    void getZone_WhenZoneIsMissingFromStateStore_ShouldReadItFromDatabase() {
+        // Arrange
+        when(zoneStateStore.isReady()).thenReturn(true);
+        when(zoneStateStore.findOwnerId(1L)).thenReturn(null);
+        when(zoneRepository.findWithBuildingById(1L)).thenReturn(Optional.of(testZone));
+        when(buildingRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
+
+        // Act
+        ZoneDTO result = zoneService.getZone(1L, 1L);
+
+        // Assert
+        assertEquals(testZone.getId(), result.getId());
+    }
+
+    @Test
+    void getZonesByBuilding_WhenBuildingIsMissingFromStateStore_ShouldReadZonesFromDatabase() {
+        // Arrange
+        when(zoneStateStore.isReady()).thenReturn(true);
+        when(zoneStateStore.findOwnerId(1L)).thenReturn(null);
+        when(buildingRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
+        when(zoneRepository.findDTOsByBuildingIdAfter(1L, 0L, Limit.of(101))).thenReturn(List.of(testZoneDTO));
+
+        // Act
+        CursorPageDTO<ZoneDTO> result = zoneService.getZonesByBuilding(1L, null, 100);
+
+        // Assert
+        assertEquals(List.of(testZoneDTO), result.getItems());
+        verify(zoneStateStore, never()).findZonesByBuilding(anyLong(), anyLong(), anyInt());
     }
 
     @Test
@@ -102,7 +233,7 @@ class ZoneServiceTest {
         // Arrange
         BigDecimal newTemp = new BigDecimal("23.5");
         ZoneTemperatureUpdateDTO updateDTO = new ZoneTemperatureUpdateDTO(newTemp);
-        when(zoneRepository.findById(1L)).thenReturn(Optional.of(testZone));
+        when(zoneRepository.findWithBuildingById(1L)).thenReturn(Optional.of(testZone));
         when(zoneRepository.save(any(Zone.class))).thenReturn(testZone);
 
         // Act
@@ -111,6 +242,52 @@ class ZoneServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(newTemp, result.getTargetTemperature());
+        verify(zoneStateStore).put(testZone);
+        verify(zoneStreamService).publish(argThat(changes -> changes.size() == 1
+            && newTemp.equals(changes.iterator().next().getTargetTemperature())));
+    }
+
+    @Test
+    void updateTemperature_InWriteBehindMode_ShouldQueueUpdateWithoutDatabaseRoundTrip() {
+        // Arrange
+        BigDecimal newTemp = new BigDecimal("23.50");
+        ZoneDTO updated = new ZoneDTO(1L, "Test Zone", "Test Description", 1L, newTemp, newTemp);
+        when(targetTemperatureWriteBehind.isEnabled()).thenReturn(true);
+        when(zoneStateStore.isReady()).thenReturn(true);
+        when(zoneStateStore.findZone(1L)).thenReturn(testZoneDTO);
+        when(zoneStateStore.findOwnerId(1L)).thenReturn(1L);
+        when(targetTemperatureWriteBehind.enqueue(any())).thenReturn(true);
+        when(zoneStateStore.updateTargetTemperature(1L, newTemp)).thenReturn(updated);
+
+        // Act
+        ZoneDTO result = zoneService.updateTemperature(1L, 1L, new ZoneTemperatureUpdateDTO(newTemp));
+
+        // Assert
+        assertEquals(newTemp, result.getTargetTemperature());
+        verify(targetTemperatureWriteBehind).enqueue(argThat(update -> update.zoneId().equals(1L)
+            && update.buildingId().equals(1L) && newTemp.equals(update.targetTemperature())));
+        verify(zoneStreamService).publish(any());
+        verifyNoInteractions(zoneRepository, buildingRepository);
+    }
+
+    @Test
+    void updateTemperature_WhenWriteBehindIsFull_ShouldSaveZone() {
+        // Arrange
+        BigDecimal newTemp = new BigDecimal("23.5");
+        when(targetTemperatureWriteBehind.isEnabled()).thenReturn(true);
+        when(zoneStateStore.isReady()).thenReturn(true);
+        when(zoneStateStore.findZone(1L)).thenReturn(testZoneDTO);
+        when(zoneStateStore.findOwnerId(1L)).thenReturn(1L);
+        when(targetTemperatureWriteBehind.enqueue(any())).thenReturn(false);
+        when(zoneRepository.findWithBuildingById(1L)).thenReturn(Optional.of(testZone));
+        when(zoneRepository.save(any(Zone.class))).thenReturn(testZone);
+
+        // Act
+        ZoneDTO result = zoneService.updateTemperature(1L, 1L, new ZoneTemperatureUpdateDTO(newTemp));
+
+        // Assert
+        assertEquals(newTemp, result.getTargetTemperature());
+        verify(zoneRepository).save(testZone);
     }
 
     @Test
@@ -121,23 +298,26 @@ class ZoneServiceTest {
         Zone otherZone = new Zone(1L, "Other Zone", "Other Description", otherBuilding);
         otherZone.setTargetTemperature(new BigDecimal("20.0"));
         
-        when(zoneRepository.findById(1L)).thenReturn(Optional.of(otherZone));
+        when(zoneRepository.findWithBuildingById(1L)).thenReturn(Optional.of(otherZone));
 
         // Act & Assert
         assertThrows(AccessDeniedException.class, () ->
             zoneService.updateTemperature(2L, 1L, new ZoneTemperatureUpdateDTO(new BigDecimal("23.5")))
         );
+        verify(zoneStreamService, never()).publish(any());
     }
 
     @Test
     void deleteZone_WithValidAccess_ShouldDeleteZone() {
         // Arrange
-        when(zoneRepository.findById(1L)).thenReturn(Optional.of(testZone));
+        when(zoneRepository.findWithBuildingById(1L)).thenReturn(Optional.of(testZone));
         doNothing().when(zoneRepository).delete(testZone);
 
         // Act & Assert
         assertDoesNotThrow(() -> zoneService.deleteZone(1L, 1L));
         verify(zoneRepository).delete(testZone);
+        verify(zoneStateStore).removeZone(1L);
+        verify(eventPublisher).publishEvent(SchedulesDeletedEvent.forZone(1L, 1L));
     }
 
     @Test
@@ -147,12 +327,129 @@ class ZoneServiceTest {
         Building otherBuilding = new Building(1L,"Other Building", "Other City", "Other Street", "54321", otherUser);
         Zone otherZone = new Zone(1L,"Other Zone", "Other Description", otherBuilding);
         
-        when(zoneRepository.findById(1L)).thenReturn(Optional.of(otherZone));
+        when(zoneRepository.findWithBuildingById(1L)).thenReturn(Optional.of(otherZone));
 
         // Act & Assert
         assertThrows(AccessDeniedException.class, () ->
             zoneService.deleteZone(1L, 1L)
         );
         verify(zoneRepository, never()).delete(any());
+        verify(zoneStateStore, never()).removeZone(anyLong());
+    }
+
+    @Test
+    void getZoneHistory_ForMonthRange_ShouldUseHourlyRollups() {
+        // Arrange
+        Instant to = Instant.parse("2025-03-01T00:00:00Z");
+        Instant from = Instant.parse("2025-02-01T00:00:00Z");
+        when(zoneRepository.findWithBuildingById(1L)).thenReturn(Optional.of(testZone));
+        when(zoneReadingRepository.findHistory(eq(1L), eq(from), eq(to), eq(HistoryResolution.HOUR), anyInt()))
+            .thenReturn(List.of());
+
+        // Act
+        ZoneHistoryDTO result = zoneService.getZoneHistory(1L, 1L, from, to, "auto");
+
+        // Assert
+        assertEquals(HistoryResolution.HOUR, result.getResolution());
+    }
+
+    @Test
+    void getZoneHistory_WithInvertedRange_ShouldThrowValidationException() {
+        // Arrange
+        Instant from = Instant.parse("2025-03-01T00:00:00Z");
+
+        // Act & Assert
+        assertThrows(ValidationException.class, () ->
+            zoneService.getZoneHistory(1L, 1L, from, from.minusSeconds(60), "auto")
+        );
+    }
+
+    @Test
+    void updateTargetTemperatureAll_WithValidAccess_ShouldUpdateAllZonesInOneStatement() {
+        // Arrange
+        BigDecimal newTemp = new BigDecimal("19.5");
+        Zone secondZone = new Zone(2L, "Second Zone", null, testBuilding);
+        secondZone.setTargetTemperature(newTemp);
+        testZone.setTargetTemperature(newTemp);
+        when(buildingRepository.findOwnerIdById(1L)).thenReturn(Optional.of(1L));
+        when(zoneRepository.updateTargetTemperatureByBuildingId(1L, newTemp)).thenReturn(Arrays.asList(secondZone, testZone));
+
+        // Act
+        List<ZoneDTO> result = zoneService.updateTargetTemperatureAll(1L, newTemp);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertEquals(newTemp, result.get(1).getTargetTemperature());
+        verify(zoneRepository, never()).save(any());
+        verify(targetTemperatureWriteBehind).flush();
+        verify(cacheInvalidator).evictZones(List.of(2L, 1L));
+    }
+
+    @Test
+    void updateTargetTemperatureAll_WithoutAccess_ShouldNotUpdateZones() {
+        // Arrange
+        when(buildingRepository.findOwnerIdById(2L)).thenReturn(Optional.of(2L));
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () ->
+            zoneService.updateTargetTemperatureAll(2L, new BigDecimal("19.5"))
+        );
+        verify(zoneRepository, never()).updateTargetTemperatureByBuildingId(any(), any());
+    }
+
+    @Test
+    void applySetpointChanges_ShouldApplyZoneSetpointsAfterBuildingSetpoints() {
+        // Arrange
+        BigDecimal buildingTemp = new BigDecimal("18.0");
+        BigDecimal zoneTemp = new BigDecimal("21.0");
+        testZone.setTargetTemperature(buildingTemp);
+        when(zoneRepository.updateTargetTemperatureByBuildingId(1L, buildingTemp)).thenReturn(List.of(testZone));
+        when(zoneStateStore.findZone(1L)).thenReturn(testZoneDTO);
+
+        // Act
+        int updated = zoneService.applySetpointChanges(List.of(
+            new SetpointChange(1L, 1L, zoneTemp),
+            new SetpointChange(1L, null, buildingTemp)
+        ));
+
+        // Assert
+        assertEquals(2, updated);
+        var inOrder = inOrder(targetTemperatureWriteBehind, zoneRepository, zoneTelemetryRepository);
+        inOrder.verify(targetTemperatureWriteBehind).flush();
+        inOrder.verify(zoneRepository).updateTargetTemperatureByBuildingId(1L, buildingTemp);
+        inOrder.verify(zoneTelemetryRepository).updateTargetTemperatures(argThat(updates -> updates.size() == 1
+            && updates.iterator().next().targetTemperature().equals(zoneTemp)));
+        verify(zoneStateStore).put(testZone);
+        verify(zoneStreamService).publish(argThat(changes -> changes.size() == 2));
+        verifyNoInteractions(securityContext);
+    }
+
+    @Test
+    void updateTargetTemperatures_ShouldBatchOwnedZonesAndReportOthersAsNotFound() {
+        // Arrange
+        ZoneRepository.ZoneBuildingId owned = mock(ZoneRepository.ZoneBuildingId.class);
+        when(owned.getZoneId()).thenReturn(1L);
+        when(owned.getBuildingId()).thenReturn(10L);
+        when(zoneRepository.findBuildingIdsOwnedBy(argThat(ids -> ids.size() == 2), eq(1L))).thenReturn(List.of(owned));
+        List<ZoneTargetTemperatureDTO> items = List.of(
+            new ZoneTargetTemperatureDTO(1L, new BigDecimal("19.0")),
+            new ZoneTargetTemperatureDTO(2L, new BigDecimal("20.0")),
+            new ZoneTargetTemperatureDTO(1L, new BigDecimal("21.0"))
+        );
+
+        // Act
+        ZoneTargetTemperatureBatchResultDTO result = zoneService.updateTargetTemperatures(items);
+
+        // Assert
+        assertEquals(2, result.getUpdated());
+        assertEquals(1, result.getRejected());
+        assertEquals(ZoneTargetTemperatureResultDTO.Status.NOT_FOUND, result.getResults().get(1).getStatus());
+        assertEquals(10L, result.getResults().get(2).getBuildingId());
+        verify(targetTemperatureWriteBehind).flush();
+        verify(zoneTelemetryRepository).updateTargetTemperatures(argThat(updates -> updates.size() == 1
+            && updates.iterator().next().targetTemperature().equals(new BigDecimal("21.0"))));
+        verify(zoneStateStore).updateTargetTemperature(1L, new BigDecimal("21.0"));
+        verify(zoneRepository, never()).save(any());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package com.building.temperaturecontrol.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.building.temperaturecontrol.dto.ZoneDTO;
+import com.building.temperaturecontrol.dto.ZoneTemperatureUpdateDTO;
+import com.building.temperaturecontrol.model.Building;
+import com.building.temperaturecontrol.model.User;
+import com.building.temperaturecontrol.model.Zone;
+import com.building.temperaturecontrol.repository.BuildingRepository;
+import com.building.temperaturecontrol.repository.SecondLevelCacheInvalidator;
+import com.building.temperaturecontrol.repository.UserRepository;
+import com.building.temperaturecontrol.repository.ZoneReadingRepository;
+import com.building.temperaturecontrol.repository.ZoneRepository;
+import com.building.temperaturecontrol.repository.ZoneTelemetryRepository;
+import com.building.temperaturecontrol.security.AuthenticatedUser;
+import com.building.temperaturecontrol.state.ZoneStateStore;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// Verifies that zone reads and writes work without a session held open around them, as with open-in-view
+// disabled, and that a zone and its building are loaded by one statement.
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // The migrations are written for PostgreSQL, the H2 schema is generated from the entities
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({ZoneService.class, SecondLevelCacheInvalidator.class,
+    ZoneCurrentTemperatureReader.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ZoneServiceTransactionTest {
+
+    @Autowired
+    private ZoneService zoneService;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private BuildingRepository buildingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private ZoneStateStore zoneStateStore;
+
+    @MockitoBean
+    private TargetTemperatureWriteBehind targetTemperatureWriteBehind;
+
+    @MockitoBean
+    private ZoneStreamService zoneStreamService;
+
+    @MockitoBean
+    private ZoneReadingRepository zoneReadingRepository;
+
+    @MockitoBean
+    private ZoneTelemetryRepository zoneTelemetryRepository;
+
+    private Statistics statistics;
+    private Long buildingId;
+    private Long zoneId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User owner = userRepository.save(new User("owner" + System.nanoTime(), "password", "John", "Doe"));
+        Building building = buildingRepository.save(new Building("Building", "City", "Street", "12345", owner));
+        Zone zone = new Zone("Zone", null, building);
+        zone.setTargetTemperature(new BigDecimal("21.00"));
+        buildingId = building.getId();
+        zoneId = zoneRepository.save(zone).getId();
+        SecurityContextHolder.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+            new AuthenticatedUser(owner.getId(), owner.getUsername()), null, List.of())));
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getZone_WithoutOpenSession_ShouldLoadZoneAndBuildingInOneStatement() {
+        // Act
+        ZoneDTO result = zoneService.getZone(buildingId, zoneId);
+
+        // Assert
+        assertEquals(zoneId, result.getId());
+        assertEquals(buildingId, result.getBuildingId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updateTemperature_WithoutOpenSession_ShouldSaveZone() {
+        // Act
+        ZoneDTO result = zoneService.updateTemperature(buildingId, zoneId, new ZoneTemperatureUpdateDTO(new BigDecimal("23.50")));
+
+        // Assert
+        assertEquals(0, new BigDecimal("23.50").compareTo(result.getTargetTemperature()));
+        assertEquals(0, new BigDecimal("23.50").compareTo(zoneRepository.findById(zoneId).orElseThrow().getTargetTemperature()));
+    }
+
+    @Test
+    void deleteZone_WithoutOpenSession_ShouldDeleteZone() {
+        // Act
+        zoneService.deleteZone(buildingId, zoneId);
+
+        // Assert
+        assertTrue(zoneRepository.findById(zoneId).isEmpty());
+    }
+
+    @Test
+    void deleteZone_WhenTransactionRollsBack_ShouldLeaveZoneStateStoreUntouched() {
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            zoneService.deleteZone(buildingId, zoneId);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertTrue(zoneRepository.findById(zoneId).isPresent());
+        verify(zoneStateStore, never()).removeZone(anyLong());
+    }
+}
@@ -0,0 +1,81 @@
+package com.building.temperaturecontrol.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.building.temperaturecontrol.dto.ZoneChangeDTO;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneStreamServiceTest {
+
+    private final List<Runnable> pendingSends = new ArrayList<>();
+
+    private ZoneStreamService zoneStreamService;
+
+    @BeforeEach
+    void setUp() {
+        // Sends are queued instead of run, so a subscriber that is never drained behaves like a slow client
+        zoneStreamService = new ZoneStreamService(2, 60_000, pendingSends::add);
+    }
+
+    private static ZoneChangeDTO change(Long zoneId, Long buildingId) {
+        return ZoneChangeDTO.currentTemperature(zoneId, buildingId, new BigDecimal("21.5"), Instant.now());
+    }
+
+    @Test
+    void publish_ShouldOnlyReachSubscribersOfTheSameBuilding() {
+        // Arrange
+        zoneStreamService.subscribe(1L);
+        zoneStreamService.subscribe(2L);
+
+        // Act
+        zoneStreamService.publish(List.of(change(10L, 1L)));
+
+        // Assert
+        assertEquals(1, pendingSends.size());
+    }
+
+    @Test
+    void publish_ShouldScheduleOneSendPerSubscriberWhileDraining() {
+        // Arrange
+        zoneStreamService.subscribe(1L);
+
+        // Act
+        zoneStreamService.publish(List.of(change(10L, 1L), change(11L, 1L)));
+
+        // Assert
+        assertEquals(1, pendingSends.size());
+        assertEquals(1, zoneStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void publish_WhenSubscriberBufferIsFull_ShouldDropSubscriber() {
+        // Arrange
+        zoneStreamService.subscribe(1L);
+
+        // Act
+        zoneStreamService.publish(List.of(change(10L, 1L), change(11L, 1L), change(12L, 1L)));
+
+        // Assert
+        assertEquals(0, zoneStreamService.getSubscriberCount());
+    }
+
+    @Test
+    void sendHeartbeats_ShouldKeepIdleSubscribersDrained() {
+        // Arrange
+        zoneStreamService.subscribe(1L);
+
+        // Act
+        zoneStreamService.sendHeartbeats();
+        pendingSends.forEach(Runnable::run);
+
+        // Assert
+        assertEquals(1, zoneStreamService.getSubscriberCount());
+    }
+}
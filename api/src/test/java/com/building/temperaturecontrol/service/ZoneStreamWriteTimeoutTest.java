@@ -0,0 +1,127 @@
+package com.building.temperaturecontrol.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.building.temperaturecontrol.dto.ZoneChangeDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Verifies against a real Tomcat that a client which stops reading does not hold a sender thread for good:
+// the blocked write fails after the connection timeout, the client is dropped and other subscribers get their events.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    classes = ZoneStreamWriteTimeoutTest.StreamConfig.class,
+    properties = {
+        "server.tomcat.connection-timeout=1s",
+        "zones.stream.sender-threads=1",
+        "zones.stream.buffer-size=300000"
+    })
+class ZoneStreamWriteTimeoutTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ZoneStreamService zoneStreamService;
+
+    @Test
+    void send_WhenClientStopsReading_ShouldTimeOutAndKeepServingOtherSubscribers() throws Exception {
+        // Arrange
+        try (Socket stuck = new Socket(); Socket reader = new Socket()) {
+            stuck.setReceiveBufferSize(4096);
+            subscribe(stuck, 1L);
+            subscribe(reader, 2L);
+            BufferedReader lines = new BufferedReader(new InputStreamReader(reader.getInputStream(), StandardCharsets.UTF_8));
+            waitFor(() -> zoneStreamService.getSubscriberCount() == 2);
+            // Far more than the socket buffers hold, so the single sender thread blocks writing to the stuck client
+            List<ZoneChangeDTO> flood = new ArrayList<>();
+            for (long zoneId = 1; zoneId <= 200_000; zoneId++) {
+                flood.add(change(zoneId, 1L));
+            }
+            zoneStreamService.publish(flood);
+
+            // Act
+            zoneStreamService.publish(List.of(change(42L, 2L)));
+
+            // Assert
+            reader.setSoTimeout(20_000);
+            String line;
+            while ((line = lines.readLine()) != null && !line.contains("\"zoneId\":42")) {
+                // Skip the response headers and chunk sizes
+            }
+            assertNotNull(line, "The other subscriber did not get its event");
+            waitFor(() -> zoneStreamService.getSubscriberCount() == 1);
+        }
+    }
+
+    private void subscribe(Socket socket, Long buildingId) throws IOException {
+        socket.connect(new InetSocketAddress("localhost", port));
+        OutputStream output = socket.getOutputStream();
+        output.write(("GET /stream/" + buildingId + " HTTP/1.1\r\nHost: localhost\r\nAccept: text/event-stream\r\n\r\n")
+            .getBytes(StandardCharsets.US_ASCII));
+        output.flush();
+    }
+
+    private void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 20_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the zone stream");
+            Thread.sleep(50);
+        }
+    }
+
+    private ZoneChangeDTO change(Long zoneId, Long buildingId) {
+        return new ZoneChangeDTO(zoneId, buildingId, new BigDecimal("21.00"), new BigDecimal("20.50"),
+            Instant.parse("2025-02-10T08:00:00Z"));
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class,
+        EmbeddedWebServerFactoryCustomizerAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @Import({ZoneStreamService.class, StreamController.class})
+    static class StreamConfig {
+    }
+
+    @RestController
+    static class StreamController {
+        private final ZoneStreamService zoneStreamService;
+
+        StreamController(ZoneStreamService zoneStreamService) {
+            this.zoneStreamService = zoneStreamService;
+        }
+
+        @GetMapping("/stream/{buildingId}")
+        SseEmitter stream(@PathVariable Long buildingId) {
+            return zoneStreamService.subscribe(buildingId);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.building.temperaturecontrol.simulation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.building.temperaturecontrol.repository.ZoneStateRepository;
+import com.building.temperaturecontrol.service.TelemetryService;
+import com.building.temperaturecontrol.state.ZoneStateStore;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThermalSimulationTest {
+
+    @Mock
+    private ZoneStateRepository zoneStateRepository;
+
+    @Mock
+    private TelemetryService telemetryService;
+
+    private ZoneStateStore store;
+    private ThermalSimulation simulation;
+
+    @BeforeEach
+    void setUp() {
+        store = new ZoneStateStore(zoneStateRepository, true, 16);
+        simulation = new ThermalSimulation(store, telemetryService, new SimpleMeterRegistry(), true,
+            new ThermalModel(60.0, 300, 300, 0.0), new BigDecimal("20.0"), ForkJoinPool.commonPool());
+    }
+
+    @Test
+    void step_ShouldMoveEveryZoneTowardItsTargetAcrossTasks() {
+        // Arrange
+        int zoneCount = ThermalSimulation.SLOTS_PER_TASK * 3;
+        for (long zoneId = 1; zoneId <= zoneCount; zoneId++) {
+            store.putZone(zoneId, 1L, "Zone", null, new BigDecimal("25.00"), new BigDecimal("15.00"));
+        }
+
+        // Act
+        ThermalSimulation.Changes changes = simulation.stepColumns(store.snapshot(null));
+
+        // Assert
+        assertEquals(zoneCount, changes.count());
+        for (int i = 0; i < changes.count(); i++) {
+            // 15 + 10 * (1 - exp(-60 / 300)) = 16.81
+            assertTrue(Math.abs(changes.temperatures()[i] - 1681) <= 1);
+        }
+        assertEquals(new BigDecimal("15.00"), store.findZone(1L).getCurrentTemperature());
+    }
+
+    @Test
+    void publish_WithReadingReportedDuringTick_ShouldKeepReportedTemperature() {
+        // Arrange
+        store.putZone(1L, 10L, "Reported", null, new BigDecimal("22.00"), new BigDecimal("18.00"));
+        store.putZone(2L, 10L, "Simulated", null, new BigDecimal("22.00"), new BigDecimal("18.00"));
+        ThermalSimulation.Changes changes = simulation.stepColumns(store.snapshot(null));
+        store.updateCurrentTemperature(1L, new BigDecimal("19.50"));
+        when(telemetryService.bufferInternal(any(), eq(10L))).thenReturn(true);
+
+        // Act
+        simulation.publish(changes);
+
+        // Assert
+        assertEquals(new BigDecimal("19.50"), store.findZone(1L).getCurrentTemperature());
+        assertNotEquals(new BigDecimal("18.00"), store.findZone(2L).getCurrentTemperature());
+        verify(telemetryService).bufferInternal(argThat(reading -> reading.zoneId().equals(2L)), eq(10L));
+        verifyNoMoreInteractions(telemetryService);
+    }
+
+    @Test
+    void step_ShouldHandChangedZonesToTelemetry() {
+        // Arrange
+        store.putZone(1L, 10L, "Heating", null, new BigDecimal("22.00"), new BigDecimal("18.00"));
+        store.putZone(2L, 10L, "Settled", null, new BigDecimal("21.00"), new BigDecimal("21.00"));
+        store.putZone(3L, 10L, "No target", null, null, new BigDecimal("19.00"));
+        when(telemetryService.bufferInternal(any(), eq(10L))).thenReturn(true);
+
+        // Act
+        simulation.step();
+
+        // Assert
+        verify(telemetryService).bufferInternal(argThat(reading -> reading.zoneId().equals(1L)), eq(10L));
+        verifyNoMoreInteractions(telemetryService);
+        assertEquals(new BigDecimal("21.00"), store.findZone(2L).getCurrentTemperature());
+    }
+
+    @Test
+    void next_WithGapBelowOneStep_ShouldStillReachTarget() {
+        // Arrange
+        ThermalModel model = new ThermalModel(1.0, 1800, 1800, 0.0);
+        Random random = new Random(7);
+        int current = 2100;
+
+        // Act
+        for (int tick = 0; tick < 100_000 && current != 2101; tick++) {
+            current = model.next(1L, current, 2101, random);
+        }
+
+        // Assert
+        assertEquals(2101, current);
+    }
+}
@@ -0,0 +1,47 @@
+package com.building.temperaturecontrol.state;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    @Test
+    void putGetRemove_ShouldBehaveLikeHashMap() {
+        // Arrange
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed != null ? removed : LongIntHashMap.MISSING, map.remove(key));
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size());
+        for (long key = 1; key <= 5_000; key++) {
+            assertEquals(expected.getOrDefault(key, LongIntHashMap.MISSING), map.get(key));
+        }
+    }
+
+    @Test
+    void put_WithReservedKey_ShouldThrowIllegalArgumentException() {
+        // Arrange
+        LongIntHashMap map = new LongIntHashMap(4);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, 1));
+    }
+}
@@ -0,0 +1,101 @@
+package com.building.temperaturecontrol.state;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.building.temperaturecontrol.model.TargetTemperatureUpdate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetTemperatureJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    private final Instant now = Instant.parse("2025-02-10T08:00:00Z");
+
+    @Test
+    void recover_ShouldReturnUpdatesOfPreviousRunInOrder() throws IOException {
+        // Arrange
+        try (TargetTemperatureJournal journal = new TargetTemperatureJournal(directory)) {
+            journal.write(new TargetTemperatureUpdate(1L, 10L, new BigDecimal("21.5"), now));
+            journal.write(new TargetTemperatureUpdate(1L, 10L, new BigDecimal("-2.25"), now.plusSeconds(1)));
+        }
+
+        // Act
+        List<TargetTemperatureUpdate> recovered;
+        try (TargetTemperatureJournal journal = new TargetTemperatureJournal(directory)) {
+            recovered = journal.recover();
+        }
+
+        // Assert
+        assertEquals(List.of(
+            new TargetTemperatureUpdate(1L, 10L, new BigDecimal("21.50"), now),
+            new TargetTemperatureUpdate(1L, 10L, new BigDecimal("-2.25"), now.plusSeconds(1))
+        ), recovered);
+    }
+
+    @Test
+    void append_ShouldReturnIncreasingPositionsThatOneSyncCovers() throws IOException {
+        // Arrange
+        try (TargetTemperatureJournal journal = new TargetTemperatureJournal(directory)) {
+            // Act
+            long first = journal.append(new TargetTemperatureUpdate(1L, 10L, new BigDecimal("21.5"), now));
+            long second = journal.append(new TargetTemperatureUpdate(2L, 10L, new BigDecimal("19.0"), now));
+            journal.sync(second);
+            journal.sync(first);
+
+            // Assert
+            assertTrue(second > first);
+        }
+        try (TargetTemperatureJournal journal = new TargetTemperatureJournal(directory)) {
+            assertEquals(2, journal.recover().size());
+        }
+    }
+
+    @Test
+    void recover_WithTornRecord_ShouldSkipIt() throws IOException {
+        // Arrange
+        try (TargetTemperatureJournal journal = new TargetTemperatureJournal(directory)) {
+            journal.write(new TargetTemperatureUpdate(1L, 10L, new BigDecimal("21.5"), now));
+        }
+        try (var files = Files.list(directory)) {
+            Path segment = files.findFirst().orElseThrow();
+            Files.write(segment, new byte[TargetTemperatureJournal.RECORD_SIZE - 1], StandardOpenOption.APPEND);
+        }
+
+        // Act
+        List<TargetTemperatureUpdate> recovered;
+        try (TargetTemperatureJournal journal = new TargetTemperatureJournal(directory)) {
+            recovered = journal.recover();
+        }
+
+        // Assert
+        assertEquals(1, recovered.size());
+    }
+
+    @Test
+    void roll_ShouldReturnOnlyCompletedSegments() throws IOException {
+        // Arrange
+        try (TargetTemperatureJournal journal = new TargetTemperatureJournal(directory)) {
+            assertTrue(journal.roll().isEmpty());
+            journal.write(new TargetTemperatureUpdate(1L, 10L, new BigDecimal("21.5"), now));
+
+            // Act
+            List<Path> completed = journal.roll();
+            journal.delete(completed);
+
+            // Assert
+            assertEquals(1, completed.size());
+            assertTrue(journal.recover().isEmpty());
+        }
+    }
+}
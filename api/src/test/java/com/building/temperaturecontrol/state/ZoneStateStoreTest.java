@@ -0,0 +1,234 @@
+package com.building.temperaturecontrol.state;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.building.temperaturecontrol.dto.ZoneDTO;
+import com.building.temperaturecontrol.model.ZoneReading;
+import com.building.temperaturecontrol.repository.ZoneStateRepository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ZoneStateStoreTest {
+
+    @Mock
+    private ZoneStateRepository zoneStateRepository;
+
+    private ZoneStateStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ZoneStateStore(zoneStateRepository, true, 2);
+    }
+
+    @Test
+    void findZonesByBuilding_ShouldReturnKeysetPageOrderedById() {
+        // Arrange
+        store.putBuilding(1L, 7L);
+        for (long zoneId : new long[] {5, 3, 9, 1, 7}) {
+            store.putZone(zoneId, 1L, "Zone " + zoneId, null, new BigDecimal("21.5"), null);
+        }
+
+        // Act
+        List<ZoneDTO> page = store.findZonesByBuilding(1L, 3L, 2);
+
+        // Assert
+        assertEquals(List.of(5L, 7L), page.stream().map(ZoneDTO::getId).collect(Collectors.toList()));
+        assertEquals(new BigDecimal("21.50"), page.get(0).getTargetTemperature());
+        assertNull(page.get(0).getCurrentTemperature());
+        assertEquals(7L, store.findOwnerId(1L));
+    }
+
+    @Test
+    void fillCurrentTemperatures_ShouldSetKnownZonesAndReturnUnknownOnes() {
+        // Arrange
+        store.warmUp();
+        store.putZone(1L, 1L, "Zone", null, new BigDecimal("20.0"), new BigDecimal("19.5"));
+        ZoneDTO known = new ZoneDTO(1L, "Zone", null, 1L, new BigDecimal("20.0"));
+        ZoneDTO unknown = new ZoneDTO(2L, "Other", null, 1L, new BigDecimal("20.0"));
+
+        // Act
+        List<ZoneDTO> result = store.fillCurrentTemperatures(List.of(known, unknown));
+
+        // Assert
+        assertEquals(List.of(unknown), result);
+        assertEquals(new BigDecimal("19.50"), known.getCurrentTemperature());
+    }
+
+    @Test
+    void findZonesByBuilding_WithoutLimit_ShouldReturnAllZonesAfterCursor() {
+        // Arrange
+        store.putBuilding(1L, 7L);
+        for (long zoneId : new long[] {5, 3, 9, 1, 7}) {
+            store.putZone(zoneId, 1L, "Zone " + zoneId, null, new BigDecimal("21.5"), null);
+        }
+
+        // Act
+        List<ZoneDTO> zones = store.findZonesByBuilding(1L, 3L, Integer.MAX_VALUE);
+
+        // Assert
+        assertEquals(List.of(5L, 7L, 9L), zones.stream().map(ZoneDTO::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void putZone_WithOtherBuilding_ShouldMoveZone() {
+        // Arrange
+        store.putZone(1L, 1L, "Zone", "Description", new BigDecimal("20.0"), new BigDecimal("19.0"));
+
+        // Act
+        store.putZone(1L, 2L, "Zone", "Description", new BigDecimal("20.0"), new BigDecimal("19.0"));
+
+        // Assert
+        assertTrue(store.findZonesByBuilding(1L, 0L, 10).isEmpty());
+        assertEquals(1, store.findZonesByBuilding(2L, 0L, 10).size());
+        assertEquals(2L, store.findZone(1L).getBuildingId());
+    }
+
+    @Test
+    void removeBuilding_ShouldRemoveItsZonesAndReuseSlots() {
+        // Arrange
+        store.putBuilding(1L, 7L);
+        store.putZone(1L, 1L, "First", null, new BigDecimal("20.0"), null);
+        store.putZone(2L, 1L, "Second", null, new BigDecimal("20.0"), null);
+
+        // Act
+        store.removeBuilding(1L);
+        store.putZone(3L, 2L, "Third", null, new BigDecimal("18.25"), null);
+
+        // Assert
+        assertNull(store.findOwnerId(1L));
+        assertNull(store.findZone(1L));
+        assertEquals(1, store.size());
+        assertEquals("Third", store.findZone(3L).getName());
+    }
+
+    @Test
+    void updateCurrentTemperatures_ShouldIgnoreUnknownZones() {
+        // Arrange
+        store.putZone(1L, 1L, "Zone", null, new BigDecimal("20.0"), null);
+        Instant now = Instant.parse("2025-02-10T08:00:00Z");
+
+        // Act
+        store.updateCurrentTemperatures(List.of(
+            new ZoneReading(1L, now, new BigDecimal("-3.456")),
+            new ZoneReading(2L, now, new BigDecimal("25.0"))
+        ));
+
+        // Assert
+        assertEquals(new BigDecimal("-3.46"), store.findZone(1L).getCurrentTemperature());
+        assertNull(store.findZone(2L));
+    }
+
+    @Test
+    void warmUp_ShouldKeepWritesMadeDuringLoad() throws SQLException {
+        // Arrange
+        ResultSet building = mock(ResultSet.class);
+        when(building.getLong(1)).thenReturn(1L);
+        when(building.getLong(2)).thenReturn(7L);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(0).processRow(building);
+            return null;
+        }).when(zoneStateRepository).forEachBuilding(any());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(0);
+            handler.processRow(zoneRow(1L, "Loaded"));
+            handler.processRow(zoneRow(2L, "Deleted"));
+            handler.processRow(zoneRow(3L, "Stale"));
+            return null;
+        }).when(zoneStateRepository).forEachZone(any());
+        store.removeZone(2L);
+        store.putZone(3L, 1L, "Written", null, new BigDecimal("23.0"), null);
+        assertFalse(store.isReady());
+
+        // Act
+        store.warmUp();
+
+        // Assert
+        assertTrue(store.isReady());
+        assertEquals("Loaded", store.findZone(1L).getName());
+        assertNull(store.findZone(2L));
+        assertEquals("Written", store.findZone(3L).getName());
+    }
+
+    @Test
+    void warmUp_WhenZoneIsWrittenBeforeItsBuilding_ShouldKeepLoadedOwner() throws SQLException {
+        // Arrange
+        ResultSet building = buildingRow();
+        doAnswer(invocation -> {
+            // A zone created while the building rows are still loading
+            store.putZone(1L, 1L, "Zone", null, new BigDecimal("21.0"), null);
+            invocation.<RowCallbackHandler>getArgument(0).processRow(building);
+            return null;
+        }).when(zoneStateRepository).forEachBuilding(any());
+
+        // Act
+        store.warmUp();
+
+        // Assert
+        assertTrue(store.isReady());
+        assertEquals(7L, store.findOwnerId(1L));
+        assertEquals("Zone", store.findZone(1L).getName());
+    }
+
+    @Test
+    void warmUp_ShouldReloadZonesUpdatedBeforeTheyWereLoaded() throws SQLException {
+        // Arrange
+        ResultSet building = buildingRow();
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(0).processRow(building);
+            return null;
+        }).when(zoneStateRepository).forEachBuilding(any());
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(0).processRow(zoneRow(1L, "Zone"));
+            return null;
+        }).when(zoneStateRepository).forEachZone(any());
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(zoneRow(1L, "Zone", "25.00"));
+            return null;
+        }).when(zoneStateRepository).forEachZoneIn(eq(List.of(1L)), any());
+        // Committed after the initial load read the zone, but before the zone was in the store
+        assertNull(store.updateTargetTemperature(1L, new BigDecimal("25.0")));
+
+        // Act
+        store.warmUp();
+
+        // Assert
+        assertTrue(store.isReady());
+        assertEquals(new BigDecimal("25.00"), store.findZone(1L).getTargetTemperature());
+    }
+
+    private ResultSet buildingRow() throws SQLException {
+        ResultSet building = mock(ResultSet.class);
+        when(building.getLong(1)).thenReturn(1L);
+        when(building.getLong(2)).thenReturn(7L);
+        return building;
+    }
+
+    private ResultSet zoneRow(long zoneId, String name) throws SQLException {
+        return zoneRow(zoneId, name, "21.00");
+    }
+
+    private ResultSet zoneRow(long zoneId, String name, String targetTemperature) throws SQLException {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong(1)).thenReturn(zoneId);
+        when(row.getLong(2)).thenReturn(1L);
+        when(row.getString(3)).thenReturn(name);
+        when(row.getBigDecimal(5)).thenReturn(new BigDecimal(targetTemperature));
+        return row;
+    }
+}
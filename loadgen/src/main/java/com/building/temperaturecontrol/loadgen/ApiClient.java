@@ -0,0 +1,95 @@
+package com.building.temperaturecontrol.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// API Client
+// Builds requests the way the API expects them and runs the blocking calls used to set up the fixture.
+// Load requests are sent asynchronously and only their status is kept, the body is read and discarded.
+final class ApiClient {
+    static final String API_CONTENT_TYPE = "application/vnd.temperaturecontrol.v1+json";
+
+    private final HttpClient httpClient;
+    private final URI baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ApiClient(URI baseUrl, Duration timeout) {
+        // HTTP/1.1 with keep-alive, as the API is served without h2c
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+    }
+
+    HttpRequest request(String method, String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(timeout)
+                .header("Accept", API_CONTENT_TYPE);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+            builder.method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return builder.build();
+    }
+
+    CompletableFuture<Integer> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+    }
+
+    // Registers the user and returns a token for it
+    String registerAndAuthenticate(String username, String password) throws IOException, InterruptedException {
+        call("POST", "/api/v1/users/register", null, Map.of(
+                "username", username,
+                "password", password,
+                "firstName", "Load",
+                "lastName", "Generator"), 201);
+        JsonNode response = call("POST", "/api/v1/users/authenticate", null, Map.of(
+                "username", username,
+                "password", password), 200);
+        return response.get("token").asText();
+    }
+
+    long createBuilding(String token, String name) throws IOException, InterruptedException {
+        JsonNode building = call("POST", "/api/v1/buildings", token, Map.of(
+                "name", name,
+                "city", "Loadville",
+                "street", "Benchmark Street 1",
+                "postalCode", "12345"), 201);
+        return building.get("id").asLong();
+    }
+
+    long createZone(String token, long buildingId, String name, String targetTemperature) throws IOException, InterruptedException {
+        JsonNode zone = call("POST", "/api/v1/buildings/" + buildingId + "/zones", token, Map.of(
+                "name", name,
+                "description", "Created by the load generator",
+                "targetTemperature", targetTemperature), 201);
+        return zone.get("id").asLong();
+    }
+
+    private JsonNode call(String method, String path, String token, Object body, int expectedStatus)
+            throws IOException, InterruptedException {
+        HttpRequest request = request(method, path, token, objectMapper.writeValueAsString(body));
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IOException(method + " " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,71 @@
+package com.building.temperaturecontrol.loadgen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Fixture
+// Synthetic users, each owning the same number of buildings with the same number of zones.
+// Usernames carry a run id, so runs against the same database don't collide.
+record Fixture(List<User> users) {
+
+    record User(String username, String token, List<Building> buildings) {}
+
+    record Building(long id, long[] zoneIds) {}
+
+    static Fixture create(ApiClient client, LoadGeneratorConfig config, PrintStream out)
+            throws InterruptedException, IOException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        out.printf("Setting up %d users with %d buildings of %d zones each (run %s)%n",
+                config.users(), config.buildingsPerUser(), config.zonesPerBuilding(), runId);
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(config.setupConcurrency());
+        try {
+            List<Future<User>> futures = new ArrayList<>();
+            for (int i = 0; i < config.users(); i++) {
+                String username = "loadgen-" + runId + "-" + i;
+                futures.add(executor.submit(() -> createUser(client, config, username, runId)));
+            }
+            List<User> users = new ArrayList<>();
+            for (Future<User> future : futures) {
+                users.add(future.get());
+            }
+            out.printf("Setup done in %.1f s%n", (System.nanoTime() - start) / 1e9);
+            return new Fixture(List.copyOf(users));
+        } catch (ExecutionException e) {
+            throw new IOException("Setup failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static User createUser(ApiClient client, LoadGeneratorConfig config, String username, String runId)
+            throws IOException, InterruptedException {
+        String token = client.registerAndAuthenticate(username, "loadgen-" + runId);
+        List<Building> buildings = new ArrayList<>();
+        for (int b = 0; b < config.buildingsPerUser(); b++) {
+            long buildingId = client.createBuilding(token, username + " building " + b);
+            long[] zoneIds = new long[config.zonesPerBuilding()];
+            for (int z = 0; z < zoneIds.length; z++) {
+                zoneIds[z] = client.createZone(token, buildingId, "Zone " + z, "21.0");
+            }
+            buildings.add(new Building(buildingId, zoneIds));
+        }
+        return new User(username, token, List.copyOf(buildings));
+    }
+
+    // A random zone of a random building of a random user
+    Target pick(SplittableRandom random) {
+        User user = users.get(random.nextInt(users.size()));
+        Building building = user.buildings().get(random.nextInt(user.buildings().size()));
+        return new Target(user.token(), building.id(), building.zoneIds()[random.nextInt(building.zoneIds().length)]);
+    }
+
+    record Target(String token, long buildingId, long zoneId) {}
+}
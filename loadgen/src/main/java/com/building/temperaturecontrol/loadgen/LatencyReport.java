@@ -0,0 +1,195 @@
+package com.building.temperaturecontrol.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency Report
+// Response time runs from when a request was due to when its response arrived, so time spent waiting behind
+// slow requests is counted (no coordinated omission). Service time runs from when it was actually sent.
+// Both are recorded per label in microseconds. Requests that failed are counted in the latencies as well.
+final class LatencyReport implements AutoCloseable {
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Series> series = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> failures = new ConcurrentSkipListMap<>();
+    private final HistogramLogWriter logWriter;
+    private long lastIntervalNanos = System.nanoTime();
+
+    LatencyReport(Path histogramLog) throws FileNotFoundException {
+        if (histogramLog == null) {
+            this.logWriter = null;
+            return;
+        }
+        this.logWriter = new HistogramLogWriter(histogramLog.toFile());
+        logWriter.outputLogFormatVersion();
+        logWriter.outputComment("Response times in microseconds, tagged with the operation");
+        logWriter.outputStartTime(System.currentTimeMillis());
+        logWriter.outputLegend();
+    }
+
+    // Per label recorders, written from the response threads and harvested by the reporting thread
+    private static final class Series {
+        final Recorder responseTime = new Recorder(SIGNIFICANT_DIGITS);
+        final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        final Histogram responseTotal = new Histogram(SIGNIFICANT_DIGITS);
+        final Histogram serviceTotal = new Histogram(SIGNIFICANT_DIGITS);
+        Histogram responseInterval;
+        Histogram serviceInterval;
+        long errorsReported;
+        long droppedReported;
+    }
+
+    // failure is null for a 2xx response, otherwise the status or exception
+    void record(String label, long intendedNanos, long sentNanos, long doneNanos, String failure) {
+        Series labelSeries = series(label);
+        labelSeries.responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(0, doneNanos - intendedNanos)));
+        labelSeries.serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(0, doneNanos - sentNanos)));
+        if (failure != null) {
+            labelSeries.errors.increment();
+            failures.computeIfAbsent(label + ": " + failure, key -> new LongAdder()).increment();
+        }
+    }
+
+    // A request that was not sent because too many were in flight
+    void recordDropped(String label) {
+        series(label).dropped.increment();
+    }
+
+    private Series series(String label) {
+        return series.computeIfAbsent(label, key -> new Series());
+    }
+
+    // Starts the first interval when measuring starts
+    synchronized void startInterval() {
+        lastIntervalNanos = System.nanoTime();
+    }
+
+    // One line for all operations since the previous interval
+    synchronized void printInterval(PrintStream out, long elapsedSeconds) {
+        long now = System.nanoTime();
+        double seconds = (now - lastIntervalNanos) / 1e9;
+        lastIntervalNanos = now;
+        Histogram interval = new Histogram(SIGNIFICANT_DIGITS);
+        long errors = 0;
+        long dropped = 0;
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            Series labelSeries = entry.getValue();
+            harvest(entry.getKey(), labelSeries);
+            interval.add(labelSeries.responseInterval);
+            long errorCount = labelSeries.errors.sum();
+            long droppedCount = labelSeries.dropped.sum();
+            errors += errorCount - labelSeries.errorsReported;
+            dropped += droppedCount - labelSeries.droppedReported;
+            labelSeries.errorsReported = errorCount;
+            labelSeries.droppedReported = droppedCount;
+        }
+        out.printf("[%5ds] %8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms  errors %d  dropped %d%n",
+                elapsedSeconds, interval.getTotalCount() / seconds, millis(interval.getValueAtPercentile(50)),
+                millis(interval.getValueAtPercentile(99)), millis(interval.getMaxValue()), errors, dropped);
+    }
+
+    synchronized void printSummary(PrintStream out, double measuredSeconds) {
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            harvest(entry.getKey(), entry.getValue());
+        }
+        Histogram allResponses = new Histogram(SIGNIFICANT_DIGITS);
+        Histogram allServices = new Histogram(SIGNIFICANT_DIGITS);
+        long allErrors = 0;
+        long allDropped = 0;
+        // Wide enough for trace labels, which default to the request path
+        String labelColumn = "%-" + series.keySet().stream().mapToInt(String::length).reduce(24, Math::max) + "s";
+        out.printf("%nResponse time from schedule, ms (over %.1f s)%n", measuredSeconds);
+        out.printf(labelColumn + " %9s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "dropped", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            Series labelSeries = entry.getValue();
+            allResponses.add(labelSeries.responseTotal);
+            allServices.add(labelSeries.serviceTotal);
+            allErrors += labelSeries.errors.sum();
+            allDropped += labelSeries.dropped.sum();
+            printRow(out, labelColumn, entry.getKey(), labelSeries.responseTotal, labelSeries.errors.sum(), labelSeries.dropped.sum(), measuredSeconds);
+        }
+        printRow(out, labelColumn, "all", allResponses, allErrors, allDropped, measuredSeconds);
+
+        out.printf("%nService time from send, ms%n");
+        out.printf(labelColumn + " %9s %9s %9s %9s%n", "operation", "p50", "p99", "p99.9", "max");
+        for (Map.Entry<String, Series> entry : series.entrySet()) {
+            printServiceRow(out, labelColumn, entry.getKey(), entry.getValue().serviceTotal);
+        }
+        printServiceRow(out, labelColumn, "all", allServices);
+
+        if (!failures.isEmpty()) {
+            out.printf("%nFailures%n");
+            failures.forEach((failure, count) -> out.printf("%9d  %s%n", count.sum(), failure));
+        }
+        if (allDropped > 0) {
+            out.printf("%n%d requests were dropped at the in-flight limit and are missing from the latencies.%n"
+                    + "Raise --max-in-flight or lower --rate.%n", allDropped);
+        }
+    }
+
+    // Totals including everything recorded so far
+    synchronized Histogram responseTimes(String label) {
+        Series labelSeries = series(label);
+        harvest(label, labelSeries);
+        return labelSeries.responseTotal.copy();
+    }
+
+    synchronized Histogram serviceTimes(String label) {
+        Series labelSeries = series(label);
+        harvest(label, labelSeries);
+        return labelSeries.serviceTotal.copy();
+    }
+
+    synchronized long dropped(String label) {
+        return series(label).dropped.sum();
+    }
+
+    private void harvest(String label, Series labelSeries) {
+        labelSeries.responseInterval = labelSeries.responseTime.getIntervalHistogram(labelSeries.responseInterval);
+        labelSeries.serviceInterval = labelSeries.serviceTime.getIntervalHistogram(labelSeries.serviceInterval);
+        labelSeries.responseTotal.add(labelSeries.responseInterval);
+        labelSeries.serviceTotal.add(labelSeries.serviceInterval);
+        if (logWriter != null && labelSeries.responseInterval.getTotalCount() > 0) {
+            labelSeries.responseInterval.setTag(label);
+            logWriter.outputIntervalHistogram(labelSeries.responseInterval);
+        }
+    }
+
+    private static void printRow(PrintStream out, String labelColumn, String label, Histogram histogram, long errors, long dropped, double seconds) {
+        out.printf(labelColumn + " %9d %7d %7d %9.1f", label, histogram.getTotalCount(), errors, dropped, histogram.getTotalCount() / seconds);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", millis(histogram.getValueAtPercentile(percentile)));
+        }
+        out.printf(" %9.2f%n", millis(histogram.getMaxValue()));
+    }
+
+    private static void printServiceRow(PrintStream out, String labelColumn, String label, Histogram histogram) {
+        out.printf(labelColumn + " %9.2f %9.2f %9.2f %9.2f%n", label, millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (logWriter != null) {
+            logWriter.close();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.building.temperaturecontrol.loadgen;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Load Generator
+// Registers synthetic users with their buildings and zones, then drives the API open loop with the operation
+// mix or a recorded trace. Prints a line per second while measuring and per-operation latencies at the end.
+public final class LoadGenerator {
+
+    private LoadGenerator() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadGeneratorConfig config;
+        try {
+            config = LoadGeneratorConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadGeneratorConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        ApiClient client = new ApiClient(config.baseUrl(), config.timeout());
+        Fixture fixture = Fixture.create(client, config, System.out);
+        ScheduledRequest.Schedule schedule = config.trace() != null
+                ? new TraceSchedule(client, fixture, TraceSchedule.read(config.trace()), config.speed(), config.seed())
+                : new MixSchedule(client, fixture, config.mix(), config.rate(), config.seed());
+
+        try (LatencyReport report = new LatencyReport(config.histogramLog())) {
+            OpenLoopRunner runner = new OpenLoopRunner(client::send, report, config.maxInFlight());
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "loadgen-reporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long warmupMillis = config.warmup().toMillis();
+            long measureStart = System.nanoTime() + config.warmup().toNanos();
+            if (warmupMillis > 0) {
+                System.out.printf("Warming up for %d s%n", config.warmup().toSeconds());
+            }
+            reporter.schedule(report::startInterval, warmupMillis, TimeUnit.MILLISECONDS);
+            reporter.scheduleAtFixedRate(
+                    () -> report.printInterval(System.out, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - measureStart + 500_000_000)),
+                    warmupMillis + 1000, 1000, TimeUnit.MILLISECONDS);
+
+            double measuredSeconds = runner.run(schedule, config.warmup(), config.duration(),
+                    config.timeout().plus(Duration.ofSeconds(1)));
+            reporter.shutdownNow();
+            reporter.awaitTermination(1, TimeUnit.SECONDS);
+
+            if (config.trace() == null) {
+                System.out.printf("%nTarget rate %.1f req/s%n", config.rate());
+            }
+            report.printSummary(System.out, measuredSeconds);
+        }
+    }
+}
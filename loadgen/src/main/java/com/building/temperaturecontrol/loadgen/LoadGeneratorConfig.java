@@ -0,0 +1,121 @@
+package com.building.temperaturecontrol.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Load Generator Config
+// Options are given as --name=value. Every option has a default, so a bare run drives a local instance.
+record LoadGeneratorConfig(
+        URI baseUrl,
+        int users,
+        int buildingsPerUser,
+        int zonesPerBuilding,
+        int setupConcurrency,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        OperationMix mix,
+        Path trace,
+        double speed,
+        int maxInFlight,
+        Duration timeout,
+        long seed,
+        Path histogramLog) {
+
+    static final String USAGE = """
+            Usage: java -jar loadgen.jar [--name=value ...]
+              --base-url=http://localhost:8080   API to load
+              --users=10                          synthetic users to register
+              --buildings=10                      buildings per user
+              --zones=20                          zones per building
+              --setup-concurrency=8               users set up in parallel
+              --rate=100                          requests per second, sent on schedule whatever the latency
+              --duration=60s                      measured run time (ms, s or m suffix)
+              --warmup=10s                        run time before measuring starts
+              --mix=getZone=35,...                operation weights, see README
+              --trace=file.jsonl                  replay a recorded trace instead of the mix
+              --speed=1.0                         trace replay speed factor
+              --max-in-flight=1000                requests in flight before new ones are dropped
+              --timeout=10s                       request timeout
+              --seed=42                           seed for the picks of users, zones and temperatures
+              --histogram-log=file.hlog           also write interval histograms in HdrHistogram log format
+            """;
+
+    static LoadGeneratorConfig parse(String... args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadGeneratorConfig config = new LoadGeneratorConfig(
+                URI.create(stripTrailingSlash(options.remove("base-url"), "http://localhost:8080")),
+                positiveInt(options.remove("users"), 10, "users"),
+                positiveInt(options.remove("buildings"), 10, "buildings"),
+                positiveInt(options.remove("zones"), 20, "zones"),
+                positiveInt(options.remove("setup-concurrency"), 8, "setup-concurrency"),
+                positiveDouble(options.remove("rate"), 100, "rate"),
+                duration(options.remove("duration"), "60s"),
+                duration(options.remove("warmup"), "10s"),
+                OperationMix.parse(orDefault(options.remove("mix"), OperationMix.DEFAULT)),
+                path(options.remove("trace")),
+                positiveDouble(options.remove("speed"), 1, "speed"),
+                positiveInt(options.remove("max-in-flight"), 1000, "max-in-flight"),
+                duration(options.remove("timeout"), "10s"),
+                Long.parseLong(orDefault(options.remove("seed"), "42")),
+                path(options.remove("histogram-log")));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        }
+        return config;
+    }
+
+    // Accepts 250ms, 30s, 5m or a plain number of seconds
+    static Duration duration(String value, String defaultValue) {
+        String text = orDefault(value, defaultValue);
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(text));
+    }
+
+    private static int positiveInt(String value, int defaultValue, String name) {
+        int result = value != null ? Integer.parseInt(value) : defaultValue;
+        if (result <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return result;
+    }
+
+    private static double positiveDouble(String value, double defaultValue, String name) {
+        double result = value != null ? Double.parseDouble(value) : defaultValue;
+        if (!(result > 0)) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return result;
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private static Path path(String value) {
+        return value != null ? Path.of(value) : null;
+    }
+
+    private static String stripTrailingSlash(String value, String defaultValue) {
+        String url = orDefault(value, defaultValue);
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,32 @@
+package com.building.temperaturecontrol.loadgen;
+
+import java.util.SplittableRandom;
+
+// Mix Schedule
+// Requests at a constant rate, each one an operation drawn from the mix against a random zone of the fixture.
+final class MixSchedule implements ScheduledRequest.Schedule {
+    private final ApiClient client;
+    private final Fixture fixture;
+    private final OperationMix mix;
+    private final double intervalNanos;
+    private final SplittableRandom random;
+    private long index;
+
+    MixSchedule(ApiClient client, Fixture fixture, OperationMix mix, double rate, long seed) {
+        this.client = client;
+        this.fixture = fixture;
+        this.mix = mix;
+        this.intervalNanos = 1e9 / rate;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public ScheduledRequest next() {
+        Operation operation = mix.pick(random);
+        Fixture.Target target = fixture.pick(random);
+        ScheduledRequest.Call call = operation.call(target, random);
+        long offsetNanos = (long) (index++ * intervalNanos);
+        return new ScheduledRequest(offsetNanos, operation.key(),
+                client.request(call.method(), call.path(), target.token(), call.body()));
+    }
+}
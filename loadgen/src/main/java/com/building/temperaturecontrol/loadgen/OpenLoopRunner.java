@@ -0,0 +1,102 @@
+package com.building.temperaturecontrol.loadgen;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Open Loop Runner
+// Sends every request when it is due, whether or not earlier ones have been answered, so a slow server faces
+// the same arrival rate as a fast one. A single thread does the sending. If it falls behind, the delay counts
+// towards the response times, since they are measured from when each request was due.
+final class OpenLoopRunner {
+
+    interface Sender {
+        // Completes with the status code
+        CompletableFuture<Integer> send(HttpRequest request);
+    }
+
+    private final Sender sender;
+    private final LatencyReport report;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenLoopRunner(Sender sender, LatencyReport report, int maxInFlight) {
+        this.sender = sender;
+        this.report = report;
+        this.maxInFlight = maxInFlight;
+    }
+
+    // Runs the schedule until it ends or the warmup and duration have passed, then waits up to drainTimeout
+    // for the responses still outstanding. Requests due during the warmup are sent but not recorded.
+    // Returns the measured time in seconds.
+    double run(ScheduledRequest.Schedule schedule, Duration warmup, Duration duration, Duration drainTimeout)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long measureStart = start + warmup.toNanos();
+        long end = measureStart + duration.toNanos();
+        long lastIntended = measureStart;
+        ScheduledRequest next;
+        while ((next = schedule.next()) != null) {
+            long intended = start + next.offsetNanos();
+            if (intended - end >= 0) {
+                lastIntended = end;
+                break;
+            }
+            sleepUntil(intended);
+            lastIntended = intended;
+            boolean measured = intended - measureStart >= 0;
+            if (inFlight.get() >= maxInFlight) {
+                if (measured) {
+                    report.recordDropped(next.label());
+                }
+                continue;
+            }
+            send(next, intended, measured);
+        }
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() - drainDeadline < 0) {
+            Thread.sleep(10);
+        }
+        return Math.max(0, lastIntended - measureStart) / 1e9;
+    }
+
+    private void send(ScheduledRequest scheduled, long intended, boolean measured) {
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        CompletableFuture<Integer> response;
+        try {
+            response = sender.send(scheduled.request());
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenComplete((status, error) -> {
+            long done = System.nanoTime();
+            inFlight.decrementAndGet();
+            if (measured) {
+                report.record(scheduled.label(), intended, sent, done, failure(status, error));
+            }
+        });
+    }
+
+    private static String failure(Integer status, Throwable error) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            return cause.getClass().getSimpleName();
+        }
+        return status >= 200 && status < 300 ? null : "HTTP " + status;
+    }
+
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.building.temperaturecontrol.loadgen;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Operation
+// The BuildingController and ZoneController calls the mix is made of, named as they are given in --mix.
+enum Operation {
+    LIST_BUILDINGS("listBuildings"),
+    GET_BUILDING("getBuilding"),
+    LIST_ZONES("listZones"),
+    GET_ZONE("getZone"),
+    ZONE_HISTORY("zoneHistory"),
+    SET_ZONE_TARGET("setZoneTarget"),
+    SET_BUILDING_TARGET("setBuildingTarget");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+
+    ScheduledRequest.Call call(Fixture.Target target, SplittableRandom random) {
+        String building = "/api/v1/buildings/" + target.buildingId();
+        String zone = building + "/zones/" + target.zoneId();
+        return switch (this) {
+            case LIST_BUILDINGS -> new ScheduledRequest.Call("GET", "/api/v1/buildings?limit=100", null);
+            case GET_BUILDING -> new ScheduledRequest.Call("GET", building, null);
+            case LIST_ZONES -> new ScheduledRequest.Call("GET", building + "/zones?limit=100", null);
+            case GET_ZONE -> new ScheduledRequest.Call("GET", zone, null);
+            case ZONE_HISTORY -> new ScheduledRequest.Call("GET", zone + "/history", null);
+            case SET_ZONE_TARGET -> new ScheduledRequest.Call("PATCH", zone + "/target-temp", targetTemperature(random));
+            case SET_BUILDING_TARGET -> new ScheduledRequest.Call("PUT", building + "/zones/target-temp", targetTemperature(random));
+        };
+    }
+
+    // Between 18.0 and 24.0 degrees
+    static String randomTemperature(SplittableRandom random) {
+        return String.format(Locale.ROOT, "%.1f", 18 + random.nextInt(61) / 10.0);
+    }
+
+    private static String targetTemperature(SplittableRandom random) {
+        return "{\"targetTemperature\":" + randomTemperature(random) + "}";
+    }
+}
@@ -0,0 +1,60 @@
+package com.building.temperaturecontrol.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Operation Mix
+// Relative weights of the operations, given as name=weight pairs. Operations left out are not sent.
+final class OperationMix {
+    // Read heavy, with about one write in five
+    static final String DEFAULT =
+            "listBuildings=10,getBuilding=15,listZones=20,getZone=30,zoneHistory=5,setZoneTarget=19,setBuildingTarget=1";
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.operations = new Operation[weights.size()];
+        this.cumulativeWeights = new int[weights.size()];
+        int index = 0;
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            total += entry.getValue();
+            operations[index] = entry.getKey();
+            cumulativeWeights[index] = total;
+            index++;
+        }
+    }
+
+    static OperationMix parse(String text) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String pair : text.split(",")) {
+            String[] parts = pair.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight, got: " + pair);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + parts[0] + " must not be negative");
+            }
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+        return new OperationMix(weights);
+    }
+
+    Operation pick(SplittableRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+}
@@ -0,0 +1,17 @@
+package com.building.temperaturecontrol.loadgen;
+
+import java.net.http.HttpRequest;
+
+// Scheduled Request
+// A request and the time it is due, as an offset from the start of the run. Latency is measured from
+// that time, not from when the request could actually be sent.
+record ScheduledRequest(long offsetNanos, String label, HttpRequest request) {
+
+    record Call(String method, String path, String body) {}
+
+    // Source of the requests of a run, in the order they are due
+    interface Schedule {
+        // Null when there are no more requests
+        ScheduledRequest next();
+    }
+}
@@ -0,0 +1,103 @@
+package com.building.temperaturecontrol.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Trace Schedule
+// Replays a recorded trace, one JSON request per line:
+//   {"offsetMs": 1250, "method": "PATCH", "path": "/api/v1/buildings/{buildingId}/zones/{zoneId}/target-temp",
+//    "body": {"targetTemperature": "{targetTemperature}"}, "name": "setZoneTarget"}
+// offsetMs is when the request was sent, relative to any fixed point. {buildingId}, {zoneId} and
+// {targetTemperature} are filled in per request from a random zone of the fixture, as recorded ids don't exist
+// here, and the request is sent as the owner of that zone. name labels the request in the report and defaults
+// to the method and path.
+final class TraceSchedule implements ScheduledRequest.Schedule {
+    private final ApiClient client;
+    private final Fixture fixture;
+    private final double speed;
+    private final SplittableRandom random;
+    private final Iterator<Entry> entries;
+    private final long firstOffsetMillis;
+
+    record Entry(long offsetMillis, String label, String method, String path, String body) {}
+
+    TraceSchedule(ApiClient client, Fixture fixture, List<Entry> entries, double speed, long seed) {
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("The trace has no requests");
+        }
+        this.client = client;
+        this.fixture = fixture;
+        this.speed = speed;
+        this.random = new SplittableRandom(seed);
+        this.entries = entries.iterator();
+        this.firstOffsetMillis = entries.get(0).offsetMillis();
+    }
+
+    static List<Entry> read(Path trace) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(trace)) {
+            return read(reader);
+        }
+    }
+
+    // Entries in the order they are due
+    static List<Entry> read(BufferedReader reader) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Entry> entries = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.hasNonNull("offsetMs") || !node.hasNonNull("method") || !node.hasNonNull("path")) {
+                throw new IOException("Line " + lineNumber + " needs offsetMs, method and path");
+            }
+            String method = node.get("method").asText().toUpperCase();
+            String path = node.get("path").asText();
+            JsonNode body = node.get("body");
+            String label = node.hasNonNull("name") ? node.get("name").asText() : method + " " + stripQuery(path);
+            entries.add(new Entry(node.get("offsetMs").asLong(), label, method, path,
+                    body == null || body.isNull() ? null : body.isTextual() ? body.asText() : body.toString()));
+        }
+        entries.sort(Comparator.comparingLong(Entry::offsetMillis));
+        return entries;
+    }
+
+    @Override
+    public ScheduledRequest next() {
+        if (!entries.hasNext()) {
+            return null;
+        }
+        Entry entry = entries.next();
+        Fixture.Target target = fixture.pick(random);
+        long offsetNanos = (long) ((entry.offsetMillis() - firstOffsetMillis) * 1e6 / speed);
+        return new ScheduledRequest(offsetNanos, entry.label(), client.request(entry.method(),
+                resolve(entry.path(), target), target.token(), entry.body() == null ? null : resolve(entry.body(), target)));
+    }
+
+    private String resolve(String template, Fixture.Target target) {
+        String resolved = template
+                .replace("{buildingId}", Long.toString(target.buildingId()))
+                .replace("{zoneId}", Long.toString(target.zoneId()));
+        // Quoted so the trace stays valid JSON, sent as a number
+        resolved = resolved.replace("\"{targetTemperature}\"", Operation.randomTemperature(random));
+        return resolved.replace("{targetTemperature}", Operation.randomTemperature(random));
+    }
+
+    private static String stripQuery(String path) {
+        int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+}
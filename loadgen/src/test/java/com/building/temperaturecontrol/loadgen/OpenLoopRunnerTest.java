@@ -0,0 +1,81 @@
+package com.building.temperaturecontrol.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenLoopRunnerTest {
+
+    // count requests, one every intervalMillis
+    private static ScheduledRequest.Schedule schedule(int count, long intervalMillis) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost/api/v1/buildings")).build();
+        return new ScheduledRequest.Schedule() {
+            private int index;
+
+            @Override
+            public ScheduledRequest next() {
+                return index < count ? new ScheduledRequest(index++ * intervalMillis * 1_000_000, "listBuildings", request) : null;
+            }
+        };
+    }
+
+    @Test
+    void run_WhenSenderFallsBehind_ShouldCountQueueingInResponseTime() throws Exception {
+        // Arrange
+        LatencyReport report = new LatencyReport(null);
+        // Each send holds the sending thread for 50 ms while requests are due every 10 ms
+        OpenLoopRunner runner = new OpenLoopRunner(request -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(200);
+        }, report, 100);
+
+        // Act
+        runner.run(schedule(5, 10), Duration.ZERO, Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+        // Assert
+        Histogram responseTimes = report.responseTimes("listBuildings");
+        Histogram serviceTimes = report.serviceTimes("listBuildings");
+        assertEquals(5, responseTimes.getTotalCount());
+        // The last request was due at 40 ms and answered at 250 ms at the earliest
+        assertTrue(responseTimes.getMaxValue() >= 200_000, "max response time " + responseTimes.getMaxValue());
+        assertTrue(serviceTimes.getMaxValue() < responseTimes.getMaxValue());
+    }
+
+    @Test
+    void run_AtInFlightLimit_ShouldDropRequests() throws Exception {
+        // Arrange
+        LatencyReport report = new LatencyReport(null);
+        OpenLoopRunner runner = new OpenLoopRunner(request -> new CompletableFuture<>(), report, 1);
+
+        // Act
+        runner.run(schedule(4, 1), Duration.ZERO, Duration.ofSeconds(10), Duration.ofMillis(50));
+
+        // Assert
+        assertEquals(3, report.dropped("listBuildings"));
+        assertEquals(0, report.responseTimes("listBuildings").getTotalCount());
+    }
+
+    @Test
+    void run_DuringWarmup_ShouldNotRecord() throws Exception {
+        // Arrange
+        LatencyReport report = new LatencyReport(null);
+        OpenLoopRunner runner = new OpenLoopRunner(request -> CompletableFuture.completedFuture(500), report, 100);
+
+        // Act
+        double measuredSeconds = runner.run(schedule(10, 10), Duration.ofMillis(55), Duration.ofSeconds(10), Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(4, report.responseTimes("listBuildings").getTotalCount());
+        assertEquals(0.035, measuredSeconds, 0.001);
+    }
+}
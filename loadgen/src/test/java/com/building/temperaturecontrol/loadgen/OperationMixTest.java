@@ -0,0 +1,53 @@
+package com.building.temperaturecontrol.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationMixTest {
+
+    @Test
+    void pick_ShouldFollowWeights() {
+        // Arrange
+        OperationMix mix = OperationMix.parse("getZone=3,setZoneTarget=1,listBuildings=0");
+        SplittableRandom random = new SplittableRandom(1);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        // Act
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(mix.pick(random), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(2, counts.size());
+        assertEquals(30_000, counts.get(Operation.GET_ZONE), 600);
+        assertEquals(10_000, counts.get(Operation.SET_ZONE_TARGET), 600);
+    }
+
+    @Test
+    void parse_DefaultMix_ShouldCoverEveryOperation() {
+        // Arrange
+        OperationMix mix = OperationMix.parse(OperationMix.DEFAULT);
+        SplittableRandom random = new SplittableRandom(1);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            counts.merge(mix.pick(random), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(Operation.values().length, counts.size());
+    }
+
+    @Test
+    void parse_UnknownOperation_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("deleteEverything=1"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("getZone=0"));
+    }
+}
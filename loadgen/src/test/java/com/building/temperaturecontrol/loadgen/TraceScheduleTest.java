@@ -0,0 +1,68 @@
+package com.building.temperaturecontrol.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceScheduleTest {
+
+    private static final String TRACE = """
+            {"offsetMs": 2500, "method": "patch", "path": "/api/v1/buildings/{buildingId}/zones/{zoneId}/target-temp", "body": {"targetTemperature": "{targetTemperature}"}, "name": "setZoneTarget"}
+
+            {"offsetMs": 1500, "method": "GET", "path": "/api/v1/buildings?limit=10"}
+            """;
+
+    private static List<TraceSchedule.Entry> read(String trace) throws IOException {
+        return TraceSchedule.read(new BufferedReader(new StringReader(trace)));
+    }
+
+    @Test
+    void read_ShouldOrderEntriesByOffset() throws IOException {
+        // Act
+        List<TraceSchedule.Entry> entries = read(TRACE);
+
+        // Assert
+        assertEquals(2, entries.size());
+        assertEquals("GET /api/v1/buildings", entries.get(0).label());
+        assertNull(entries.get(0).body());
+        assertEquals("setZoneTarget", entries.get(1).label());
+        assertEquals("PATCH", entries.get(1).method());
+    }
+
+    @Test
+    void read_EntryWithoutPath_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IOException.class, () -> read("{\"offsetMs\": 0, \"method\": \"GET\"}"));
+    }
+
+    @Test
+    void next_ShouldFillInFixtureAndScaleOffsets() throws IOException {
+        // Arrange
+        Fixture fixture = new Fixture(List.of(new Fixture.User("loadgen-1", "token",
+                List.of(new Fixture.Building(7, new long[]{42})))));
+        ApiClient client = new ApiClient(URI.create("http://localhost:8080"), Duration.ofSeconds(1));
+        TraceSchedule schedule = new TraceSchedule(client, fixture, read(TRACE), 2.0, 1);
+
+        // Act
+        ScheduledRequest first = schedule.next();
+        ScheduledRequest second = schedule.next();
+        ScheduledRequest end = schedule.next();
+
+        // Assert
+        assertEquals(0, first.offsetNanos());
+        assertEquals(500_000_000, second.offsetNanos());
+        HttpRequest request = second.request();
+        assertEquals("PATCH", request.method());
+        assertEquals(URI.create("http://localhost:8080/api/v1/buildings/7/zones/42/target-temp"), request.uri());
+        assertEquals("Bearer token", request.headers().firstValue("Authorization").orElseThrow());
+        assertNull(end);
+    }
+}
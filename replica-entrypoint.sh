@@ -0,0 +1,14 @@
+#!/bin/sh
+# Clones the primary on the first start, then runs as a hot standby streaming from it
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until pg_basebackup --host=postgres --username=replicator --pgdata="$PGDATA" \
+      --write-recovery-conf --wal-method=stream --checkpoint=fast; do
+    echo "Waiting for the primary to accept replication connections"
+    rm -rf "$PGDATA"/*
+    sleep 1
+  done
+  chmod 0700 "$PGDATA"
+fi
+# Keeps the primary from removing rows a running replica query still reads
+exec postgres -c hot_standby_feedback=on
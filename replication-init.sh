@@ -0,0 +1,7 @@
+#!/bin/sh
+# Runs once when the primary database is created
+# Adds the role the read replica streams the write-ahead log with
+set -e
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" \
+  -c "CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator';"
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"